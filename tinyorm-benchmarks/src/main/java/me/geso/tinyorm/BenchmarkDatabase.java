@@ -0,0 +1,71 @@
+package me.geso.tinyorm;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import ch.vorburger.exec.ManagedProcessException;
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+
+/**
+ * Database for benchmarks.
+ * <p>
+ * It starts an embedded MariaDB, so benchmarks run without external
+ * services. Set {@code -Dbenchmark.jdbc.url=jdbc:mysql://...} to use an
+ * existing MySQL instead.
+ */
+class BenchmarkDatabase implements AutoCloseable {
+	private static final String DATABASE = "bench";
+
+	private final DB db;
+	private final String url;
+
+	BenchmarkDatabase() {
+		final String url = System.getProperty("benchmark.jdbc.url");
+		if (url != null) {
+			this.db = null;
+			this.url = url;
+			return;
+		}
+
+		try {
+			final DBConfigurationBuilder config = DBConfigurationBuilder.newBuilder();
+			config.setPort(0); // random free port
+			if ("root".equals(System.getProperty("user.name"))) {
+				config.addArg("--user=root"); // e.g. in containers
+			}
+			this.db = DB.newEmbeddedDB(config.build());
+			this.db.start();
+			final String server = "jdbc:mysql://localhost:" + config.getPort() + "/";
+			final String options = "?user=root&useSSL=false&allowPublicKeyRetrieval=true";
+			// DB#createDB() needs mysql client libraries, JDBC doesn't.
+			try (Connection connection = DriverManager.getConnection(server + options);
+					Statement statement = connection.createStatement()) {
+				statement.executeUpdate("CREATE DATABASE IF NOT EXISTS " + DATABASE);
+			}
+			this.url = server + DATABASE + options;
+		} catch (ManagedProcessException | SQLException e) {
+			throw new IllegalStateException("Can't start embedded database", e);
+		}
+	}
+
+	Connection connect() throws SQLException {
+		return DriverManager.getConnection(url);
+	}
+
+	TinyORM createTable(String name, String... columns) throws SQLException {
+		final TinyORM orm = new TinyORM(this.connect());
+		orm.updateBySQL("DROP TABLE IF EXISTS " + name);
+		orm.updateBySQL("CREATE TABLE " + name + " (" + String.join(",", columns) + ")");
+		return orm;
+	}
+
+	@Override
+	public void close() throws ManagedProcessException {
+		if (db != null) {
+			db.stop();
+		}
+	}
+}
@@ -0,0 +1,54 @@
+package me.geso.tinyorm;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.List;
+
+/**
+ * In-memory {@link ResultSet} that stays on one row. It answers only what
+ * row mapping calls.
+ */
+final class MockResultSet {
+	private MockResultSet() {
+	}
+
+	static ResultSet create(List<String> columnLabels, Object[] values) {
+		final ResultSetMetaData metaData = (ResultSetMetaData)Proxy.newProxyInstance(
+			ResultSetMetaData.class.getClassLoader(),
+			new Class<?>[] {ResultSetMetaData.class},
+			(proxy, method, args) -> {
+				switch (method.getName()) {
+				case "getColumnCount":
+					return columnLabels.size();
+				case "getColumnLabel":
+				case "getColumnName":
+					return columnLabels.get((Integer)args[0] - 1);
+				default:
+					throw new UnsupportedOperationException(method.getName());
+				}
+			});
+		return (ResultSet)Proxy.newProxyInstance(
+			ResultSet.class.getClassLoader(),
+			new Class<?>[] {ResultSet.class},
+			(proxy, method, args) -> {
+				switch (method.getName()) {
+				case "next":
+					return true;
+				case "getMetaData":
+					return metaData;
+				case "getObject":
+					if (args[0] instanceof Integer) {
+						return values[(Integer)args[0] - 1];
+					}
+					return values[columnLabels.indexOf(args[0])];
+				case "wasNull":
+					return false;
+				case "close":
+					return null;
+				default:
+					throw new UnsupportedOperationException(method.getName());
+				}
+			});
+	}
+}
@@ -0,0 +1,97 @@
+package me.geso.tinyorm;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import me.geso.tinyorm.annotations.Column;
+import me.geso.tinyorm.annotations.PrimaryKey;
+import me.geso.tinyorm.annotations.Table;
+
+/**
+ * Reads all rows of a table by {@code executeStream()} (ResultSetIterator)
+ * and by {@code execute()}, against the embedded database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResultSetIteratorBenchmark {
+	@Param({"1000", "10000"})
+	private int rows;
+
+	private BenchmarkDatabase database;
+	private TinyORM orm;
+
+	@Setup
+	public void setup() throws SQLException {
+		database = new BenchmarkDatabase();
+		orm = database.createTable("member",
+			"id INT UNSIGNED NOT NULL AUTO_INCREMENT PRIMARY KEY",
+			"name VARCHAR(255) NOT NULL",
+			"email VARCHAR(255) NOT NULL");
+		final BulkInsertStatement<Member> insert = orm.bulkInsert(Member.class);
+		for (int i = 0; i < rows; ++i) {
+			insert.addRow(Member.values("name" + i, "name" + i + "@example.com"));
+		}
+		insert.execute();
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		orm.close();
+		database.close();
+	}
+
+	@Benchmark
+	public long stream() {
+		try (Stream<Member> stream = orm.search(Member.class).executeStream()) {
+			return stream.mapToLong(Member::getId).sum();
+		}
+	}
+
+	@Benchmark
+	public long list() {
+		final List<Member> members = orm.search(Member.class).execute();
+		return members.stream().mapToLong(Member::getId).sum();
+	}
+
+	@Table("member")
+	@Value
+	@EqualsAndHashCode(callSuper = false)
+	public static class Member extends Row<Member> {
+		@PrimaryKey
+		private long id;
+		@Column
+		private String name;
+		@Column
+		private String email;
+
+		static Map<String, Object> values(String name, String email) {
+			final Map<String, Object> values = new HashMap<>();
+			values.put("name", name);
+			values.put("email", email);
+			return values;
+		}
+	}
+}
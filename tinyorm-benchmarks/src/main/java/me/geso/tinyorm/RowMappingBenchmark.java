@@ -0,0 +1,158 @@
+package me.geso.tinyorm;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Provider;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import me.geso.tinyorm.annotations.Column;
+import me.geso.tinyorm.annotations.CsvColumn;
+import me.geso.tinyorm.annotations.JsonColumn;
+import me.geso.tinyorm.annotations.PrimaryKey;
+import me.geso.tinyorm.annotations.Table;
+
+/**
+ * Maps one row of an in-memory result set to setter based rows and
+ * constructor based rows. The plain rows have no inflaters, the others
+ * go through JSON, CSV, Optional and LocalDate inflaters.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RowMappingBenchmark {
+	private static final List<String> PLAIN_LABELS = Arrays.asList("id", "name", "email");
+	private static final List<String> INFLATED_LABELS = Arrays.asList("id", "name", "properties", "tags", "nickname",
+		"birthday");
+
+	private TinyORM orm;
+	private ResultSet plainResultSet;
+	private ResultSet inflatedResultSet;
+	private TableMeta<SetterRow> setterRowMeta;
+	private TableMeta<ConstructorRow> constructorRowMeta;
+	private TableMeta<InflatedSetterRow> inflatedSetterRowMeta;
+	private TableMeta<InflatedConstructorRow> inflatedConstructorRowMeta;
+
+	@Setup
+	public void setup() {
+		// Row mapping doesn't need a connection.
+		orm = new TinyORM((Provider<Connection>)() -> {
+			throw new IllegalStateException("No connection in this benchmark");
+		});
+		plainResultSet = MockResultSet.create(PLAIN_LABELS,
+			new Object[] {1L, "John", "john@example.com"});
+		inflatedResultSet = MockResultSet.create(INFLATED_LABELS,
+			new Object[] {1L, "John", "{\"hoge\":\"fuga\"}".getBytes(StandardCharsets.UTF_8), "a,b,c", "johnny",
+				java.sql.Date.valueOf("2000-01-01")});
+		setterRowMeta = orm.getTableMeta(SetterRow.class);
+		constructorRowMeta = orm.getTableMeta(ConstructorRow.class);
+		inflatedSetterRowMeta = orm.getTableMeta(InflatedSetterRow.class);
+		inflatedConstructorRowMeta = orm.getTableMeta(InflatedConstructorRow.class);
+	}
+
+	@Benchmark
+	public SetterRow setterRow() throws SQLException {
+		return setterRowMeta.createRowFromResultSet(SetterRow.class, plainResultSet, PLAIN_LABELS, orm);
+	}
+
+	@Benchmark
+	public ConstructorRow constructorRow() throws SQLException {
+		return constructorRowMeta.createRowFromResultSet(ConstructorRow.class, plainResultSet, PLAIN_LABELS, orm);
+	}
+
+	@Benchmark
+	public InflatedSetterRow inflatedSetterRow() throws SQLException {
+		return inflatedSetterRowMeta.createRowFromResultSet(InflatedSetterRow.class, inflatedResultSet,
+			INFLATED_LABELS, orm);
+	}
+
+	@Benchmark
+	public InflatedConstructorRow inflatedConstructorRow() throws SQLException {
+		return inflatedConstructorRowMeta.createRowFromResultSet(InflatedConstructorRow.class, inflatedResultSet,
+			INFLATED_LABELS, orm);
+	}
+
+	@Table("member")
+	@Data
+	@EqualsAndHashCode(callSuper = false)
+	public static class SetterRow extends Row<SetterRow> {
+		@PrimaryKey
+		private long id;
+		@Column
+		private String name;
+		@Column
+		private String email;
+	}
+
+	@Table("member")
+	@Value
+	@EqualsAndHashCode(callSuper = false)
+	public static class ConstructorRow extends Row<ConstructorRow> {
+		@PrimaryKey
+		private long id;
+		@Column
+		private String name;
+		@Column
+		private String email;
+	}
+
+	@Table("member")
+	@Data
+	@EqualsAndHashCode(callSuper = false)
+	public static class InflatedSetterRow extends Row<InflatedSetterRow> {
+		@PrimaryKey
+		private long id;
+		@Column
+		private String name;
+		@JsonColumn
+		private Map<String, String> properties;
+		@CsvColumn
+		private List<String> tags;
+		@Column
+		private Optional<String> nickname;
+		@Column
+		private LocalDate birthday;
+	}
+
+	@Table("member")
+	@Value
+	@EqualsAndHashCode(callSuper = false)
+	public static class InflatedConstructorRow extends Row<InflatedConstructorRow> {
+		@PrimaryKey
+		private long id;
+		@Column
+		private String name;
+		@JsonColumn
+		private Map<String, String> properties;
+		@CsvColumn
+		private List<String> tags;
+		@Column
+		private Optional<String> nickname;
+		@Column
+		private LocalDate birthday;
+	}
+}
@@ -0,0 +1,101 @@
+package me.geso.tinyorm;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import me.geso.jdbcutils.Query;
+import me.geso.tinyorm.annotations.Column;
+import me.geso.tinyorm.annotations.PrimaryKey;
+import me.geso.tinyorm.annotations.Table;
+
+/**
+ * Builds INSERT statements, and diffs UPDATE statements against the row.
+ * Nothing is sent to the database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StatementBuildingBenchmark {
+	private BenchmarkDatabase database;
+	private TinyORM orm;
+	private Member member;
+
+	@Setup
+	public void setup() throws SQLException {
+		database = new BenchmarkDatabase();
+		orm = database.createTable("member",
+			"id INT UNSIGNED NOT NULL AUTO_INCREMENT PRIMARY KEY",
+			"name VARCHAR(255) NOT NULL",
+			"email VARCHAR(255) NOT NULL",
+			"point INT NOT NULL");
+		member = orm.insert(Member.class)
+			.value("name", "John")
+			.value("email", "john@example.com")
+			.value("point", 0)
+			.executeSelect();
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		orm.close();
+		database.close();
+	}
+
+	@Benchmark
+	public Query insertBuildQuery() {
+		return orm.insert(Member.class)
+			.value("name", "Nick")
+			.value("email", "nick@example.com")
+			.value("point", 1)
+			.buildQuery();
+	}
+
+	@Benchmark
+	public boolean updateWithoutModification() {
+		final UpdateRowStatement<Member> stmt = member.update()
+			.set("name", "John")
+			.set("point", 0);
+		stmt.discard();
+		return stmt.hasSetClause();
+	}
+
+	@Benchmark
+	public boolean updateWithModification() {
+		final UpdateRowStatement<Member> stmt = member.update()
+			.set("name", "Nick")
+			.set("point", 1);
+		stmt.discard();
+		return stmt.hasSetClause();
+	}
+
+	@Table("member")
+	@Data
+	@EqualsAndHashCode(callSuper = false)
+	public static class Member extends Row<Member> {
+		@PrimaryKey
+		private long id;
+		@Column
+		private String name;
+		@Column
+		private String email;
+		@Column
+		private int point;
+	}
+}
@@ -1,18 +1,28 @@
 package me.geso.tinyorm;
 
-import java.sql.Connection;
-import java.sql.SQLException;
+import java.beans.PropertyDescriptor;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import me.geso.jdbcutils.JDBCUtils;
 import me.geso.jdbcutils.Query;
 import me.geso.jdbcutils.QueryBuilder;
 
 abstract class AbstractSelectStatement<T, Impl> {
-	private final String tableName;
+	private static final Pattern PRIMARY_KEY_CONDITION = Pattern.compile("\\s*`?(\\w+)`?\\s*=\\s*\\?\\s*");
+
+	private final TableMeta<?> tableMeta;
 	private final String identifierQuoteString;
+	// empty means SELECT *
+	private final List<String> columns = new ArrayList<>();
 	private final List<String> whereQuery = new ArrayList<>();
 	private final List<Object> whereParams = new ArrayList<>();
 	private final List<String> orderBy = new ArrayList<>();
@@ -20,15 +30,16 @@ abstract class AbstractSelectStatement<T, Impl> {
 	private Long offset;
 	private boolean forUpdate = false;
 	private boolean forceWriteConnection = false;
+	// select mapped columns instead of SELECT *
+	private boolean columnPruning = false;
+	// keyset pagination; not in buildCountQuery()
+	private Query seekPredicate;
+	// label of COUNT(*) OVER() column, or null
+	private String windowCountLabel;
 
-	AbstractSelectStatement(Connection connection, String tableName) {
-		this.tableName = tableName;
-		try {
-			this.identifierQuoteString = connection.getMetaData()
-				.getIdentifierQuoteString();
-		} catch (SQLException e) {
-			throw new RuntimeException(e);
-		}
+	AbstractSelectStatement(String identifierQuoteString, TableMeta<?> tableMeta) {
+		this.tableMeta = tableMeta;
+		this.identifierQuoteString = identifierQuoteString;
 	}
 
 	@SuppressWarnings("unchecked")
@@ -78,33 +89,177 @@ abstract class AbstractSelectStatement<T, Impl> {
 	}
 
 	protected Query buildQuery() {
+		final String sql = tableMeta.getSqlTemplate(Arrays.asList("SELECT", identifierQuoteString,
+			new ArrayList<>(columns), columnPruning, new ArrayList<>(whereQuery),
+			seekPredicate == null ? "" : seekPredicate.getSQL(), String.valueOf(windowCountLabel),
+			new ArrayList<>(orderBy), limit != null, offset != null, forUpdate),
+			this::renderQuery);
+		final List<Object> params = new ArrayList<>(this.whereParams);
+		if (this.seekPredicate != null) {
+			params.addAll(this.seekPredicate.getParameters());
+		}
+		if (this.limit != null) {
+			params.add(this.limit);
+		}
+		if (this.offset != null) {
+			params.add(this.offset);
+		}
+		return new Query(sql, params);
+	}
+
+	/**
+	 * Build {@code SELECT COUNT(*)} with the {@code WHERE} clauses, without
+	 * the seek predicate, like {@code orm.count(klass).where(...)} does.
+	 */
+	Query buildCountQuery() {
+		final String sql = tableMeta.getSqlTemplate(Arrays.asList("COUNT", identifierQuoteString,
+			new ArrayList<>(whereQuery)), () -> {
+				QueryBuilder builder = new QueryBuilder(this.identifierQuoteString)
+					.appendQuery("SELECT COUNT(*) FROM ")
+					.appendIdentifier(tableMeta.getName());
+				appendWhere(builder, this.whereQuery);
+				return builder.build().getSQL();
+			});
+		return new Query(sql, new ArrayList<>(this.whereParams));
+	}
+
+	private String renderQuery() {
 		QueryBuilder builder = new QueryBuilder(this.identifierQuoteString)
-			.appendQuery("SELECT * FROM ")
-			.appendIdentifier(this.tableName);
-		if (this.whereQuery != null && !this.whereQuery.isEmpty()) {
-			builder.appendQuery(" WHERE ");
-			builder.appendQuery(this.whereQuery.stream()
-				.map(it -> "(" + it + ")")
-				.collect(Collectors.joining(" AND ")));
-			builder.addParameters(this.whereParams);
+			.appendQuery("SELECT ")
+			.appendQuery(renderColumnList());
+		if (this.windowCountLabel != null) {
+			builder.appendQuery(",COUNT(*) OVER() AS ")
+				.appendIdentifier(this.windowCountLabel);
+		}
+		builder.appendQuery(" FROM ")
+			.appendIdentifier(tableMeta.getName());
+		final List<String> where = new ArrayList<>(this.whereQuery);
+		if (this.seekPredicate != null) {
+			where.add(this.seekPredicate.getSQL());
 		}
+		appendWhere(builder, where);
 		if (!this.orderBy.isEmpty()) {
 			builder.appendQuery(" ORDER BY ")
 				.appendQuery(
 					this.orderBy.stream().collect(Collectors.joining(",")));
 		}
 		if (this.limit != null) {
-			builder.appendQuery(" LIMIT ")
-				.appendQuery("" + this.limit);
+			builder.appendQuery(" LIMIT ?");
 		}
 		if (this.offset != null) {
-			builder.appendQuery(" OFFSET ")
-				.appendQuery("" + this.offset);
+			builder.appendQuery(" OFFSET ?");
 		}
 		if (this.forUpdate) {
 			builder.appendQuery(" FOR UPDATE");
 		}
-		return builder.build();
+		return builder.build().getSQL();
+	}
+
+	private static void appendWhere(QueryBuilder builder, List<String> where) {
+		if (!where.isEmpty()) {
+			builder.appendQuery(" WHERE ");
+			builder.appendQuery(where.stream()
+				.map(it -> "(" + it + ")")
+				.collect(Collectors.joining(" AND ")));
+		}
+	}
+
+	/**
+	 * If the statement selects a row by all primary keys ({@code where("id=?", id)}),
+	 * and by nothing else, get the primary key values in declaration order.
+	 */
+	Optional<List<Object>> getPrimaryKeyLookup() {
+		final List<PropertyDescriptor> primaryKeys = tableMeta.getPrimaryKeys();
+		if (this.forUpdate || this.forceWriteConnection || !this.columns.isEmpty() || this.seekPredicate != null
+			|| this.offset != null || !this.orderBy.isEmpty()
+			|| (this.limit != null && this.limit < 1)
+			|| primaryKeys.isEmpty()
+			|| primaryKeys.size() != this.whereQuery.size()
+			|| this.whereQuery.size() != this.whereParams.size()) {
+			return Optional.empty();
+		}
+
+		final Map<String, Object> values = new HashMap<>();
+		for (int i = 0; i < this.whereQuery.size(); ++i) {
+			final Matcher matcher = PRIMARY_KEY_CONDITION.matcher(this.whereQuery.get(i));
+			if (!matcher.matches() || this.whereParams.get(i) == null) {
+				return Optional.empty();
+			}
+			values.put(matcher.group(1), this.whereParams.get(i));
+		}
+		final List<Object> result = new ArrayList<>(primaryKeys.size());
+		for (PropertyDescriptor primaryKey : primaryKeys) {
+			final Object value = values.get(primaryKey.getName());
+			if (value == null) {
+				return Optional.empty();
+			}
+			result.add(value);
+		}
+		return Optional.of(result);
+	}
+
+	private String renderColumnList() {
+		if (!this.columns.isEmpty()) {
+			return this.columns.stream()
+				.map(it -> JDBCUtils.quoteIdentifier(it, identifierQuoteString))
+				.collect(Collectors.joining(","));
+		} else if (this.columnPruning || tableMeta.hasLazyColumns()) {
+			return tableMeta.renderColumnList(identifierQuoteString);
+		} else {
+			return "*";
+		}
+	}
+
+	/**
+	 * Select only the columns mapped by the row class, unless
+	 * {@link #setColumns} is called.
+	 */
+	void setColumnPruning(boolean columnPruning) {
+		this.columnPruning = columnPruning;
+	}
+
+	/**
+	 * Select the columns instead of {@code SELECT *}.
+	 */
+	void setColumns(List<String> columns) {
+		this.columns.clear();
+		this.columns.addAll(columns);
+	}
+
+	/**
+	 * Select the rows after the keyset page token. Unlike {@code where()},
+	 * {@link #buildCountQuery()} doesn't use it.
+	 */
+	void setSeekPredicate(Query seekPredicate) {
+		this.seekPredicate = seekPredicate;
+	}
+
+	/**
+	 * Select {@code COUNT(*) OVER()}, the number of rows without
+	 * {@code LIMIT}, as the column.
+	 */
+	void setWindowCountLabel(String windowCountLabel) {
+		this.windowCountLabel = windowCountLabel;
+	}
+
+	/**
+	 * @return The {@code ORDER BY} clauses, in call order.
+	 */
+	List<String> getOrderBy() {
+		return Collections.unmodifiableList(this.orderBy);
+	}
+
+	protected boolean hasOffset() {
+		return offset != null;
+	}
+
+	/**
+	 * @return true if the statement reads from the write connection, by
+	 *         {@code forUpdate()}, {@code forceWriteConnection()}, or after
+	 *         writes to the table by {@link TinyORM#enableReadYourWrites}.
+	 */
+	boolean isWriteConnectionRequired(TinyORM orm) {
+		return forUpdate || forceWriteConnection || orm.isReadYourWritesTable(tableMeta.getName());
 	}
 
 	protected boolean isForUpdate() {
@@ -1,15 +1,10 @@
 package me.geso.tinyorm;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
 
-import me.geso.jdbcutils.JDBCUtils;
 import me.geso.jdbcutils.Query;
-import me.geso.jdbcutils.UncheckedRichSQLException;
+import me.geso.jdbcutils.ResultSetCallback;
 
 public class BeanSelectStatement<T extends Row<?>> extends
 		AbstractSelectStatement<T, BeanSelectStatement<T>> {
@@ -18,37 +13,66 @@ public class BeanSelectStatement<T extends Row<?>> extends
 	private final TinyORM orm;
 	private final Class<T> klass;
 
-	BeanSelectStatement(Connection connection,
-			Class<T> klass, TableMeta<T> tableMeta, TinyORM orm) {
-		super(connection, tableMeta.getName());
+	BeanSelectStatement(Class<T> klass, TableMeta<T> tableMeta, TinyORM orm) {
+		super(orm.getIdentifierQuoteString(), tableMeta);
+		this.setColumnPruning(orm.isColumnPruningEnabled());
 		this.tableMeta = tableMeta;
 		this.orm = orm;
 		this.klass = klass;
 	}
 
 	public Optional<T> execute() {
+		final IdentityMap identityMap = orm.getIdentityMap();
+		// Rows in a transaction may not be committed, don't share them.
+		final boolean useSharedCache = this.tableMeta.isCacheable() && !orm.hasActiveTransaction();
+		final Optional<List<Object>> primaryKeys = identityMap == null && !useSharedCache
+			? Optional.empty()
+			: this.getPrimaryKeyLookup();
+		long stamp = 0;
+		if (primaryKeys.isPresent()) {
+			if (identityMap != null) {
+				final Optional<T> cached = identityMap.get(this.klass, this.tableMeta.getName(), primaryKeys.get());
+				if (cached.isPresent()) {
+					return cached;
+				}
+			}
+			if (useSharedCache) {
+				stamp = SharedRowCache.stamp(this.tableMeta);
+				final Optional<T> cached = SharedRowCache.get(this.tableMeta, this.klass, primaryKeys.get(), this.orm);
+				if (cached.isPresent()) {
+					if (identityMap != null) {
+						identityMap.put(this.tableMeta.getName(), primaryKeys.get(), cached.get());
+					}
+					return cached;
+				}
+			}
+		}
+
 		Query query = this.buildQuery();
 
 		final String sql = query.getSQL();
 		final List<Object> params = query.getParameters();
-		try (final PreparedStatement ps = isForUpdate() || isForceWriteConnection()
-				? orm.prepareStatement(sql)
-				: orm.prepareStatementForRead(sql)) {
-			JDBCUtils.fillPreparedStatementParams(ps, params);
-			try (final ResultSet rs = ps.executeQuery()) {
-				List<String> columnLabels = TinyORM.getColumnLabels(rs);
-				if (rs.next()) {
-					final T row = this.tableMeta.createRowFromResultSet(
-							this.klass, rs,
-							columnLabels, this.orm);
-					rs.close();
-					return Optional.of(row);
-				} else {
-					return Optional.<T>empty();
+		final long cacheStamp = stamp;
+		final ResultSetCallback<Optional<T>> callback = rs -> {
+			final RowMapper<T> rowMapper = this.tableMeta.getRowMapper(this.klass, rs);
+			if (rs.next()) {
+				final T row = rowMapper.map(rs, this.orm, isWriteConnectionRequired(orm));
+				rs.close();
+				if (primaryKeys.isPresent()) {
+					if (identityMap != null) {
+						identityMap.put(this.tableMeta.getName(), this.tableMeta.getPrimaryKeyValues(row), row);
+					}
+					if (useSharedCache) {
+						SharedRowCache.put(this.tableMeta, this.klass, row, cacheStamp);
+					}
 				}
+				return Optional.of(row);
+			} else {
+				return Optional.<T>empty();
 			}
-		} catch (final SQLException ex) {
-			throw new UncheckedRichSQLException(ex, sql, params);
-		}
+		};
+		return isWriteConnectionRequired(orm)
+			? orm.executeQuery(sql, params, callback, orm.getConnection())
+			: orm.executeRead(sql, params, callback);
 	}
 }
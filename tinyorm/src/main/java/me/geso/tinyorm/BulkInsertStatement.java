@@ -0,0 +1,345 @@
+package me.geso.tinyorm;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import me.geso.jdbcutils.JDBCUtils;
+import me.geso.jdbcutils.Query;
+import me.geso.jdbcutils.QueryBuilder;
+import me.geso.jdbcutils.UncheckedRichSQLException;
+
+/**
+ * INSERT statement for many rows.
+ *
+ * <pre>{@code
+ * orm.bulkInsert(Member.class)
+ *     .addRow(Collections.singletonMap("name", "John"))
+ *     .addRowByBean(form)
+ *     .execute();
+ * }</pre>
+ *
+ * Each row is prepared by an {@link InsertStatement}, so deflaters and
+ * {@code BeforeInsertHandler} triggers run for every row as usual.
+ * Rows are sent as multi-row {@code INSERT ... VALUES (...),(...)}
+ * statements, chunked by {@link #maxRows(int)} and
+ * {@link #maxPacketSize(long)}. Call {@link #useBatch()} to send single-row
+ * statements by JDBC batch instead.
+ *
+ * @param <T> Row class
+ */
+public class BulkInsertStatement<T extends Row<?>> {
+	// MySQL can't take more placeholders than this in one prepared statement.
+	private static final int MAX_PLACEHOLDERS = 65535;
+
+	private final List<InsertStatement<T>> rows = new ArrayList<>();
+	private final Class<T> klass;
+	private final TinyORM orm;
+	private final TableMeta<T> tableMeta;
+	private int maxRows = 1000;
+	private long maxPacketSize = 1024 * 1024;
+	private boolean useBatch = false;
+	private List<String> onDuplicateKeyUpdateQuery;
+	private List<Object> onDuplicateKeyUpdateValues;
+
+	BulkInsertStatement(TinyORM orm, Class<T> klass, TableMeta<T> tableMeta) {
+		this.orm = orm;
+		this.klass = klass;
+		this.tableMeta = tableMeta;
+	}
+
+	public Class<T> getRowClass() {
+		return this.klass;
+	}
+
+	/**
+	 * Add a row by map.
+	 *
+	 * @param values column name to value map
+	 * @return Object itself.
+	 */
+	public BulkInsertStatement<T> addRow(Map<String, Object> values) {
+		this.rows.add(new InsertStatement<>(orm, klass, tableMeta).value(values));
+		return this;
+	}
+
+	/**
+	 * Add a row by bean.
+	 *
+	 * @param valueBean bean object
+	 * @return Object itself.
+	 */
+	public BulkInsertStatement<T> addRowByBean(Object valueBean) {
+		this.rows.add(new InsertStatement<>(orm, klass, tableMeta).valueByBean(valueBean));
+		return this;
+	}
+
+	/**
+	 * Set the maximum number of rows sent in one statement (or one batch).
+	 * Default value is 1000.
+	 *
+	 * @param maxRows the number of rows
+	 * @return Object itself.
+	 */
+	public BulkInsertStatement<T> maxRows(int maxRows) {
+		if (maxRows < 1) {
+			throw new IllegalArgumentException("maxRows must be positive: " + maxRows);
+		}
+		this.maxRows = maxRows;
+		return this;
+	}
+
+	/**
+	 * Set the maximum estimated size of one multi-row statement in bytes.
+	 * It should be less than the server's {@code max_allowed_packet}.
+	 * Default value is 1MiB.
+	 *
+	 * @param maxPacketSize the size in bytes
+	 * @return Object itself.
+	 */
+	public BulkInsertStatement<T> maxPacketSize(long maxPacketSize) {
+		if (maxPacketSize < 1) {
+			throw new IllegalArgumentException("maxPacketSize must be positive: " + maxPacketSize);
+		}
+		this.maxPacketSize = maxPacketSize;
+		return this;
+	}
+
+	/**
+	 * Send single-row INSERT statements by {@code addBatch/executeBatch}
+	 * instead of multi-row INSERT statements.
+	 *
+	 * @return Object itself.
+	 */
+	public BulkInsertStatement<T> useBatch() {
+		this.useBatch = true;
+		return this;
+	}
+
+	/**
+	 * [EXPERIMENTAL] Add "ON DUPLICATE KEY UPDATE " clause to every statement.
+	 *
+	 * <code>
+	 *     bulkInsert.onDuplicateKeyUpdate("n=n+1")
+	 *     bulkInsert.onDuplicateKeyUpdate("name=VALUES(name)")
+	 * </code>
+	 *
+	 * @param query Query in string.
+	 * @return Object itself.
+	 * @see InsertStatement#onDuplicateKeyUpdate(String, Object...)
+	 */
+	public BulkInsertStatement<T> onDuplicateKeyUpdate(String query,
+			Object... params) {
+		if (onDuplicateKeyUpdateQuery == null) {
+			onDuplicateKeyUpdateQuery = new ArrayList<>();
+		}
+		onDuplicateKeyUpdateQuery.add(query);
+
+		if (onDuplicateKeyUpdateValues == null) {
+			onDuplicateKeyUpdateValues = new ArrayList<>();
+		}
+		Collections.addAll(onDuplicateKeyUpdateValues, params);
+		return this;
+	}
+
+	/**
+	 * Execute query.
+	 *
+	 * @return The number of affected rows. Rows that the driver reports as
+	 *         {@code SUCCESS_NO_INFO} are counted as one.
+	 */
+	public int execute() {
+		for (InsertStatement<T> row : rows) {
+			this.tableMeta.invokeBeforeInsertTriggers(row);
+		}
+
+		int affected = 0;
+		for (List<InsertStatement<T>> chunk : this.buildChunks()) {
+			if (useBatch) {
+				affected += this.executeBatch(chunk, null);
+			} else {
+				affected += this.executeMultiRow(chunk, null);
+			}
+		}
+		if (onDuplicateKeyUpdateQuery != null) {
+			orm.invalidateCaches(tableMeta, Collections.emptyList());
+		} else {
+			orm.invalidateCaches(tableMeta);
+		}
+		return affected;
+	}
+
+	/**
+	 * Execute query, and get the auto-generated keys by
+	 * {@code Statement.RETURN_GENERATED_KEYS}.
+	 *
+	 * @return The generated keys, in the order of the rows.
+	 */
+	public List<Long> executeForGeneratedKeys() {
+		if (onDuplicateKeyUpdateQuery != null) {
+			throw new IllegalStateException(
+				"You can't call BulkInsertStatement#executeForGeneratedKeys() with ON DUPLICATE KEY UPDATE.");
+		}
+		for (InsertStatement<T> row : rows) {
+			this.tableMeta.invokeBeforeInsertTriggers(row);
+		}
+
+		final List<Long> generatedKeys = new ArrayList<>(rows.size());
+		for (List<InsertStatement<T>> chunk : this.buildChunks()) {
+			if (useBatch) {
+				this.executeBatch(chunk, generatedKeys);
+			} else {
+				this.executeMultiRow(chunk, generatedKeys);
+			}
+		}
+		orm.invalidateCaches(tableMeta);
+		return generatedKeys;
+	}
+
+	/**
+	 * Split rows into chunks. Rows in a chunk have the same column list.
+	 */
+	List<List<InsertStatement<T>>> buildChunks() {
+		final List<List<InsertStatement<T>>> chunks = new ArrayList<>();
+		List<InsertStatement<T>> chunk = new ArrayList<>();
+		List<String> columns = null;
+		long packetSize = 0;
+		int maxRowsInChunk = maxRows;
+		for (InsertStatement<T> row : rows) {
+			final List<String> rowColumns = new ArrayList<>(row.getValues().keySet());
+			final long rowSize = estimateSize(row.getValues());
+			if (!chunk.isEmpty()
+				&& (!rowColumns.equals(columns)
+					|| chunk.size() >= maxRowsInChunk
+					|| (!useBatch && packetSize + rowSize > maxPacketSize))) {
+				chunks.add(chunk);
+				chunk = new ArrayList<>();
+			}
+			if (chunk.isEmpty()) {
+				columns = rowColumns;
+				packetSize = 0;
+				maxRowsInChunk = useBatch
+					? maxRows
+					: Math.max(1, Math.min(maxRows, MAX_PLACEHOLDERS / Math.max(1, rowColumns.size())));
+			}
+			chunk.add(row);
+			packetSize += rowSize;
+		}
+		if (!chunk.isEmpty()) {
+			chunks.add(chunk);
+		}
+		return chunks;
+	}
+
+	Query buildQuery(List<InsertStatement<T>> chunk) {
+		final List<String> columns = new ArrayList<>(chunk.get(0).getValues().keySet());
+		final QueryBuilder builder = new QueryBuilder(orm.getIdentifierQuoteString())
+			.appendQuery("INSERT INTO ")
+			.appendIdentifier(tableMeta.getName())
+			.appendQuery(" (");
+		for (int i = 0; i < columns.size(); ++i) {
+			if (i != 0) {
+				builder.appendQuery(",");
+			}
+			builder.appendIdentifier(columns.get(i));
+		}
+		builder.appendQuery(") VALUES ");
+		for (int i = 0; i < chunk.size(); ++i) {
+			if (i != 0) {
+				builder.appendQuery(",");
+			}
+			builder.appendQuery("(");
+			for (int j = 0; j < columns.size(); ++j) {
+				builder.appendQuery(j == 0 ? "?" : ",?");
+			}
+			builder.appendQuery(")");
+			builder.addParameters(chunk.get(i).getValues().values());
+		}
+		this.appendOnDuplicateKeyUpdate(builder);
+		return builder.build();
+	}
+
+	private void appendOnDuplicateKeyUpdate(QueryBuilder builder) {
+		if (onDuplicateKeyUpdateQuery != null) {
+			builder.appendQuery(" ON DUPLICATE KEY UPDATE ");
+			builder.appendQuery(String.join(",", onDuplicateKeyUpdateQuery));
+			builder.addParameters(onDuplicateKeyUpdateValues);
+		}
+	}
+
+	private PreparedStatement prepareStatement(String sql, List<Long> generatedKeys) {
+		return generatedKeys == null
+			? orm.prepareStatement(sql)
+			: orm.prepareStatementForGeneratedKeys(sql);
+	}
+
+	private static void readGeneratedKeys(PreparedStatement ps, List<Long> generatedKeys) throws SQLException {
+		if (generatedKeys != null) {
+			try (final ResultSet rs = ps.getGeneratedKeys()) {
+				while (rs.next()) {
+					generatedKeys.add(rs.getLong(1));
+				}
+			}
+		}
+	}
+
+	private int executeMultiRow(List<InsertStatement<T>> chunk, List<Long> generatedKeys) {
+		final Query query = this.buildQuery(chunk);
+		final String sql = query.getSQL();
+		final List<Object> params = query.getParameters();
+		try (final PreparedStatement ps = this.prepareStatement(sql, generatedKeys)) {
+			JDBCUtils.fillPreparedStatementParams(ps, params);
+			final int affected = ps.executeUpdate();
+			readGeneratedKeys(ps, generatedKeys);
+			return affected;
+		} catch (final SQLException ex) {
+			throw new UncheckedRichSQLException(ex, sql, params);
+		}
+	}
+
+	private int executeBatch(List<InsertStatement<T>> chunk, List<Long> generatedKeys) {
+		final Query query = this.buildQuery(chunk.subList(0, 1));
+		final String sql = query.getSQL();
+		List<Object> params = query.getParameters();
+		try (final PreparedStatement ps = this.prepareStatement(sql, generatedKeys)) {
+			for (InsertStatement<T> row : chunk) {
+				params = new ArrayList<>(row.getValues().values());
+				if (onDuplicateKeyUpdateValues != null) {
+					params.addAll(onDuplicateKeyUpdateValues);
+				}
+				JDBCUtils.fillPreparedStatementParams(ps, params);
+				ps.addBatch();
+			}
+			int affected = 0;
+			for (int count : ps.executeBatch()) {
+				affected += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+			}
+			readGeneratedKeys(ps, generatedKeys);
+			return affected;
+		} catch (final SQLException ex) {
+			throw new UncheckedRichSQLException(ex, sql, params);
+		}
+	}
+
+	private static long estimateSize(Map<String, Object> values) {
+		long size = 0;
+		for (Object value : values.values()) {
+			if (value instanceof byte[]) {
+				// binary may be escaped in the text protocol.
+				size += ((byte[])value).length * 2;
+			} else if (value instanceof CharSequence) {
+				// UTF-8 may take up to 4 bytes per char.
+				size += ((CharSequence)value).length() * 4;
+			} else {
+				size += 16;
+			}
+			size += 2; // separator and placeholder
+		}
+		return size;
+	}
+}
@@ -0,0 +1,51 @@
+package me.geso.tinyorm;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Inflated column values of a row, kept by {@link SharedRowCache} and
+ * {@link QueryCache}. Each {@link #toRow} builds a new row object bound to
+ * the given {@link TinyORM}, but the values are shared.
+ */
+final class CachedRow {
+	private final Class<?> klass;
+	private final List<String> columnLabels;
+	private final Object[] values;
+
+	private CachedRow(Class<?> klass, List<String> columnLabels, Object[] values) {
+		this.klass = klass;
+		this.columnLabels = columnLabels;
+		this.values = values;
+	}
+
+	/**
+	 * @param columnLabels Column labels of the result set the row came from
+	 */
+	static <T extends Row<?>> CachedRow of(TableMeta<T> tableMeta, Class<T> klass, T row,
+			List<String> columnLabels) {
+		final List<String> labels = new ArrayList<>(columnLabels.size());
+		final List<Object> values = new ArrayList<>(columnLabels.size());
+		for (String label : columnLabels) {
+			final Object value = tableMeta.hasColumn(label)
+				? tableMeta.getValue(row, label)
+				: row.getExtraColumn(label);
+			if (value instanceof LazyColumn && !((LazyColumn<?>)value).isLoaded()) {
+				// Not loaded yet. Rows from the cache fetch it by themselves.
+				continue;
+			}
+			labels.add(label);
+			values.add(value);
+		}
+		return new CachedRow(klass, Collections.unmodifiableList(labels), values.toArray());
+	}
+
+	boolean isInstanceOf(Class<?> klass) {
+		return this.klass == klass;
+	}
+
+	<T extends Row<?>> T toRow(TableMeta<T> tableMeta, Class<T> klass, TinyORM orm) {
+		return tableMeta.getRowMapper(klass, columnLabels).mapInflatedValues(values, orm);
+	}
+}
@@ -0,0 +1,85 @@
+package me.geso.tinyorm;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Snapshot of the database metadata that statement builders need.
+ * <p>
+ * It's captured from the first connection of a connection provider, and
+ * reused by all statements of the {@link TinyORM} instances that share the
+ * provider. The metadata doesn't change between the connections that one
+ * connection provider gives.
+ */
+final class DatabaseDialect {
+	// MariaDB reports "5.5.5-10.2.11-MariaDB" to old clients
+	private static final Pattern VERSION = Pattern.compile("(?:5\\.5\\.5-)?(\\d+)\\.(\\d+)");
+
+	private final String identifierQuoteString;
+	private final String databaseProductName;
+	private final String databaseProductVersion;
+
+	private DatabaseDialect(String identifierQuoteString, String databaseProductName,
+			String databaseProductVersion) {
+		this.identifierQuoteString = identifierQuoteString;
+		this.databaseProductName = databaseProductName;
+		this.databaseProductVersion = databaseProductVersion;
+	}
+
+	static DatabaseDialect of(Connection connection) {
+		try {
+			final DatabaseMetaData metaData = connection.getMetaData();
+			return new DatabaseDialect(metaData.getIdentifierQuoteString(),
+				metaData.getDatabaseProductName(), metaData.getDatabaseProductVersion());
+		} catch (SQLException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	String getIdentifierQuoteString() {
+		return identifierQuoteString;
+	}
+
+	String getDatabaseProductName() {
+		return databaseProductName;
+	}
+
+	/**
+	 * @return The fetch size that makes the driver fetch rows while the
+	 *         result set is read, instead of reading all rows at once.
+	 *         MySQL Connector/J streams row by row with
+	 *         {@code Integer.MIN_VALUE}. Other drivers fetch by cursor.
+	 */
+	int getStreamingFetchSize() {
+		if ("MySQL".equalsIgnoreCase(databaseProductName) || "MariaDB".equalsIgnoreCase(databaseProductName)) {
+			return Integer.MIN_VALUE;
+		}
+		return 1000;
+	}
+
+	/**
+	 * @return true if the database supports {@code COUNT(*) OVER()}: MySQL
+	 *         8.0, MariaDB 10.2 and PostgreSQL.
+	 */
+	boolean supportsWindowFunctions() {
+		if ("PostgreSQL".equalsIgnoreCase(databaseProductName)) {
+			return true;
+		}
+		if (!"MySQL".equalsIgnoreCase(databaseProductName) && !"MariaDB".equalsIgnoreCase(databaseProductName)) {
+			return false;
+		}
+		final Matcher matcher = VERSION.matcher(databaseProductVersion == null ? "" : databaseProductVersion);
+		if (!matcher.lookingAt()) {
+			return false;
+		}
+		final int major = Integer.parseInt(matcher.group(1));
+		final int minor = Integer.parseInt(matcher.group(2));
+		if (databaseProductVersion.contains("MariaDB")) {
+			return major > 10 || (major == 10 && minor >= 2);
+		}
+		return major >= 8;
+	}
+}
@@ -0,0 +1,204 @@
+package me.geso.tinyorm;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+
+import me.geso.jdbcutils.JDBCUtils;
+import me.geso.jdbcutils.ResultSetCallback;
+import me.geso.jdbcutils.UncheckedRichSQLException;
+import me.geso.tinyorm.replica.ReadReplicas;
+import me.geso.tinyorm.replica.Replica;
+
+/**
+ * Run a read query on a replica, and the same query on another replica if
+ * the first one doesn't answer within the delay. The first result is used,
+ * and the other query is cancelled by {@link PreparedStatement#cancel()}.
+ * <p>
+ * Each query runs on its own connection borrowed from the replica, so that
+ * the cancelled one doesn't hold the connection of other queries. The
+ * connection is released after its query returns.
+ * <p>
+ * Queries run on the executor of the {@link TinyORM}. The result set is read
+ * by the caller.
+ */
+final class HedgedQuery<T> {
+	private static final Logger log = org.slf4j.LoggerFactory.getLogger(HedgedQuery.class);
+
+	private final TinyORM orm;
+	private final ReadReplicas readReplicas;
+	private final String sql;
+	private final List<Object> params;
+
+	HedgedQuery(TinyORM orm, ReadReplicas readReplicas, String sql, List<Object> params) {
+		this.orm = orm;
+		this.readReplicas = readReplicas;
+		this.sql = sql;
+		this.params = params;
+	}
+
+	T execute(long delayNanos, ResultSetCallback<T> callback) {
+		final Replica firstReplica = readReplicas.choose();
+		final Attempt first = start(firstReplica);
+		Attempt winner;
+		Attempt loser = null;
+		try {
+			first.resultSet.get(delayNanos, TimeUnit.NANOSECONDS);
+			winner = first;
+		} catch (TimeoutException e) {
+			final Replica secondReplica = readReplicas.chooseOther(firstReplica);
+			if (secondReplica == null) {
+				winner = first;
+			} else {
+				log.debug("Hedge the query on {} by {}: {}", firstReplica, secondReplica, sql);
+				final Attempt second;
+				try {
+					second = start(secondReplica);
+				} catch (RuntimeException startFailure) {
+					first.discard();
+					throw startFailure;
+				}
+				winner = firstOf(first, second);
+				loser = winner == first ? second : first;
+			}
+		} catch (ExecutionException e) {
+			// the query failed before the hedge; report it like a plain query.
+			winner = first;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			first.discard();
+			throw new RuntimeException(e);
+		}
+
+		if (loser != null) {
+			loser.discard();
+		}
+		try (final ResultSet rs = winner.resultSet.join()) {
+			return callback.call(rs);
+		} catch (final CompletionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof SQLException) {
+				throw new UncheckedRichSQLException((SQLException)cause, sql, params);
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException)cause;
+			}
+			throw e;
+		} catch (final SQLException ex) {
+			throw new UncheckedRichSQLException(ex, sql, params);
+		} finally {
+			winner.close();
+		}
+	}
+
+	private Attempt start(Replica replica) {
+		final Connection connection = orm.borrowReplicaConnection(replica);
+		final PreparedStatement ps;
+		try {
+			ps = orm.prepareStatementWithoutCache(sql, connection);
+		} catch (RuntimeException e) {
+			orm.releaseReadConnection(connection);
+			throw e;
+		}
+		final Attempt attempt = new Attempt(orm, connection, ps, new CompletableFuture<>());
+		try {
+			orm.getExecutor().execute(() -> executeQuery(ps, params, attempt.resultSet));
+		} catch (RuntimeException e) {
+			attempt.close();
+			throw e;
+		}
+		return attempt;
+	}
+
+	/**
+	 * The result set is handed over to the future, and closed by the caller.
+	 */
+	private static void executeQuery(PreparedStatement ps, List<Object> params,
+			CompletableFuture<ResultSet> resultSet) {
+		try {
+			JDBCUtils.fillPreparedStatementParams(ps, params);
+			resultSet.complete(ps.executeQuery());
+		} catch (SQLException | RuntimeException e) {
+			resultSet.completeExceptionally(e);
+		}
+	}
+
+	/**
+	 * @return The attempt that succeeds first, or the second one if both fail.
+	 */
+	private static Attempt firstOf(Attempt first, Attempt second) {
+		final CompletableFuture<Attempt> winner = new CompletableFuture<>();
+		final AtomicInteger failures = new AtomicInteger();
+		for (Attempt attempt : new Attempt[] {first, second}) {
+			attempt.resultSet.whenComplete((rs, e) -> {
+				if (e == null) {
+					winner.complete(attempt);
+				} else if (failures.incrementAndGet() == 2) {
+					winner.complete(second);
+				}
+			});
+		}
+		return winner.join();
+	}
+
+	private static void closeQuietly(AutoCloseable closeable) {
+		try {
+			closeable.close();
+		} catch (Exception e) {
+			log.warn("Failed to close {}", closeable, e);
+		}
+	}
+
+	private static final class Attempt {
+		private final TinyORM orm;
+		private final Connection connection;
+		private final PreparedStatement statement;
+		private final CompletableFuture<ResultSet> resultSet;
+
+		Attempt(TinyORM orm, Connection connection, PreparedStatement statement,
+				CompletableFuture<ResultSet> resultSet) {
+			this.orm = orm;
+			this.connection = connection;
+			this.statement = statement;
+			this.resultSet = resultSet;
+		}
+
+		/**
+		 * Close the statement, and release the connection.
+		 */
+		void close() {
+			closeQuietly(statement);
+			orm.releaseReadConnection(connection);
+		}
+
+		/**
+		 * Cancel the query, and close the statement and release the connection
+		 * after it returns.
+		 */
+		void discard() {
+			if (!resultSet.isDone()) {
+				try {
+					statement.cancel();
+				} catch (SQLException e) {
+					log.warn("Failed to cancel the query", e);
+				}
+			}
+			resultSet.whenComplete((rs, e) -> {
+				if (rs != null) {
+					closeQuietly(rs);
+				}
+				this.close();
+			});
+		}
+	}
+}
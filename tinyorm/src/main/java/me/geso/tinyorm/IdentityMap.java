@@ -0,0 +1,125 @@
+package me.geso.tinyorm;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import net.moznion.db.transaction.manager.TransactionManager;
+
+/**
+ * Primary key to row map of one {@link TinyORM} instance.
+ * <p>
+ * Rows found in a transaction are kept aside until the transaction is
+ * committed. If it's rolled back, the whole map is cleared, since the rows
+ * may hold values that never hit the database. Updated and deleted rows are
+ * evicted at once.
+ */
+class IdentityMap {
+	private final TinyORM orm;
+	private final Map<Key, Row<?>> rows = new HashMap<>();
+	// rows found in the current transaction
+	private final Map<Key, Row<?>> pendingRows = new HashMap<>();
+	private TransactionManager hookedTransactionManager;
+
+	IdentityMap(TinyORM orm) {
+		this.orm = orm;
+	}
+
+	synchronized <T extends Row<?>> Optional<T> get(Class<T> klass, String tableName, List<Object> primaryKeys) {
+		this.reconcile();
+		final Key key = new Key(tableName, primaryKeys);
+		Row<?> row = pendingRows.get(key);
+		if (row == null) {
+			row = rows.get(key);
+		}
+		if (klass.isInstance(row)) {
+			return Optional.of(klass.cast(row));
+		}
+		return Optional.empty();
+	}
+
+	synchronized void put(String tableName, List<Object> primaryKeys, Row<?> row) {
+		this.reconcile();
+		final Key key = new Key(tableName, primaryKeys);
+		if (orm.hasActiveTransaction()) {
+			final TransactionManager transactionManager = orm.getTransactionManager();
+			if (transactionManager != hookedTransactionManager) {
+				// End hooks run after each commit, and they are never removed.
+				transactionManager.txnAddEndHook(this::commit);
+				hookedTransactionManager = transactionManager;
+			}
+			pendingRows.put(key, row);
+		} else {
+			rows.put(key, row);
+		}
+	}
+
+	synchronized void evict(String tableName, List<Object> primaryKeys) {
+		final Key key = new Key(tableName, primaryKeys);
+		rows.remove(key);
+		pendingRows.remove(key);
+	}
+
+	synchronized void clear() {
+		rows.clear();
+		pendingRows.clear();
+	}
+
+	private synchronized void commit() {
+		rows.putAll(pendingRows);
+		pendingRows.clear();
+	}
+
+	/**
+	 * {@link TinyORM} clears the map on rollback. For a rollback by the
+	 * transaction manager itself, which has no rollback hook: if the pending
+	 * rows are still here after the transaction, it was rolled back.
+	 */
+	private void reconcile() {
+		if (!pendingRows.isEmpty() && !orm.hasActiveTransaction()) {
+			this.clear();
+		}
+	}
+
+	/**
+	 * Normalize primary key values, so {@code where("id=?", 1)} and a long id
+	 * column hit the same entry.
+	 */
+	static List<Object> normalizePrimaryKeys(List<Object> primaryKeys) {
+		final List<Object> normalized = new ArrayList<>(primaryKeys.size());
+		for (Object value : primaryKeys) {
+			if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+				normalized.add(((Number)value).longValue());
+			} else {
+				normalized.add(value);
+			}
+		}
+		return normalized;
+	}
+
+	private static final class Key {
+		private final String tableName;
+		private final List<Object> primaryKeys;
+
+		Key(String tableName, List<Object> primaryKeys) {
+			this.tableName = tableName;
+			this.primaryKeys = normalizePrimaryKeys(primaryKeys);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			final Key other = (Key)o;
+			return tableName.equals(other.tableName) && primaryKeys.equals(other.primaryKeys);
+		}
+
+		@Override
+		public int hashCode() {
+			return tableName.hashCode() * 31 + primaryKeys.hashCode();
+		}
+	}
+}
@@ -11,15 +11,20 @@ import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.stream.Collectors;
 
 import me.geso.jdbcutils.JDBCUtils;
@@ -54,6 +59,10 @@ public class InsertStatement<T extends Row<?>> {
 		return this.klass;
 	}
 
+	Map<String, Object> getValues() {
+		return this.values;
+	}
+
 	/**
 	 * Add new value.
 	 * 
@@ -130,31 +139,39 @@ public class InsertStatement<T extends Row<?>> {
 		return this;
 	}
 
-	private Query buildQuery() {
+	Query buildQuery() {
 		final String identifierQuoteString = orm.getIdentifierQuoteString();
-		final QueryBuilder builder = new QueryBuilder(orm.getConnection())
-			.appendQuery("INSERT INTO ")
-			.appendIdentifier(tableMeta.getName())
-			.appendQuery(" (")
-			.appendQuery(
-				values.keySet()
-					.stream()
-					.map(key -> JDBCUtils.quoteIdentifier(key,
-						identifierQuoteString))
-					.collect(Collectors.joining(",")))
-			.appendQuery(") VALUES (")
-			.appendQuery(values.values().stream().map(e -> "?")
-				.collect(Collectors.joining(",")))
-			.addParameters(values.values())
-			.appendQuery(")");
+		final List<String> columns = new ArrayList<>(values.keySet());
+		final String sql = tableMeta.getSqlTemplate(Arrays.asList("INSERT", identifierQuoteString, columns,
+			onDuplicateKeyUpdateQuery == null ? null : new ArrayList<>(onDuplicateKeyUpdateQuery)), () -> {
+				final QueryBuilder builder = new QueryBuilder(identifierQuoteString)
+					.appendQuery("INSERT INTO ")
+					.appendIdentifier(tableMeta.getName())
+					.appendQuery(" (")
+					.appendQuery(
+						columns
+							.stream()
+							.map(key -> JDBCUtils.quoteIdentifier(key,
+								identifierQuoteString))
+							.collect(Collectors.joining(",")))
+					.appendQuery(") VALUES (")
+					.appendQuery(columns.stream().map(e -> "?")
+						.collect(Collectors.joining(",")))
+					.appendQuery(")");
+				if (onDuplicateKeyUpdateQuery != null) {
+					builder.appendQuery(" ON DUPLICATE KEY UPDATE ");
+					builder.appendQuery(
+							onDuplicateKeyUpdateQuery.stream()
+								.collect(Collectors.joining(",")));
+				}
+				return builder.build().getSQL();
+			});
+
+		final List<Object> params = new ArrayList<>(values.values());
 		if (onDuplicateKeyUpdateQuery != null) {
-			builder.appendQuery(" ON DUPLICATE KEY UPDATE ");
-			builder.appendQuery(
-					onDuplicateKeyUpdateQuery.stream()
-						.collect(Collectors.joining(",")));
-			builder.addParameters(onDuplicateKeyUpdateValues);
+			params.addAll(onDuplicateKeyUpdateValues);
 		}
-		return builder.build();
+		return new Query(sql, params);
 	}
 
 	/**
@@ -168,19 +185,153 @@ public class InsertStatement<T extends Row<?>> {
 
 		final String sql = query.getSQL();
 		final List<Object> params = query.getParameters();
-		try (final PreparedStatement ps = orm.getConnection().prepareStatement(sql)) {
-			JDBCUtils.fillPreparedStatementParams(ps, params);
-			final int inserted = ps.executeUpdate();
-			if (inserted != 1 && this.onDuplicateKeyUpdateQuery == null) {
-				throw new RuntimeException("Cannot insert to database:"
-						+ query);
+		try (final PreparedStatement ps = orm.prepareStatement(sql)) {
+			return this.executeUpdate(ps, query);
+		} catch (final SQLException ex) {
+			throw new UncheckedRichSQLException(ex, sql, params);
+		}
+	}
+
+	/**
+	 * Execute query, and get the auto-generated key by
+	 * {@code Statement.RETURN_GENERATED_KEYS}. It doesn't send
+	 * {@code SELECT last_insert_id()}.
+	 *
+	 * @return The generated key. Empty if the table doesn't generate a key.
+	 */
+	public OptionalLong executeForGeneratedKey() {
+		this.tableMeta.invokeBeforeInsertTriggers(this);
+		return this.insertForGeneratedKey();
+	}
+
+	private OptionalLong insertForGeneratedKey() {
+		final Query query = this.buildQuery();
+
+		final String sql = query.getSQL();
+		final List<Object> params = query.getParameters();
+		try (final PreparedStatement ps = orm.prepareStatementForGeneratedKeys(sql)) {
+			this.executeUpdate(ps, query);
+			try (final ResultSet rs = ps.getGeneratedKeys()) {
+				if (rs.next()) {
+					return OptionalLong.of(rs.getLong(1));
+				} else {
+					return OptionalLong.empty();
+				}
 			}
-			return inserted;
 		} catch (final SQLException ex) {
 			throw new UncheckedRichSQLException(ex, sql, params);
 		}
 	}
 
+	private int executeUpdate(final PreparedStatement ps, final Query query) throws SQLException {
+		JDBCUtils.fillPreparedStatementParams(ps, query.getParameters());
+		final int inserted = ps.executeUpdate();
+		if (inserted != 1 && this.onDuplicateKeyUpdateQuery == null) {
+			throw new RuntimeException("Cannot insert to database:"
+					+ query);
+		}
+		if (this.onDuplicateKeyUpdateQuery != null) {
+			// Any row may be updated by unique keys other than the primary key.
+			orm.invalidateCaches(tableMeta, Collections.emptyList());
+		} else {
+			orm.invalidateCaches(tableMeta);
+		}
+		return inserted;
+	}
+
+	/**
+	 * Execute query, and build the row object from the inserted values and
+	 * the auto-generated key, without selecting the row.
+	 * <p>
+	 * Use this instead of {@link #executeSelect()} only if the database
+	 * doesn't fill any column by itself (default values, triggers, ...).
+	 * Every column except the auto-generated primary key must have a value.
+	 * Numbers are converted to the types of the properties, e.g. an
+	 * {@code Integer} value for a {@code long} property.
+	 *
+	 * @return Inserted row.
+	 */
+	public T executeWithoutReselect() {
+		if (this.onDuplicateKeyUpdateQuery != null) {
+			throw new IllegalStateException(
+				"You can't call InsertStatement#executeWithoutReselect() with ON DUPLICATE KEY UPDATE.");
+		}
+		final List<String> columnNames = this.tableMeta.getColumnNames();
+		final RowMapper<T> rowMapper = this.tableMeta.getRowMapper(klass, columnNames);
+		this.tableMeta.invokeBeforeInsertTriggers(this);
+
+		final List<PropertyDescriptor> primaryKeys = this.tableMeta.getPrimaryKeys();
+		final PropertyDescriptor generatedKey = primaryKeys.size() == 1
+			&& !values.containsKey(primaryKeys.get(0).getName())
+			? primaryKeys.get(0) : null;
+		for (String columnName : columnNames) {
+			if (!values.containsKey(columnName)
+				&& (generatedKey == null || !generatedKey.getName().equals(columnName))) {
+				throw new IllegalStateException(
+					"You can't call InsertStatement#executeWithoutReselect() without the value for "
+						+ tableMeta.getName() + "." + columnName + ". Use executeSelect() instead.");
+			}
+		}
+
+		final OptionalLong key = this.insertForGeneratedKey();
+		final Object[] rowValues = new Object[columnNames.size()];
+		for (int i = 0; i < rowValues.length; ++i) {
+			final String columnName = columnNames.get(i);
+			if (generatedKey != null && generatedKey.getName().equals(columnName)) {
+				if (!key.isPresent()) {
+					throw new RuntimeException("Cannot get the generated key after insertion: "
+						+ tableMeta.getName());
+				}
+				rowValues[i] = convertGeneratedKey(generatedKey.getPropertyType(), key.getAsLong());
+			} else if (this.tableMeta.composeInflater(columnName) == null) {
+				rowValues[i] = convertNumber(
+					this.tableMeta.getPropertyDescriptor(columnName).getPropertyType(), values.get(columnName));
+			} else {
+				rowValues[i] = values.get(columnName);
+			}
+		}
+		return rowMapper.mapValues(rowValues, orm);
+	}
+
+	private static Object convertGeneratedKey(Class<?> type, long key) {
+		if (type == String.class) {
+			return String.valueOf(key);
+		}
+		return convertNumber(type, key);
+	}
+
+	/**
+	 * Convert a number to the type of the property, as the database would
+	 * return it for the column. Other values are returned as they are.
+	 */
+	private static Object convertNumber(Class<?> type, Object value) {
+		if (!(value instanceof Number) || type.isInstance(value)) {
+			return value;
+		}
+		final Number number = (Number)value;
+		if (type == long.class || type == Long.class) {
+			return number.longValue();
+		} else if (type == int.class || type == Integer.class) {
+			return number.intValue();
+		} else if (type == short.class || type == Short.class) {
+			return number.shortValue();
+		} else if (type == byte.class || type == Byte.class) {
+			return number.byteValue();
+		} else if (type == double.class || type == Double.class) {
+			return number.doubleValue();
+		} else if (type == float.class || type == Float.class) {
+			return number.floatValue();
+		} else if (type == BigInteger.class) {
+			return number instanceof BigDecimal
+				? ((BigDecimal)number).toBigInteger()
+				: BigInteger.valueOf(number.longValue());
+		} else if (type == BigDecimal.class) {
+			return new BigDecimal(number.toString());
+		} else {
+			return value;
+		}
+	}
+
 	public T executeSelect() {
 		try {
 			this.execute();
@@ -200,7 +351,11 @@ public class InsertStatement<T extends Row<?>> {
 
 			final Connection connection = this.orm.getConnection();
 			final Query query = new QueryBuilder(connection)
-				.appendQuery("SELECT * FROM ")
+				.appendQuery("SELECT ")
+				.appendQuery(this.orm.isColumnPruningEnabled() || this.tableMeta.hasLazyColumns()
+					? this.tableMeta.renderColumnList(this.orm.getIdentifierQuoteString())
+					: "*")
+				.appendQuery(" FROM ")
 				.appendIdentifier(tableName)
 				.appendQuery(" WHERE ")
 				.appendIdentifier(pkName)
@@ -0,0 +1,66 @@
+package me.geso.tinyorm;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import me.geso.tinyorm.annotations.JsonColumn;
+
+/**
+ * Process-wide settings of {@link JsonColumn}s. They apply from the next row
+ * that is read or written, whichever row classes were used before.
+ */
+public final class JsonColumnConfig {
+	private static volatile ObjectMapper objectMapper;
+	private static volatile boolean streamingRead;
+
+	private JsonColumnConfig() {
+	}
+
+	/**
+	 * Use the mapper for all {@link JsonColumn}s, e.g. with your modules and
+	 * features. Columns build an {@code ObjectReader} and an
+	 * {@code ObjectWriter} for their type from it once, and again if it's
+	 * replaced.
+	 *
+	 * @param objectMapper Shared mapper. Don't configure it after this call.
+	 */
+	public static void setObjectMapper(ObjectMapper objectMapper) {
+		if (objectMapper == null) {
+			throw new IllegalArgumentException("objectMapper must not be null");
+		}
+		JsonColumnConfig.objectMapper = objectMapper;
+	}
+
+	/**
+	 * @return The shared mapper. A default {@code ObjectMapper} is created at
+	 *         first use.
+	 */
+	public static ObjectMapper getObjectMapper() {
+		ObjectMapper mapper = objectMapper;
+		if (mapper == null) {
+			synchronized (JsonColumnConfig.class) {
+				mapper = objectMapper;
+				if (mapper == null) {
+					mapper = new ObjectMapper();
+					objectMapper = mapper;
+				}
+			}
+		}
+		return mapper;
+	}
+
+	/**
+	 * Parse {@link JsonColumn}s from {@code ResultSet#getBinaryStream}
+	 * instead of {@code getObject}, so large documents aren't copied into a
+	 * byte array first. It doesn't apply to {@code LazyColumn} fields, which
+	 * keep the raw bytes.
+	 *
+	 * @param streamingRead true to read from streams
+	 */
+	public static void setStreamingRead(boolean streamingRead) {
+		JsonColumnConfig.streamingRead = streamingRead;
+	}
+
+	public static boolean isStreamingRead() {
+		return streamingRead;
+	}
+}
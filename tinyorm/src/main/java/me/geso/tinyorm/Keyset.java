@@ -0,0 +1,275 @@
+package me.geso.tinyorm;
+
+import java.beans.PropertyDescriptor;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import me.geso.jdbcutils.JDBCUtils;
+import me.geso.jdbcutils.Query;
+
+/**
+ * The {@code ORDER BY} columns of a keyset (seek) paginated select, and the
+ * page tokens that hold the values of the last row of a page.
+ * <p>
+ * A token is the URL safe Base64 of the column values, tagged by type. It's
+ * opaque for clients, but not signed: don't put secrets in the keyset
+ * columns.
+ */
+final class Keyset {
+	private static final Pattern ORDER_BY_ITEM = Pattern.compile(
+		"\\s*[`\"]?(\\w+)[`\"]?(?:\\s+(ASC|DESC))?\\s*", Pattern.CASE_INSENSITIVE);
+	private static final int VERSION = 1;
+
+	private final TableMeta<?> tableMeta;
+	private final List<String> columns;
+	private final List<Boolean> descending;
+	// columns from this index are added to ORDER BY
+	private final int tieBreakerIndex;
+	// rejects tokens of other orders
+	private final int signature;
+
+	private Keyset(TableMeta<?> tableMeta, List<String> columns, List<Boolean> descending, int tieBreakerIndex) {
+		this.tableMeta = tableMeta;
+		this.tieBreakerIndex = tieBreakerIndex;
+		this.columns = Collections.unmodifiableList(columns);
+		this.descending = Collections.unmodifiableList(descending);
+		this.signature = (tableMeta.getName() + ":" + columns + ":" + descending).hashCode();
+	}
+
+	/**
+	 * Parse the {@code ORDER BY} clauses, e.g. {@code "created_on DESC, id DESC"}.
+	 * Primary keys not in the clauses are added with the direction of the
+	 * last column, so that the order is total.
+	 */
+	static Keyset parse(TableMeta<?> tableMeta, List<String> orderBy) {
+		final List<String> columns = new ArrayList<>();
+		final List<Boolean> descending = new ArrayList<>();
+		for (String clause : orderBy) {
+			for (String item : clause.split(",")) {
+				final Matcher matcher = ORDER_BY_ITEM.matcher(item);
+				if (!matcher.matches() || !tableMeta.hasColumn(matcher.group(1))) {
+					throw new IllegalArgumentException("Keyset pagination needs ORDER BY columns of "
+						+ tableMeta.getName() + ", but got: " + clause);
+				}
+				columns.add(matcher.group(1));
+				descending.add("DESC".equals(
+					matcher.group(2) == null ? null : matcher.group(2).toUpperCase(Locale.ROOT)));
+			}
+		}
+		final List<PropertyDescriptor> primaryKeys = tableMeta.getPrimaryKeys();
+		if (primaryKeys.isEmpty() && columns.isEmpty()) {
+			throw new IllegalArgumentException("Keyset pagination needs ORDER BY or primary keys: "
+				+ tableMeta.getName());
+		}
+		final int tieBreakerIndex = columns.size();
+		final boolean tieBreakerDescending = !descending.isEmpty() && descending.get(descending.size() - 1);
+		for (PropertyDescriptor primaryKey : primaryKeys) {
+			if (!columns.contains(primaryKey.getName())) {
+				columns.add(primaryKey.getName());
+				descending.add(tieBreakerDescending);
+			}
+		}
+		return new Keyset(tableMeta, columns, descending, tieBreakerIndex);
+	}
+
+	/**
+	 * @return The primary keys that {@link #parse} added, to append to the {@code ORDER BY} clauses.
+	 */
+	List<String> renderTieBreakers(String identifierQuoteString) {
+		final List<String> result = new ArrayList<>();
+		for (int i = tieBreakerIndex; i < columns.size(); ++i) {
+			result.add(JDBCUtils.quoteIdentifier(columns.get(i), identifierQuoteString)
+				+ (descending.get(i) ? " DESC" : " ASC"));
+		}
+		return result;
+	}
+
+	/**
+	 * Build the predicate that selects the rows after the token, e.g.
+	 * {@code a >= ? AND (a > ? OR (a = ? AND b > ?))}. The leading
+	 * {@code a >= ?} lets the database scan the index range.
+	 */
+	Query seek(String token, String identifierQuoteString) {
+		final List<Object> values = decode(token);
+		final List<String> quoted = columns.stream()
+			.map(it -> JDBCUtils.quoteIdentifier(it, identifierQuoteString))
+			.collect(Collectors.toList());
+		final StringBuilder sql = new StringBuilder();
+		final List<Object> params = new ArrayList<>();
+		if (columns.size() == 1) {
+			sql.append(quoted.get(0)).append(operator(0)).append("?");
+			params.add(values.get(0));
+			return new Query(sql.toString(), params);
+		}
+
+		sql.append(quoted.get(0)).append(operator(0)).append("=? AND (");
+		params.add(values.get(0));
+		for (int i = 0; i < columns.size(); ++i) {
+			if (i != 0) {
+				sql.append(" OR ");
+			}
+			sql.append('(');
+			for (int j = 0; j < i; ++j) {
+				sql.append(quoted.get(j)).append("=? AND ");
+				params.add(values.get(j));
+			}
+			sql.append(quoted.get(i)).append(operator(i)).append("?)");
+			params.add(values.get(i));
+		}
+		sql.append(')');
+		return new Query(sql.toString(), params);
+	}
+
+	private String operator(int i) {
+		return descending.get(i) ? "<" : ">";
+	}
+
+	/**
+	 * Create the token for the rows after the row.
+	 */
+	String createToken(Object row) {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeByte(VERSION);
+			out.writeInt(signature);
+			out.writeShort(columns.size());
+			for (String column : columns) {
+				final Object value = tableMeta.invokeDeflater(column, tableMeta.getValue(row, column));
+				if (value == null) {
+					throw new IllegalStateException("Keyset column " + column + " of " + tableMeta.getName()
+						+ " is null. Keyset pagination needs NOT NULL columns.");
+				}
+				writeValue(out, column, value);
+			}
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+	}
+
+	private static void writeValue(DataOutputStream out, String column, Object value) throws IOException {
+		if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+			out.writeByte('J');
+			out.writeLong(((Number)value).longValue());
+		} else if (value instanceof Double || value instanceof Float) {
+			out.writeByte('F');
+			out.writeDouble(((Number)value).doubleValue());
+		} else if (value instanceof BigDecimal) {
+			out.writeByte('N');
+			out.writeUTF(value.toString());
+		} else if (value instanceof Boolean) {
+			out.writeByte('Z');
+			out.writeBoolean((Boolean)value);
+		} else if (value instanceof String) {
+			final byte[] utf8 = ((String)value).getBytes(StandardCharsets.UTF_8);
+			out.writeByte('S');
+			out.writeInt(utf8.length);
+			out.write(utf8);
+		} else if (value instanceof byte[]) {
+			out.writeByte('B');
+			out.writeInt(((byte[])value).length);
+			out.write((byte[])value);
+		} else if (value instanceof Timestamp) {
+			out.writeByte('T');
+			out.writeLong(((Timestamp)value).getTime());
+			out.writeInt(((Timestamp)value).getNanos());
+		} else if (value instanceof java.sql.Date) {
+			out.writeByte('D');
+			out.writeUTF(value.toString());
+		} else if (value instanceof Time) {
+			out.writeByte('H');
+			out.writeUTF(value.toString());
+		} else if (value instanceof LocalDate) {
+			writeValue(out, column, java.sql.Date.valueOf((LocalDate)value));
+		} else if (value instanceof LocalTime) {
+			writeValue(out, column, Time.valueOf((LocalTime)value));
+		} else if (value instanceof LocalDateTime) {
+			writeValue(out, column, Timestamp.valueOf((LocalDateTime)value));
+		} else if (value instanceof java.util.Date) {
+			writeValue(out, column, new Timestamp(((java.util.Date)value).getTime()));
+		} else {
+			throw new IllegalStateException("Keyset pagination doesn't support the type of " + column + ": "
+				+ value.getClass().getName());
+		}
+	}
+
+	private List<Object> decode(String token) {
+		final List<Object> values = new ArrayList<>(columns.size());
+		try (DataInputStream in = new DataInputStream(
+			new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+			if (in.readByte() != VERSION || in.readInt() != signature || in.readShort() != columns.size()) {
+				values.clear();
+			} else {
+				for (int i = 0; i < columns.size(); ++i) {
+					values.add(readValue(in));
+				}
+				if (in.read() != -1) {
+					throw new IOException("Trailing bytes");
+				}
+			}
+		} catch (IOException | IllegalArgumentException e) {
+			throw new IllegalArgumentException("Invalid page token: " + token, e);
+		}
+		if (values.isEmpty()) {
+			throw new IllegalArgumentException("The page token is for another query: " + token);
+		}
+		return values;
+	}
+
+	private static Object readValue(DataInputStream in) throws IOException {
+		final int tag = in.readByte();
+		switch (tag) {
+		case 'J':
+			return in.readLong();
+		case 'F':
+			return in.readDouble();
+		case 'N':
+			return new BigDecimal(in.readUTF());
+		case 'Z':
+			return in.readBoolean();
+		case 'S':
+			return new String(readBytes(in), StandardCharsets.UTF_8);
+		case 'B':
+			return readBytes(in);
+		case 'T': {
+			final Timestamp timestamp = new Timestamp(in.readLong());
+			timestamp.setNanos(in.readInt());
+			return timestamp;
+		}
+		case 'D':
+			return java.sql.Date.valueOf(in.readUTF());
+		case 'H':
+			return Time.valueOf(in.readUTF());
+		default:
+			throw new IOException("Unknown type: " + tag);
+		}
+	}
+
+	private static byte[] readBytes(DataInputStream in) throws IOException {
+		final int length = in.readInt();
+		if (length < 0 || length > in.available()) {
+			throw new IOException("Truncated");
+		}
+		final byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return bytes;
+	}
+}
@@ -0,0 +1,121 @@
+package me.geso.tinyorm;
+
+import me.geso.tinyorm.annotations.Lazy;
+import me.geso.tinyorm.trigger.Inflater;
+
+/**
+ * Value of a {@link Lazy} column. Selected rows don't have the value yet;
+ * the first {@link #get()} fetches it for all rows selected by the same
+ * {@code search()}, by one query per 1000 rows. If the row isn't found, e.g.
+ * it's deleted, {@link #get()} returns null and it's queried again next time.
+ * <p>
+ * A {@code LazyColumn} field without {@link Lazy} is selected as usual, but
+ * the value is inflated (e.g. parsed by {@code @JsonColumn}) at the first
+ * {@link #get()}, and memoized. Rows that are never read don't pay for
+ * inflation.
+ * <p>
+ * Two lazy columns are equal only if they are the same object. Compare
+ * {@link #get()} values instead.
+ *
+ * @param <T> Type of the inflated value
+ */
+public final class LazyColumn<T> {
+	private volatile boolean loaded;
+	private volatile T value;
+	private volatile LazyLoader loader;
+	// raw value and inflater of a deferred column
+	private Object raw;
+	private final Inflater inflater;
+
+	LazyColumn() {
+		this.inflater = null;
+	}
+
+	private LazyColumn(T value) {
+		this.value = value;
+		this.loaded = true;
+		this.inflater = null;
+	}
+
+	private LazyColumn(Object raw, Inflater inflater) {
+		this.raw = raw;
+		this.inflater = inflater;
+	}
+
+	/**
+	 * Create a value that's inflated at the first {@link #get()}.
+	 */
+	static LazyColumn<Object> deferred(Object raw, Inflater inflater) {
+		return new LazyColumn<>(raw, inflater);
+	}
+
+	/**
+	 * Create a loaded value, e.g. to build a row by hand.
+	 *
+	 * @param value Inflated value
+	 * @param <T> Type of the inflated value
+	 * @return Loaded lazy column
+	 */
+	public static <T> LazyColumn<T> of(T value) {
+		return new LazyColumn<>(value);
+	}
+
+	/**
+	 * @return The value. It's fetched from the database if it's not loaded,
+	 *         and null if the row isn't found.
+	 * @throws IllegalStateException if it's not loaded and not bound to a
+	 *         selected row.
+	 */
+	public T get() {
+		if (!loaded) {
+			if (inflater != null) {
+				this.inflate();
+				return value;
+			}
+			final LazyLoader loader = this.loader;
+			if (loader == null) {
+				if (loaded) {
+					// Loaded by another thread.
+					return value;
+				}
+				throw new IllegalStateException("LazyColumn is not bound to a selected row");
+			}
+			loader.load();
+		}
+		return value;
+	}
+
+	/**
+	 * @return true if {@link #get()} doesn't query the database.
+	 */
+	public boolean isLoaded() {
+		return loaded || inflater != null;
+	}
+
+	private synchronized void inflate() {
+		if (!loaded) {
+			this.set(inflater.inflate(raw));
+			this.raw = null;
+		}
+	}
+
+	void bind(LazyLoader loader) {
+		this.loader = loader;
+	}
+
+	LazyLoader getLoader() {
+		return loader;
+	}
+
+	@SuppressWarnings("unchecked")
+	void set(Object value) {
+		this.value = (T)value;
+		this.loaded = true;
+		this.loader = null;
+	}
+
+	@Override
+	public String toString() {
+		return loaded ? "LazyColumn(" + value + ")" : "LazyColumn(not loaded)";
+	}
+}
@@ -0,0 +1,186 @@
+package me.geso.tinyorm;
+
+import java.beans.PropertyDescriptor;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import me.geso.jdbcutils.JDBCUtils;
+import me.geso.jdbcutils.Query;
+import me.geso.jdbcutils.QueryBuilder;
+import me.geso.jdbcutils.UncheckedRichSQLException;
+import me.geso.tinyorm.trigger.Inflater;
+
+/**
+ * Fetches a {@link me.geso.tinyorm.annotations.Lazy} column for a group of
+ * rows, by primary keys.
+ * <p>
+ * Rows selected from the write connection, in a transaction, or from a table
+ * in the read-your-writes window are fetched from the write connection. Rows
+ * that the read connection doesn't have yet are fetched again from the write
+ * connection. Rows that aren't found at all, e.g. deleted ones, stay unloaded
+ * and are queried again at the next {@link LazyColumn#get()}.
+ */
+final class LazyLoader {
+	private static final int CHUNK_SIZE = 1000;
+
+	private final TinyORM orm;
+	private final TableMeta<?> tableMeta;
+	private final String columnName;
+	// true if the rows are selected from the write connection
+	private final boolean writeConnection;
+	private final List<Row<?>> rows = new ArrayList<>();
+	private final List<LazyColumn<?>> lazyColumns = new ArrayList<>();
+
+	private LazyLoader(TinyORM orm, TableMeta<?> tableMeta, String columnName, boolean writeConnection) {
+		this.orm = orm;
+		this.tableMeta = tableMeta;
+		this.columnName = columnName;
+		this.writeConnection = writeConnection;
+	}
+
+	/**
+	 * Bind the lazy column of a mapped row. It's loaded alone, unless the row
+	 * is passed to {@link #batch} later.
+	 *
+	 * @param writeConnection true if the row is selected from the write
+	 *        connection
+	 */
+	static void bind(TinyORM orm, TableMeta<?> tableMeta, String columnName, Row<?> row,
+			LazyColumn<?> lazyColumn, boolean writeConnection) {
+		new LazyLoader(orm, tableMeta, columnName, writeConnection).add(row, lazyColumn);
+	}
+
+	/**
+	 * Load the lazy columns of the rows together, at first access to any of
+	 * them.
+	 */
+	static <T extends Row<?>> void batch(TinyORM orm, TableMeta<T> tableMeta, List<T> rows) {
+		if (rows.size() < 2) {
+			return;
+		}
+		for (String columnName : tableMeta.getLazyColumnNames()) {
+			final List<T> unloadedRows = new ArrayList<>();
+			final List<LazyColumn<?>> unloaded = new ArrayList<>();
+			boolean writeConnection = false;
+			for (T row : rows) {
+				final Object value = tableMeta.getValue(row, columnName);
+				if (value instanceof LazyColumn && !((LazyColumn<?>)value).isLoaded()) {
+					final LazyColumn<?> lazyColumn = (LazyColumn<?>)value;
+					final LazyLoader bound = lazyColumn.getLoader();
+					writeConnection |= bound != null && bound.writeConnection;
+					unloadedRows.add(row);
+					unloaded.add(lazyColumn);
+				}
+			}
+			final LazyLoader loader = new LazyLoader(orm, tableMeta, columnName, writeConnection);
+			for (int i = 0; i < unloaded.size(); ++i) {
+				loader.add(unloadedRows.get(i), unloaded.get(i));
+			}
+		}
+	}
+
+	private void add(Row<?> row, LazyColumn<?> lazyColumn) {
+		rows.add(row);
+		lazyColumns.add(lazyColumn);
+		lazyColumn.bind(this);
+	}
+
+	synchronized void load() {
+		// Rows selected from the write connection may not be visible to the read connection.
+		final boolean useWriteConnection = writeConnection || orm.hasActiveTransaction()
+			|| orm.isReadYourWritesTable(tableMeta.getName());
+		List<Integer> indexes = new ArrayList<>();
+		for (int i = 0; i < rows.size(); ++i) {
+			if (!lazyColumns.get(i).isLoaded()) {
+				indexes.add(i);
+			}
+		}
+		indexes = this.load(indexes, useWriteConnection);
+		if (!indexes.isEmpty() && !useWriteConnection) {
+			// The read connection may lag behind the write connection.
+			indexes = this.load(indexes, true);
+		}
+
+		// Keep the rows that aren't found, to query them again at the next get().
+		final List<Row<?>> missingRows = new ArrayList<>(indexes.size());
+		final List<LazyColumn<?>> missingColumns = new ArrayList<>(indexes.size());
+		for (int index : indexes) {
+			missingRows.add(rows.get(index));
+			missingColumns.add(lazyColumns.get(index));
+		}
+		rows.clear();
+		rows.addAll(missingRows);
+		lazyColumns.clear();
+		lazyColumns.addAll(missingColumns);
+	}
+
+	/**
+	 * @return Indexes of the rows that aren't found.
+	 */
+	private List<Integer> load(List<Integer> indexes, boolean useWriteConnection) {
+		final List<Integer> missing = new ArrayList<>();
+		for (int i = 0; i < indexes.size(); i += CHUNK_SIZE) {
+			final Map<List<Object>, Integer> pending = new HashMap<>();
+			final List<Row<?>> chunk = new ArrayList<>();
+			for (int index : indexes.subList(i, Math.min(indexes.size(), i + CHUNK_SIZE))) {
+				pending.put(IdentityMap.normalizePrimaryKeys(tableMeta.getPrimaryKeyValues(rows.get(index))),
+					index);
+				chunk.add(rows.get(index));
+			}
+			this.load(chunk, pending, useWriteConnection);
+			missing.addAll(pending.values());
+		}
+		return missing;
+	}
+
+	/**
+	 * Load the column of the rows, and remove the found ones from pending.
+	 */
+	private void load(List<Row<?>> chunk, Map<List<Object>, Integer> pending, boolean useWriteConnection) {
+		final String identifierQuoteString = orm.getIdentifierQuoteString();
+		final List<PropertyDescriptor> primaryKeys = tableMeta.getPrimaryKeys();
+		final QueryBuilder builder = new QueryBuilder(identifierQuoteString).appendQuery("SELECT ");
+		for (PropertyDescriptor primaryKey : primaryKeys) {
+			builder.appendIdentifier(primaryKey.getName()).appendQuery(",");
+		}
+		final Query query = builder
+			.appendIdentifier(columnName)
+			.appendQuery(" FROM ")
+			.appendIdentifier(tableMeta.getName())
+			.appendQuery(" WHERE ")
+			.append(tableMeta.createWhereClauseFromRows(chunk, identifierQuoteString))
+			.build();
+
+		final Inflater inflater = tableMeta.composeInflater(columnName);
+		final String sql = query.getSQL();
+		final List<Object> params = query.getParameters();
+		try (final PreparedStatement ps = useWriteConnection
+				? orm.prepareStatement(sql)
+				: orm.prepareStatementForRead(sql)) {
+			JDBCUtils.fillPreparedStatementParams(ps, params);
+			try (final ResultSet rs = ps.executeQuery()) {
+				while (rs.next()) {
+					final List<Object> primaryKeyValues = new ArrayList<>(primaryKeys.size());
+					for (int i = 0; i < primaryKeys.size(); ++i) {
+						primaryKeyValues.add(tableMeta.invokeInflater(primaryKeys.get(i).getName(),
+							rs.getObject(i + 1)));
+					}
+					final Integer index = pending.remove(IdentityMap.normalizePrimaryKeys(primaryKeyValues));
+					if (index != null) {
+						final Object raw = rs.getObject(primaryKeys.size() + 1);
+						final Object value = inflater == null ? raw : inflater.inflate(raw);
+						// The inflater chain ends with wrapping the value into a LazyColumn.
+						lazyColumns.get(index).set(value instanceof LazyColumn ? ((LazyColumn<?>)value).get() : value);
+					}
+				}
+			}
+		} catch (final SQLException ex) {
+			throw new UncheckedRichSQLException(ex, sql, params);
+		}
+	}
+}
@@ -4,47 +4,197 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import me.geso.jdbcutils.JDBCUtils;
 import me.geso.jdbcutils.Query;
+import me.geso.jdbcutils.ResultSetCallback;
 import me.geso.jdbcutils.RichSQLException;
 import me.geso.jdbcutils.UncheckedRichSQLException;
 
 public class ListSelectStatement<T extends Row<?>> extends
 		AbstractSelectStatement<T, ListSelectStatement<T>> {
 
+	// rows per split of parallel streams
+	private static final int PARALLEL_BATCH_SIZE = 1024;
+
 	private final TableMeta<T> tableMeta;
 	private final TinyORM orm;
 	private final Class<T> klass;
+	private Duration cacheTtl;
+	private Integer fetchSize;
 
-	ListSelectStatement(Connection connection,
-			Class<T> klass, TableMeta<T> tableMeta, TinyORM orm) {
-		super(connection, tableMeta.getName());
+	ListSelectStatement(Class<T> klass, TableMeta<T> tableMeta, TinyORM orm) {
+		super(orm.getIdentifierQuoteString(), tableMeta);
+		this.setColumnPruning(orm.isColumnPruningEnabled());
 		this.tableMeta = tableMeta;
 		this.orm = orm;
 		this.klass = klass;
 	}
 
-	public List<T> execute() {
-		final Query query = this.buildQuery();
+	/**
+	 * Cache the result of {@link #execute()} in the {@link QueryCache}.
+	 * The cache isn't used with {@code forUpdate()},
+	 * {@code forceWriteConnection()} or in transactions.
+	 *
+	 * @param ttl How long the result is used
+	 * @return Object itself.
+	 */
+	public ListSelectStatement<T> cached(Duration ttl) {
+		if (ttl.isNegative() || ttl.isZero()) {
+			throw new IllegalArgumentException("ttl must be positive: " + ttl);
+		}
+		this.cacheTtl = ttl;
+		return this;
+	}
+
+	/**
+	 * Select the columns instead of all columns. Rows built by
+	 * {@link #execute()} have only these columns. Use {@link #mapTo(Class)}
+	 * to skip building rows.
+	 *
+	 * @param columns Column names
+	 * @return Object itself.
+	 */
+	public ListSelectStatement<T> select(String... columns) {
+		if (columns.length == 0) {
+			throw new IllegalArgumentException("No columns");
+		}
+		this.setColumns(Arrays.asList(columns));
+		return this;
+	}
 
+	/**
+	 * Map each row to the projection class, without building row objects.
+	 * <p>
+	 * An interface is implemented by a proxy; its getters return the column
+	 * of the same name, or of the same property name in the row class.
+	 * Otherwise the {@code @ConstructorProperties} constructor (e.g. by
+	 * lombok's {@code @Value}) is called by column names, or the constructor
+	 * which takes all columns is called in select order.
+	 * <p>
+	 * Columns are inflated like the row class does, if the projection's type
+	 * fits.
+	 *
+	 * @param targetClass Projection class
+	 * @param <R> Projection type
+	 * @return Projections
+	 */
+	public <R> List<R> mapTo(Class<R> targetClass) {
+		return project(rs -> ProjectionMapper.create(targetClass, tableMeta, TinyORM.getColumnLabels(rs)));
+	}
+
+	/**
+	 * Map each row by the callback, without building row objects. Columns
+	 * aren't inflated.
+	 *
+	 * @param mapper Called for each row
+	 * @param <R> Projection type
+	 * @return Projections
+	 */
+	public <R> List<R> mapTo(ResultSetIteratorCallback<R> mapper) {
+		return project(rs -> new ProjectionMapper<R>() {
+			@Override
+			R map(ResultSet resultSet) throws SQLException {
+				return mapper.apply(resultSet);
+			}
+		});
+	}
+
+	private <R> List<R> project(ResultSetIteratorCallback<ProjectionMapper<R>> mapperFactory) {
+		final Query query = this.buildQuery();
 		final String sql = query.getSQL();
 		final List<Object> params = query.getParameters();
-		try (final PreparedStatement ps = isForUpdate() || isForceWriteConnection()
+		try (final PreparedStatement ps = isWriteConnectionRequired(orm)
 				? orm.prepareStatement(sql)
 				: orm.prepareStatementForRead(sql)) {
 			JDBCUtils.fillPreparedStatementParams(ps, params);
 			try (final ResultSet rs = ps.executeQuery()) {
-                return orm.mapRowListFromResultSet(klass, rs);
-            }
+				final ProjectionMapper<R> mapper = mapperFactory.apply(rs);
+				final List<R> result = new ArrayList<>();
+				while (rs.next()) {
+					result.add(mapper.map(rs));
+				}
+				return result;
+			}
 		} catch (final SQLException ex) {
 			throw new UncheckedRichSQLException(ex, sql, params);
 		}
 	}
 
+	/**
+	 * Set the fetch size for {@link #executeStream()}, so the driver fetches
+	 * rows while the stream is read, instead of reading all rows into memory
+	 * first.
+	 * <p>
+	 * With MySQL, a negative size ({@code Integer.MIN_VALUE}) streams rows
+	 * one by one, and the connection can't run other queries, e.g.
+	 * {@code @Lazy} columns, until the stream is closed. A positive size
+	 * needs {@code useCursorFetch=true} in the JDBC URL.
+	 *
+	 * @param fetchSize Fetch size
+	 * @return Object itself.
+	 */
+	public ListSelectStatement<T> fetchSize(int fetchSize) {
+		this.fetchSize = fetchSize;
+		return this;
+	}
+
+	/**
+	 * Stream rows from the database in {@link #executeStream()}, with the
+	 * fetch size for the database, e.g. {@code Integer.MIN_VALUE} for MySQL.
+	 * See {@link #fetchSize(int)} for the constraints.
+	 *
+	 * @return Object itself.
+	 */
+	public ListSelectStatement<T> streaming() {
+		return this.fetchSize(orm.getStreamingFetchSize());
+	}
+
+	public List<T> execute() {
+		final Query query = this.buildQuery();
+		final boolean useCache = cacheTtl != null && !isWriteConnectionRequired(orm)
+			&& !orm.hasActiveTransaction();
+		final long stamp = useCache ? QueryCache.stamp(tableMeta.getName()) : 0;
+		if (useCache) {
+			final Object cached = QueryCache.get(klass, tableMeta.getName(), query);
+			if (cached != null) {
+				final List<?> cachedRows = (List<?>)cached;
+				final List<T> rows = new ArrayList<>(cachedRows.size());
+				for (Object cachedRow : cachedRows) {
+					rows.add(((CachedRow)cachedRow).toRow(tableMeta, klass, orm));
+				}
+				LazyLoader.batch(orm, tableMeta, rows);
+				return rows;
+			}
+		}
+
+		final String sql = query.getSQL();
+		final List<Object> params = query.getParameters();
+		final boolean writeConnection = isWriteConnectionRequired(orm);
+		final ResultSetCallback<List<T>> callback = rs -> {
+			if (!useCache) {
+				return orm.mapRowListFromResultSet(klass, rs, writeConnection);
+			}
+			final List<String> columnLabels = TinyORM.getColumnLabels(rs);
+			final List<T> rows = orm.mapRowListFromResultSet(klass, rs, writeConnection);
+			final List<CachedRow> cachedRows = new ArrayList<>(rows.size());
+			for (T row : rows) {
+				cachedRows.add(CachedRow.of(tableMeta, klass, row, columnLabels));
+			}
+			QueryCache.put(klass, tableMeta.getName(), query, cachedRows, stamp, cacheTtl);
+			return rows;
+		};
+		return writeConnection
+			? orm.executeQuery(sql, params, callback, orm.getConnection())
+			: orm.executeRead(sql, params, callback);
+	}
+
 	public Paginated<T> executeWithPagination(long entriesPerPage) {
 		try (Stream<T> stream = this.limit(entriesPerPage + 1).executeStream()) {
 			return new Paginated<>(stream.collect(Collectors.toList()),
@@ -55,6 +205,9 @@ public class ListSelectStatement<T extends Row<?>> extends
 	/**
 	 * Create stream from select statement.
 	 * You must close the stream after use. I mean you should use try-with-resources for return value from this method.
+	 * <p>
+	 * {@code executeStream().parallel()} reads rows on one thread, and maps them in batches of 1024 rows on the
+	 * fork/join pool.
 	 *
 	 * @return stream, that generates row objects.
 	 */
@@ -64,15 +217,21 @@ public class ListSelectStatement<T extends Row<?>> extends
 		final String sql = query.getSQL();
 		final List<Object> params = query.getParameters();
 		try {
-			final PreparedStatement ps = isForUpdate() || isForceWriteConnection()
-					? orm.prepareStatement(sql)
-					: orm.prepareStatementForRead(sql);
+			final Connection connection = isWriteConnectionRequired(orm)
+					? orm.getConnection()
+					: orm.getReadConnection();
+			final PreparedStatement ps = fetchSize == null
+					? orm.prepareStatement(sql, connection)
+					: orm.prepareStatementForStreaming(sql, connection, fetchSize);
 			JDBCUtils.fillPreparedStatementParams(ps, params);
 
 			final ResultSet rs = ps.executeQuery();
-			List<String> columnLabels = TinyORM.getColumnLabels(rs);
+			final RowMapper<T> rowMapper = tableMeta.getRowMapper(klass, rs);
+			// Rows are mapped on worker threads in parallel streams.
 			ResultSetIterator<T> iterator = new ResultSetIterator<>(ps, rs, sql, params,
-					resultSet -> tableMeta.createRowFromResultSet(klass, resultSet, columnLabels, orm)
+					resultSet -> rowMapper.map(resultSet, orm, orm.isWriteConnection(connection)),
+					values -> rowMapper.mapValues(values, orm),
+					PARALLEL_BATCH_SIZE
 			);
             return iterator.toStream();
 		} catch (SQLException e) {
@@ -13,6 +13,7 @@ import me.geso.tinyvalidator.Valid;
 
 /**
  * This is a pager class for {@code SELECT * FROM member WHERE id < ? LIMIT 1000} style pagination.
+ * {@link PaginatedSelectStatement#keyset(String)} builds the {@code WHERE} clause from {@link #getNextPageToken()}.
  * @param <T>
  */
 public class Paginated<T> {
@@ -20,14 +21,21 @@ public class Paginated<T> {
 
 	private final long entriesPerPage;
 	private final boolean hasNextPage;
+	private final String nextPageToken;
+
+	public Paginated(List<T> rows, long entriesPerPage, boolean hasNextPage) {
+		this(rows, entriesPerPage, hasNextPage, null);
+	}
 
 	@JsonCreator
 	public Paginated(@JsonProperty("rows") List<T> rows,
 			@JsonProperty("entriesPerPage") long entriesPerPage,
-			@JsonProperty("hasNextPage") boolean hasNextPage) {
+			@JsonProperty("hasNextPage") boolean hasNextPage,
+			@JsonProperty("nextPageToken") String nextPageToken) {
 		this.rows = rows;
 		this.entriesPerPage = entriesPerPage;
 		this.hasNextPage = hasNextPage;
+		this.nextPageToken = nextPageToken;
 	}
 
 	public Paginated(final List<T> rows, final long entriesPerPage) {
@@ -41,6 +49,7 @@ public class Paginated<T> {
 			this.hasNextPage = false;
 		}
 		this.entriesPerPage = entriesPerPage;
+		this.nextPageToken = null;
 	}
 
 	/**
@@ -71,6 +80,16 @@ public class Paginated<T> {
 		return hasNextPage;
 	}
 
+	/**
+	 * Get the token for the next page, if the page is selected by
+	 * {@link PaginatedSelectStatement#keyset(String)}.
+	 *
+	 * @return Token to pass to {@code keyset(String)}, or null if there is no next page.
+	 */
+	public String getNextPageToken() {
+		return nextPageToken;
+	}
+
 	/**
 	 * Create new Paginated instance with row object mapping.<br>
 	 *
@@ -83,7 +102,7 @@ public class Paginated<T> {
 	 */
 	public <O> Paginated<O> mapRows(Function<T, O> f) {
 		final List<O> mapped = this.rows.stream().map(f).collect(Collectors.toList());
-		return new Paginated<>(mapped, entriesPerPage, hasNextPage);
+		return new Paginated<>(mapped, entriesPerPage, hasNextPage, nextPageToken);
 	}
 
 }
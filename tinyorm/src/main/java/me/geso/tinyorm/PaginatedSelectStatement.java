@@ -4,7 +4,10 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import me.geso.jdbcutils.JDBCUtils;
 import me.geso.jdbcutils.Query;
@@ -13,36 +16,211 @@ import me.geso.jdbcutils.UncheckedRichSQLException;
 public class PaginatedSelectStatement<T extends Row<?>> extends
 		AbstractSelectStatement<T, PaginatedSelectStatement<T>> {
 
+	// label of COUNT(*) OVER() in executeWithTotal()
+	private static final String TOTAL_COLUMN = "tinyorm_total_entries";
+
+	private final TableMeta<T> tableMeta;
 	private final TinyORM orm;
 	private final long entriesPerPage;
 	private final Class<T> klass;
+	private boolean keyset;
+	private String pageToken;
+	// ORDER BY columns, set at the first execute()
+	private Keyset appliedKeyset;
 
-	PaginatedSelectStatement(Connection connection,
-			Class<T> klass, TableMeta<T> tableMeta, TinyORM orm,
+	PaginatedSelectStatement(Class<T> klass, TableMeta<T> tableMeta, TinyORM orm,
 			long entriesPerPage) {
-		super(connection, tableMeta.getName());
+		super(orm.getIdentifierQuoteString(), tableMeta);
+		this.setColumnPruning(orm.isColumnPruningEnabled());
 		this.klass = klass;
+		this.tableMeta = tableMeta;
 		this.orm = orm;
 		this.entriesPerPage = entriesPerPage;
 	}
 
+	/**
+	 * Paginate by the {@code ORDER BY} columns instead of {@code OFFSET}, and
+	 * return the token for the next page by
+	 * {@link Paginated#getNextPageToken()}. This is the first page.
+	 *
+	 * @return Object itself.
+	 * @see #keyset(String)
+	 */
+	public PaginatedSelectStatement<T> keyset() {
+		return this.keyset(null);
+	}
+
+	/**
+	 * Select the page after the token, by {@code WHERE} on the
+	 * {@code ORDER BY} columns (keyset pagination), so a deep page costs the
+	 * same as the first one.
+	 * <p>
+	 * {@code orderBy()} must name columns of the row class, with
+	 * {@code ASC} or {@code DESC}, e.g. {@code orderBy("created_on DESC, id DESC")}.
+	 * Primary keys are appended to {@code ORDER BY} unless they are in it.
+	 * The columns must be {@code NOT NULL}. Use the same {@code where()} and
+	 * {@code orderBy()} for all pages.
+	 *
+	 * @param pageToken Token by {@link Paginated#getNextPageToken()}, or null for the first page.
+	 * @return Object itself.
+	 */
+	public PaginatedSelectStatement<T> keyset(String pageToken) {
+		this.keyset = true;
+		this.pageToken = pageToken == null || pageToken.isEmpty() ? null : pageToken;
+		return this;
+	}
+
 	public Paginated<T> execute() {
-		final Query query = this.limit(entriesPerPage + 1).buildQuery();
+		final Keyset keyset = this.keyset ? this.applyKeyset() : null;
+		return this.paginate(this.fetch(this.limit(entriesPerPage + 1).buildQuery(), null), keyset);
+	}
+
+	/**
+	 * Select the page, and the number of rows selected by {@code where()} on
+	 * all pages, like {@code orm.count(klass).where(...)}.
+	 * <p>
+	 * The total is selected by {@code COUNT(*) OVER()} in the same query, on
+	 * MySQL 8.0, MariaDB 10.2 and PostgreSQL. Otherwise, and for keyset
+	 * pages after the first one, {@code SELECT COUNT(*)} runs on another read
+	 * connection by the executor, while the page is selected. If the
+	 * {@code TinyORM} is created with connections instead of providers, or in
+	 * transactions, the queries run one by one.
+	 *
+	 * @return The page with the total
+	 */
+	public PaginatedWithTotal<T> executeWithTotal() {
+		final Keyset keyset = this.keyset ? this.applyKeyset() : null;
+		final List<T> rows;
+		final long total;
+		if (pageToken == null && orm.getDialect().supportsWindowFunctions()) {
+			final long[] windowTotal = {-1};
+			this.setWindowCountLabel(TOTAL_COLUMN);
+			try {
+				rows = this.fetch(this.limit(entriesPerPage + 1).buildQuery(), windowTotal);
+			} finally {
+				this.setWindowCountLabel(null);
+			}
+			// An empty page, e.g. after the last row by offset(), has no total.
+			total = windowTotal[0] >= 0 ? windowTotal[0] : this.count(this.buildCountQuery(), null);
+		} else {
+			final Query countQuery = this.buildCountQuery();
+			final Connection connection = isWriteConnectionRequired(orm) || orm.hasActiveTransaction()
+				? null
+				: orm.borrowReadConnection();
+			if (connection == null) {
+				rows = this.fetch(this.limit(entriesPerPage + 1).buildQuery(), null);
+				total = this.count(countQuery, null);
+			} else {
+				final CompletableFuture<Long> count;
+				try {
+					count = CompletableFuture.supplyAsync(() -> {
+						try {
+							return this.count(countQuery, connection);
+						} finally {
+							orm.releaseReadConnection(connection);
+						}
+					}, orm.getExecutor());
+				} catch (RuntimeException e) {
+					orm.releaseReadConnection(connection);
+					throw e;
+				}
+				rows = this.fetch(this.limit(entriesPerPage + 1).buildQuery(), null);
+				try {
+					total = count.join();
+				} catch (CompletionException e) {
+					final Throwable cause = e.getCause();
+					if (cause instanceof RuntimeException) {
+						throw (RuntimeException)cause;
+					}
+					throw e;
+				}
+			}
+		}
+
+		final Paginated<T> paginated = this.paginate(rows, keyset);
+		return new PaginatedWithTotal<>(paginated.getRows(), entriesPerPage, paginated.getHasNextPage(),
+			paginated.getNextPageToken(), total);
+	}
 
+	private Paginated<T> paginate(List<T> rows, Keyset keyset) {
+		final Paginated<T> paginated = new Paginated<>(
+				rows, entriesPerPage);
+		if (keyset == null || !paginated.getHasNextPage()) {
+			return paginated;
+		}
+		final List<T> page = paginated.getRows();
+		return new Paginated<>(page, entriesPerPage, true,
+			keyset.createToken(page.get(page.size() - 1)));
+	}
+
+	/**
+	 * @param windowTotal If not null, the first element gets the
+	 *                    {@code COUNT(*) OVER()} column of the first row.
+	 */
+	private List<T> fetch(Query query, long[] windowTotal) {
 		final String sql = query.getSQL();
 		final List<Object> params = query.getParameters();
-		try (final PreparedStatement ps = isForUpdate() || isForceWriteConnection()
+		try (final PreparedStatement ps = isWriteConnectionRequired(orm)
 				? orm.prepareStatement(sql)
 				: orm.prepareStatementForRead(sql)) {
 			JDBCUtils.fillPreparedStatementParams(ps, params);
 			try (final ResultSet rs = ps.executeQuery()) {
-				List<T> rows = orm.mapRowListFromResultSet(klass, rs);
+				if (windowTotal == null) {
+					return orm.mapRowListFromResultSet(klass, rs, isWriteConnectionRequired(orm));
+				}
+				final RowMapper<T> rowMapper = tableMeta.getRowMapper(klass, rs);
+				final List<T> rows = new ArrayList<>();
+				while (rs.next()) {
+					if (rows.isEmpty()) {
+						windowTotal[0] = rs.getLong(TOTAL_COLUMN);
+					}
+					final T row = rowMapper.map(rs, orm, isWriteConnectionRequired(orm));
+					row.removeExtraColumn(TOTAL_COLUMN);
+					rows.add(row);
+				}
+				LazyLoader.batch(orm, tableMeta, rows);
+				return rows;
+			}
+		} catch (final SQLException ex) {
+			throw new UncheckedRichSQLException(ex, sql, params);
+		}
+	}
 
-				return new Paginated<>(
-						rows, entriesPerPage);
+	/**
+	 * @param connection Borrowed connection, or null to use the connection of the statement.
+	 */
+	private long count(Query query, Connection connection) {
+		final String sql = query.getSQL();
+		final List<Object> params = query.getParameters();
+		try (final PreparedStatement ps = connection != null
+				? orm.prepareStatementWithoutCache(sql, connection)
+				: isWriteConnectionRequired(orm)
+				? orm.prepareStatement(sql)
+				: orm.prepareStatementForRead(sql)) {
+			JDBCUtils.fillPreparedStatementParams(ps, params);
+			try (final ResultSet rs = ps.executeQuery()) {
+				return rs.next() ? rs.getLong(1) : 0L;
 			}
 		} catch (final SQLException ex) {
 			throw new UncheckedRichSQLException(ex, sql, params);
 		}
 	}
+
+	private Keyset applyKeyset() {
+		if (appliedKeyset != null) {
+			return appliedKeyset;
+		}
+		if (hasOffset()) {
+			throw new IllegalStateException("Keyset pagination can't be used with offset()");
+		}
+		final Keyset keyset = Keyset.parse(tableMeta, getOrderBy());
+		for (String orderBy : keyset.renderTieBreakers(orm.getIdentifierQuoteString())) {
+			this.orderBy(orderBy);
+		}
+		if (pageToken != null) {
+			this.setSeekPredicate(keyset.seek(pageToken, orm.getIdentifierQuoteString()));
+		}
+		appliedKeyset = keyset;
+		return keyset;
+	}
 }
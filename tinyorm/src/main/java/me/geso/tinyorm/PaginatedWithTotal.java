@@ -0,0 +1,42 @@
+package me.geso.tinyorm;
+
+import java.util.List;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * A page with the number of all rows, by
+ * {@link PaginatedSelectStatement#executeWithTotal()}.
+ * @param <T>
+ */
+public class PaginatedWithTotal<T> extends Paginated<T> {
+	private final long totalEntries;
+
+	@JsonCreator
+	public PaginatedWithTotal(@JsonProperty("rows") List<T> rows,
+			@JsonProperty("entriesPerPage") long entriesPerPage,
+			@JsonProperty("hasNextPage") boolean hasNextPage,
+			@JsonProperty("nextPageToken") String nextPageToken,
+			@JsonProperty("totalEntries") long totalEntries) {
+		super(rows, entriesPerPage, hasNextPage, nextPageToken);
+		this.totalEntries = totalEntries;
+	}
+
+	/**
+	 * Get the number of rows on all pages.
+	 *
+	 * @return the number of rows selected by the {@code WHERE} clauses, without {@code LIMIT}
+	 */
+	public long getTotalEntries() {
+		return totalEntries;
+	}
+
+	@Override
+	public <O> PaginatedWithTotal<O> mapRows(Function<T, O> f) {
+		final Paginated<O> mapped = super.mapRows(f);
+		return new PaginatedWithTotal<>(mapped.getRows(), mapped.getEntriesPerPage(), mapped.getHasNextPage(),
+			mapped.getNextPageToken(), totalEntries);
+	}
+}
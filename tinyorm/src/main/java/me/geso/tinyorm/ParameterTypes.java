@@ -0,0 +1,105 @@
+package me.geso.tinyorm;
+
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Parameter types of a constructor or of setters, to check and convert values
+ * before {@code invokeExact}. The handles take {@code Object}s, so a value of
+ * another type, or null for a primitive, would fail in the handle, where it
+ * can't be told from an exception thrown by the user code.
+ * <p>
+ * Integral numbers are converted to the parameter type if the value fits, e.g.
+ * an {@code Integer} from a signed {@code INT} column for a {@code long}
+ * property, or a {@code Long} from {@code INT UNSIGNED} for an {@code int}.
+ * Integers are also converted to floating point parameters, like reflection
+ * widens them.
+ */
+final class ParameterTypes {
+	// boxed types, or null for values that aren't checked
+	private final Class<?>[] types;
+	private final boolean[] primitives;
+
+	/**
+	 * @param types Parameter types. null for values that aren't checked, e.g.
+	 *        extra columns.
+	 */
+	ParameterTypes(final Class<?>[] types) {
+		this.types = new Class<?>[types.length];
+		this.primitives = new boolean[types.length];
+		for (int i = 0; i < types.length; ++i) {
+			if (types[i] != null) {
+				this.types[i] = MethodType.methodType(types[i]).wrap().returnType();
+				this.primitives[i] = types[i].isPrimitive();
+			}
+		}
+	}
+
+	/**
+	 * Convert the values in place. All the values are converted, so that an
+	 * error message shows only the ones that don't fit.
+	 *
+	 * @return The index of the first value that doesn't fit its type, or -1 if
+	 *         the handles can take all the values.
+	 */
+	int convert(final Object[] values) {
+		int mismatch = -1;
+		for (int i = 0; i < types.length; ++i) {
+			if (types[i] == null) {
+				continue;
+			}
+			final Object value = values[i];
+			if (value == null) {
+				if (primitives[i] && mismatch < 0) {
+					mismatch = i;
+				}
+			} else if (!types[i].isInstance(value)) {
+				final Object converted = convertNumber(types[i], value);
+				if (converted != null) {
+					values[i] = converted;
+				} else if (mismatch < 0) {
+					mismatch = i;
+				}
+			}
+		}
+		return mismatch;
+	}
+
+	/**
+	 * @return The value converted to the boxed type, or null if it doesn't fit.
+	 */
+	private static Object convertNumber(final Class<?> type, final Object value) {
+		if (!(value instanceof Long || value instanceof Integer || value instanceof Short
+			|| value instanceof Byte || value instanceof BigInteger)) {
+			return null;
+		}
+		final Number number = (Number)value;
+		if (type == BigInteger.class) {
+			return BigInteger.valueOf(number.longValue());
+		} else if (type == BigDecimal.class) {
+			return value instanceof BigInteger
+				? new BigDecimal((BigInteger)value)
+				: BigDecimal.valueOf(number.longValue());
+		} else if (type == Double.class) {
+			return number.doubleValue();
+		} else if (type == Float.class) {
+			return number.floatValue();
+		}
+
+		if (value instanceof BigInteger && ((BigInteger)value).bitLength() >= Long.SIZE) {
+			return null;
+		}
+		final long n = number.longValue();
+		if (type == Long.class) {
+			return n;
+		} else if (type == Integer.class) {
+			return n == (int)n ? (Object)(int)n : null;
+		} else if (type == Short.class) {
+			return n == (short)n ? (Object)(short)n : null;
+		} else if (type == Byte.class) {
+			return n == (byte)n ? (Object)(byte)n : null;
+		}
+		return null;
+	}
+}
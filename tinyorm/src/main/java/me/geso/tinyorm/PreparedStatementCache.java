@@ -0,0 +1,201 @@
+package me.geso.tinyorm;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+
+/**
+ * Bounded LRU cache of {@link PreparedStatement}s, keyed by connection and
+ * SQL.
+ * <p>
+ * A statement is checked out of the cache while it's in use, so nested
+ * queries with the same SQL get their own statement. Closing the returned
+ * statement doesn't close the underlying one: its parameters are cleared and
+ * it goes back to the cache. Statements evicted from the cache are closed.
+ */
+class PreparedStatementCache {
+	private static final Logger log = org.slf4j.LoggerFactory.getLogger(PreparedStatementCache.class);
+
+	private final int maxSize;
+	private final LinkedHashMap<Key, PreparedStatement> statements;
+	private final AtomicLong hitCount = new AtomicLong();
+	private final AtomicLong missCount = new AtomicLong();
+	private boolean closed = false;
+
+	PreparedStatementCache(int maxSize) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+		}
+		this.maxSize = maxSize;
+		this.statements = new LinkedHashMap<>(16, 0.75f, true);
+	}
+
+	/**
+	 * Get a statement from the cache, or prepare new one.
+	 */
+	PreparedStatement prepareStatement(Connection connection, String sql) throws SQLException {
+		final Key key = new Key(connection, sql);
+		PreparedStatement statement;
+		synchronized (this) {
+			statement = statements.remove(key);
+		}
+		if (statement != null && !statement.isClosed()) {
+			hitCount.incrementAndGet();
+		} else {
+			missCount.incrementAndGet();
+			statement = connection.prepareStatement(sql);
+		}
+		return (PreparedStatement)Proxy.newProxyInstance(
+			PreparedStatement.class.getClassLoader(),
+			new Class<?>[] {PreparedStatement.class},
+			new CachedStatementHandler(this, key, statement));
+	}
+
+	long getHitCount() {
+		return hitCount.get();
+	}
+
+	long getMissCount() {
+		return missCount.get();
+	}
+
+	/**
+	 * Close all cached statements.
+	 */
+	void clear() {
+		final List<PreparedStatement> evicted;
+		synchronized (this) {
+			evicted = new ArrayList<>(statements.values());
+			statements.clear();
+		}
+		evicted.forEach(PreparedStatementCache::closeQuietly);
+	}
+
+	/**
+	 * Close all cached statements, and statements released later.
+	 */
+	void close() {
+		synchronized (this) {
+			closed = true;
+		}
+		this.clear();
+	}
+
+	private void release(Key key, PreparedStatement statement) {
+		try {
+			if (statement.isClosed() || key.connection.isClosed()) {
+				return;
+			}
+			synchronized (this) {
+				if (closed) {
+					statement.close();
+					return;
+				}
+			}
+			statement.clearParameters();
+			statement.clearBatch();
+		} catch (SQLException e) {
+			closeQuietly(statement);
+			return;
+		}
+
+		final List<PreparedStatement> evicted = new ArrayList<>();
+		synchronized (this) {
+			final PreparedStatement old = statements.put(key, statement);
+			if (old != null) {
+				evicted.add(old);
+			}
+			final Iterator<PreparedStatement> iterator = statements.values().iterator();
+			while (statements.size() > maxSize) {
+				evicted.add(iterator.next());
+				iterator.remove();
+			}
+		}
+		evicted.forEach(PreparedStatementCache::closeQuietly);
+	}
+
+	private static void closeQuietly(PreparedStatement statement) {
+		try {
+			statement.close();
+		} catch (SQLException e) {
+			log.warn("Failed to close cached statement: {}", e.getMessage());
+		}
+	}
+
+	private static final class Key {
+		private final Connection connection;
+		private final String sql;
+
+		Key(Connection connection, String sql) {
+			this.connection = connection;
+			this.sql = sql;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			final Key other = (Key)o;
+			return connection == other.connection && sql.equals(other.sql);
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(connection) * 31 + sql.hashCode();
+		}
+	}
+
+	private static final class CachedStatementHandler implements InvocationHandler {
+		private final PreparedStatementCache cache;
+		private final Key key;
+		private final PreparedStatement statement;
+		private boolean released = false;
+
+		CachedStatementHandler(PreparedStatementCache cache, Key key, PreparedStatement statement) {
+			this.cache = cache;
+			this.key = key;
+			this.statement = statement;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+			case "close":
+				if (!released) {
+					released = true;
+					cache.release(key, statement);
+				}
+				return null;
+			case "isClosed":
+				return released || statement.isClosed();
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "toString":
+				return "Cached" + statement;
+			default:
+				if (released) {
+					throw new SQLException("Statement is closed");
+				}
+				try {
+					return method.invoke(statement, args);
+				} catch (InvocationTargetException e) {
+					throw e.getCause();
+				}
+			}
+		}
+	}
+}
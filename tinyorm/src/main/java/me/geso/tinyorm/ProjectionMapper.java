@@ -0,0 +1,243 @@
+package me.geso.tinyorm;
+
+import java.beans.ConstructorProperties;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import me.geso.tinyorm.trigger.Inflater;
+
+/**
+ * Maps the current row of a {@link ResultSet} to a projection: an interface
+ * with getters, or a class with a constructor. No {@link Row} is built.
+ * <p>
+ * A column is inflated like the row class does, if the inflated type fits the
+ * target type. Otherwise the raw JDBC value is passed, e.g. JSON text for a
+ * {@code String} parameter. Numbers are converted to the target types by
+ * {@link ParameterTypes}.
+ */
+abstract class ProjectionMapper<R> {
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+	abstract R map(ResultSet rs) throws SQLException;
+
+	static <R> ProjectionMapper<R> create(Class<R> targetClass, TableMeta<?> tableMeta, List<String> columnLabels) {
+		if (targetClass.isInterface()) {
+			return new InterfaceMapper<>(targetClass, tableMeta, columnLabels);
+		}
+		return ConstructorMapper.create(targetClass, tableMeta, columnLabels);
+	}
+
+	private static Inflater inflaterFor(TableMeta<?> tableMeta, String columnLabel, Class<?> targetType) {
+		final PropertyDescriptor propertyDescriptor = tableMeta.getPropertyDescriptor(columnLabel);
+		if (propertyDescriptor == null
+			|| !box(targetType).isAssignableFrom(box(propertyDescriptor.getPropertyType()))) {
+			return null;
+		}
+		return tableMeta.composeInflater(columnLabel);
+	}
+
+	private static Class<?> box(Class<?> type) {
+		if (!type.isPrimitive()) {
+			return type;
+		}
+		return MethodType.methodType(type).wrap().returnType();
+	}
+
+	private static Object[] read(ResultSet rs, int[] columns, Inflater[] inflaters, ParameterTypes types,
+			Class<?> targetClass, List<String> columnLabels) throws SQLException {
+		final Object[] values = new Object[columns.length];
+		for (int i = 0; i < columns.length; ++i) {
+			final Object value = rs.getObject(columns[i] + 1);
+			values[i] = inflaters[i] == null ? value : inflaters[i].inflate(value);
+		}
+		final int mismatch = types.convert(values);
+		if (mismatch >= 0) {
+			throw new IllegalArgumentException("Can't map " + columnLabels.get(columns[mismatch]) + " to "
+				+ targetClass.getName() + ": " + values[mismatch]);
+		}
+		return values;
+	}
+
+	/**
+	 * Implements getters by a proxy. {@code getFooBar()} and
+	 * {@code isFooBar()} return the {@code fooBar} column, or the column
+	 * mapped to the {@code fooBar} property of the row class.
+	 */
+	private static class InterfaceMapper<R> extends ProjectionMapper<R> {
+		private final Class<R> targetClass;
+		private final List<String> columnLabels;
+		private final int[] columns;
+		private final Inflater[] inflaters;
+		private final ParameterTypes returnTypes;
+		// getter -> index of values
+		private final Map<Method, Integer> getters = new HashMap<>();
+
+		InterfaceMapper(Class<R> targetClass, TableMeta<?> tableMeta, List<String> columnLabels) {
+			this.targetClass = targetClass;
+			this.columnLabels = columnLabels;
+			final Method[] methods = Arrays.stream(targetClass.getMethods())
+				.filter(method -> !method.isDefault() && !Modifier.isStatic(method.getModifiers()))
+				.toArray(Method[]::new);
+			this.columns = new int[methods.length];
+			this.inflaters = new Inflater[methods.length];
+			for (int i = 0; i < methods.length; ++i) {
+				final Method method = methods[i];
+				final String property = propertyName(method);
+				final int column = property == null ? -1 : indexOf(tableMeta, columnLabels, property);
+				if (column < 0) {
+					throw new IllegalArgumentException("No column for " + targetClass.getName() + "#"
+						+ method.getName() + " in " + columnLabels);
+				}
+				columns[i] = column;
+				inflaters[i] = inflaterFor(tableMeta, columnLabels.get(column), method.getReturnType());
+				getters.put(method, i);
+			}
+			this.returnTypes = new ParameterTypes(Arrays.stream(methods)
+				.map(Method::getReturnType)
+				.toArray(Class<?>[]::new));
+		}
+
+		private static String propertyName(Method method) {
+			if (method.getParameterCount() != 0) {
+				return null;
+			}
+			final String name = method.getName();
+			if (name.startsWith("get") && name.length() > 3) {
+				return Introspector.decapitalize(name.substring(3));
+			} else if (name.startsWith("is") && name.length() > 2) {
+				return Introspector.decapitalize(name.substring(2));
+			}
+			return null;
+		}
+
+		private static int indexOf(TableMeta<?> tableMeta, List<String> columnLabels, String property) {
+			for (int i = 0; i < columnLabels.size(); ++i) {
+				final PropertyDescriptor propertyDescriptor = tableMeta.getPropertyDescriptor(columnLabels.get(i));
+				if (columnLabels.get(i).equals(property)
+					|| (propertyDescriptor != null && propertyDescriptor.getName().equals(property))) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		@Override
+		R map(ResultSet rs) throws SQLException {
+			final Object[] values = read(rs, columns, inflaters, returnTypes, targetClass, columnLabels);
+			final InvocationHandler handler = (proxy, method, args) -> {
+				final Integer index = getters.get(method);
+				if (index != null) {
+					return values[index];
+				}
+				switch (method.getName()) {
+				case "equals":
+					return proxy == args[0];
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				case "toString":
+					return targetClass.getSimpleName() + Arrays.toString(values);
+				default:
+					throw new UnsupportedOperationException(method.toString());
+				}
+			};
+			return targetClass.cast(Proxy.newProxyInstance(targetClass.getClassLoader(),
+				new Class<?>[] {targetClass}, handler));
+		}
+	}
+
+	/**
+	 * Calls the {@code @ConstructorProperties} constructor by column names,
+	 * or the constructor that takes the columns in select order.
+	 */
+	private static class ConstructorMapper<R> extends ProjectionMapper<R> {
+		private final Class<R> targetClass;
+		private final MethodHandle constructor;
+		private final ParameterTypes parameterTypes;
+		private final int[] columns;
+		private final Inflater[] inflaters;
+		private final List<String> columnLabels;
+
+		private ConstructorMapper(Class<R> targetClass, MethodHandle constructor, ParameterTypes parameterTypes,
+				int[] columns, Inflater[] inflaters, List<String> columnLabels) {
+			this.targetClass = targetClass;
+			this.constructor = constructor;
+			this.parameterTypes = parameterTypes;
+			this.columns = columns;
+			this.inflaters = inflaters;
+			this.columnLabels = columnLabels;
+		}
+
+		static <R> ConstructorMapper<R> create(Class<R> targetClass, TableMeta<?> tableMeta,
+				List<String> columnLabels) {
+			Constructor<?> positional = null;
+			for (Constructor<?> constructor : targetClass.getDeclaredConstructors()) {
+				final ConstructorProperties properties = constructor.getAnnotation(ConstructorProperties.class);
+				if (properties != null && columnLabels.containsAll(Arrays.asList(properties.value()))) {
+					final int[] columns = Arrays.stream(properties.value()).mapToInt(columnLabels::indexOf).toArray();
+					return create(targetClass, tableMeta, columnLabels, constructor, columns);
+				}
+				if (constructor.getParameterCount() == columnLabels.size()) {
+					if (positional != null) {
+						throw new IllegalArgumentException("Ambiguous constructors of " + targetClass.getName()
+							+ " for " + columnLabels + ". Add @ConstructorProperties.");
+					}
+					positional = constructor;
+				}
+			}
+			if (positional == null) {
+				throw new IllegalArgumentException("No constructor of " + targetClass.getName()
+					+ " for " + columnLabels);
+			}
+			final int[] columns = new int[columnLabels.size()];
+			for (int i = 0; i < columns.length; ++i) {
+				columns[i] = i;
+			}
+			return create(targetClass, tableMeta, columnLabels, positional, columns);
+		}
+
+		private static <R> ConstructorMapper<R> create(Class<R> targetClass, TableMeta<?> tableMeta,
+				List<String> columnLabels, Constructor<?> constructor, int[] columns) {
+			final Class<?>[] parameterTypes = constructor.getParameterTypes();
+			final Inflater[] inflaters = new Inflater[columns.length];
+			for (int i = 0; i < columns.length; ++i) {
+				inflaters[i] = inflaterFor(tableMeta, columnLabels.get(columns[i]), parameterTypes[i]);
+			}
+			try {
+				constructor.setAccessible(true);
+				final MethodHandle handle = LOOKUP.unreflectConstructor(constructor)
+					.asSpreader(Object[].class, parameterTypes.length)
+					.asType(MethodType.methodType(Object.class, Object[].class));
+				return new ConstructorMapper<>(targetClass, handle, new ParameterTypes(parameterTypes),
+					columns, inflaters, columnLabels);
+			} catch (IllegalAccessException e) {
+				throw new RuntimeException(e);
+			}
+		}
+
+		@Override
+		R map(ResultSet rs) throws SQLException {
+			final Object[] values = read(rs, columns, inflaters, parameterTypes, targetClass, columnLabels);
+			try {
+				return targetClass.cast((Object)constructor.invokeExact(values));
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new RuntimeException(e);
+			}
+		}
+	}
+}
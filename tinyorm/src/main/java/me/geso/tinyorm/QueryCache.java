@@ -0,0 +1,188 @@
+package me.geso.tinyorm;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import me.geso.jdbcutils.Query;
+
+/**
+ * Process-wide cache of query results, used by
+ * {@link ListSelectStatement#cached(Duration)} and
+ * {@link SelectCountStatement#cached(Duration)}.
+ * <p>
+ * Results are cached by the rendered SQL and parameters, until the time to
+ * live passes or the table is written through any {@link TinyORM}. Writes by
+ * {@code updateBySQL} or by other processes don't invalidate results.
+ * Results are neither used nor cached in transactions.
+ * <p>
+ * The least recently used result is evicted when the cache has
+ * {@link #setMaxSize(int) maxSize} results.
+ */
+public final class QueryCache {
+	private static final Map<Key, Entry> ENTRIES = new LinkedHashMap<>(16, 0.75f, true);
+	// table name -> the number of invalidations
+	private static final ConcurrentHashMap<String, AtomicLong> GENERATIONS = new ConcurrentHashMap<>();
+	private static final AtomicLong HIT_COUNT = new AtomicLong();
+	private static final AtomicLong MISS_COUNT = new AtomicLong();
+	private static final AtomicLong EVICTION_COUNT = new AtomicLong();
+	private static int maxSize = 10000;
+
+	private QueryCache() {
+	}
+
+	/**
+	 * Set the maximum number of cached results. Default value is 10000.
+	 *
+	 * @param maxSize the number of results
+	 */
+	public static void setMaxSize(int maxSize) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+		}
+		synchronized (ENTRIES) {
+			QueryCache.maxSize = maxSize;
+			evictEldest();
+		}
+	}
+
+	/**
+	 * Drop all cached results.
+	 */
+	public static void invalidateAll() {
+		GENERATIONS.values().forEach(AtomicLong::incrementAndGet);
+		synchronized (ENTRIES) {
+			ENTRIES.clear();
+		}
+	}
+
+	/**
+	 * @return The number of results found in the cache.
+	 */
+	public static long getHitCount() {
+		return HIT_COUNT.get();
+	}
+
+	/**
+	 * @return The number of queries sent because the result wasn't in the
+	 *         cache, or it's expired or invalidated.
+	 */
+	public static long getMissCount() {
+		return MISS_COUNT.get();
+	}
+
+	/**
+	 * @return The number of results dropped because the cache was full, or
+	 *         they were expired or invalidated.
+	 */
+	public static long getEvictionCount() {
+		return EVICTION_COUNT.get();
+	}
+
+	/**
+	 * Take a stamp before running the query to {@link #put}.
+	 */
+	static long stamp(String tableName) {
+		return GENERATIONS.computeIfAbsent(tableName, key -> new AtomicLong()).get();
+	}
+
+	/**
+	 * @return The cached result, or null.
+	 */
+	static Object get(Class<?> klass, String tableName, Query query) {
+		final Key key = new Key(klass, tableName, query);
+		final long generation = stamp(tableName);
+		synchronized (ENTRIES) {
+			final Entry entry = ENTRIES.get(key);
+			if (entry != null) {
+				if (entry.generation == generation && System.nanoTime() - entry.expiresAt < 0) {
+					HIT_COUNT.incrementAndGet();
+					return entry.value;
+				}
+				ENTRIES.remove(key);
+				EVICTION_COUNT.incrementAndGet();
+			}
+		}
+		MISS_COUNT.incrementAndGet();
+		return null;
+	}
+
+	/**
+	 * Cache the result. It's never used if the table is written after the
+	 * stamp is taken.
+	 */
+	static void put(Class<?> klass, String tableName, Query query, Object value, long stamp, Duration ttl) {
+		final Entry entry = new Entry(value, stamp, System.nanoTime() + ttl.toNanos());
+		synchronized (ENTRIES) {
+			ENTRIES.put(new Key(klass, tableName, query), entry);
+			evictEldest();
+		}
+	}
+
+	/**
+	 * Drop the results for the table.
+	 */
+	static void invalidate(String tableName) {
+		final AtomicLong generation = GENERATIONS.get(tableName);
+		if (generation != null) {
+			// Stale entries are dropped by get() or by LRU.
+			generation.incrementAndGet();
+		}
+	}
+
+	private static void evictEldest() {
+		final Iterator<Key> iterator = ENTRIES.keySet().iterator();
+		for (int size = ENTRIES.size(); size > maxSize; --size) {
+			iterator.next();
+			iterator.remove();
+			EVICTION_COUNT.incrementAndGet();
+		}
+	}
+
+	private static final class Key {
+		// Row classes of the same table may inflate columns differently.
+		private final Class<?> klass;
+		private final String tableName;
+		private final String sql;
+		private final List<Object> params;
+
+		Key(Class<?> klass, String tableName, Query query) {
+			this.klass = klass;
+			this.tableName = tableName;
+			this.sql = query.getSQL();
+			this.params = new ArrayList<>(query.getParameters());
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			final Key other = (Key)o;
+			return klass == other.klass && tableName.equals(other.tableName) && sql.equals(other.sql)
+				&& params.equals(other.params);
+		}
+
+		@Override
+		public int hashCode() {
+			return ((klass.hashCode() * 31 + tableName.hashCode()) * 31 + sql.hashCode()) * 31 + params.hashCode();
+		}
+	}
+
+	private static final class Entry {
+		private final Object value;
+		private final long generation;
+		private final long expiresAt;
+
+		Entry(Object value, long generation, long expiresAt) {
+			this.value = value;
+			this.generation = generation;
+			this.expiresAt = expiresAt;
+		}
+	}
+}
@@ -3,31 +3,58 @@ package me.geso.tinyorm;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Spliterator;
-import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import me.geso.jdbcutils.RichSQLException;
 
 public class ResultSetIterator<T> implements AutoCloseable, Iterator<T> {
+    private static final int DEFAULT_BATCH_SIZE = 1024;
+
     private final PreparedStatement preparedStatement;
     private final ResultSet resultSet;
     private final String query;
     private final List<Object> params;
     private final ResultSetIteratorCallback<T> callback;
+    private final Function<Object[], T> valuesMapper;
+    private final int batchSize;
+    // true if resultSet is moved by hasNext() and next() doesn't take the row yet.
+    private boolean fetched;
     private boolean existsNext;
 
     public ResultSetIterator(PreparedStatement preparedStatement, ResultSet resultSet, String query,
                              List<Object> params, ResultSetIteratorCallback<T> callback) {
+        this(preparedStatement, resultSet, query, params, callback, null, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Create an iterator whose stream can run in parallel.
+     *
+     * @param valuesMapper Maps the column values of a row, in column order. When the stream is split, rows are
+     *                     read into arrays of {@code batchSize} on the thread that holds the cursor, and mapped by
+     *                     this function on the worker threads.
+     * @param batchSize    The number of rows in a split.
+     */
+    public ResultSetIterator(PreparedStatement preparedStatement, ResultSet resultSet, String query,
+                             List<Object> params, ResultSetIteratorCallback<T> callback,
+                             Function<Object[], T> valuesMapper, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
         this.preparedStatement = preparedStatement;
         this.resultSet = resultSet;
         this.query = query;
         this.params = params;
         this.callback = callback;
+        this.valuesMapper = valuesMapper;
+        this.batchSize = batchSize;
     }
 
     @Override
@@ -42,19 +69,23 @@ public class ResultSetIterator<T> implements AutoCloseable, Iterator<T> {
 
     @Override
     public boolean hasNext() {
-        try {
-            this.existsNext = this.resultSet.next();
-            return existsNext;
-        } catch (SQLException e) {
-            throw new RuntimeException(new RichSQLException(e, query, params));
+        if (!this.fetched) {
+            try {
+                this.existsNext = this.resultSet.next();
+            } catch (SQLException e) {
+                throw new RuntimeException(new RichSQLException(e, query, params));
+            }
+            this.fetched = true;
         }
+        return this.existsNext;
     }
 
     @Override
     public T next() {
-        if (!this.existsNext) {
+        if (!this.hasNext()) {
             throw new NoSuchElementException();
         }
+        this.fetched = false;
 
         try {
             return callback.apply(this.resultSet);
@@ -63,10 +94,30 @@ public class ResultSetIterator<T> implements AutoCloseable, Iterator<T> {
         }
     }
 
+    /**
+     * Read the column values of the following rows, up to {@code batchSize}.
+     */
+    private Object[][] nextValues() {
+        try {
+            final int columnCount = this.resultSet.getMetaData().getColumnCount();
+            Object[][] rows = new Object[batchSize][];
+            int size = 0;
+            while (size < batchSize && this.hasNext()) {
+                this.fetched = false;
+                final Object[] values = new Object[columnCount];
+                for (int i = 0; i < columnCount; ++i) {
+                    values[i] = this.resultSet.getObject(i + 1);
+                }
+                rows[size++] = values;
+            }
+            return size == batchSize ? rows : Arrays.copyOf(rows, size);
+        } catch (SQLException e) {
+            throw new RuntimeException(new RichSQLException(e, query, params));
+        }
+    }
+
     public Stream<T> toStream() {
-        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(
-                this, Spliterator.NONNULL | Spliterator.ORDERED | Spliterator.SIZED);
-        final Stream<T> stream = StreamSupport.stream(spliterator, false);
+        final Stream<T> stream = StreamSupport.stream(new BatchSpliterator(), false);
         stream.onClose(() -> {
             try {
                 this.close();
@@ -76,4 +127,79 @@ public class ResultSetIterator<T> implements AutoCloseable, Iterator<T> {
         });
         return stream;
     }
+
+    /**
+     * Reads rows from the cursor. {@link #trySplit()} hands out arrays of
+     * column values, so rows are mapped in parallel while only one thread
+     * moves the cursor.
+     */
+    private class BatchSpliterator implements Spliterator<T> {
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (!hasNext()) {
+                return false;
+            }
+            action.accept(next());
+            return true;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            if (valuesMapper == null) {
+                // The callback needs the cursor.
+                return null;
+            }
+            final Object[][] rows = nextValues();
+            if (rows.length == 0) {
+                return null;
+            }
+            return new MappingSpliterator<>(Arrays.spliterator(rows), valuesMapper);
+        }
+
+        @Override
+        public long estimateSize() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.NONNULL;
+        }
+    }
+
+    private static class MappingSpliterator<T> implements Spliterator<T> {
+        private final Spliterator<Object[]> source;
+        private final Function<Object[], T> mapper;
+
+        MappingSpliterator(Spliterator<Object[]> source, Function<Object[], T> mapper) {
+            this.source = source;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            return source.tryAdvance(values -> action.accept(mapper.apply(values)));
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            source.forEachRemaining(values -> action.accept(mapper.apply(values)));
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            final Spliterator<Object[]> prefix = source.trySplit();
+            return prefix == null ? null : new MappingSpliterator<>(prefix, mapper);
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
 }
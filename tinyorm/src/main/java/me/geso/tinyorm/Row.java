@@ -31,7 +31,8 @@ public abstract class Row<T extends Row<?>> {
 	 */
 	@SuppressWarnings("unchecked")
 	public Optional<T> refetch() {
-		return refetch(orm.getReadConnection());
+		checkORM();
+		return orm.refetch((T)this);
 	}
 
 	/**
@@ -104,4 +105,8 @@ public abstract class Row<T extends Row<?>> {
 		return Collections.unmodifiableMap(this.extraColumns);
 	}
 
+	void removeExtraColumn(String columnName) {
+		this.extraColumns.remove(columnName);
+	}
+
 }
@@ -0,0 +1,449 @@
+package me.geso.tinyorm;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import me.geso.tinyorm.exception.ConstructorIllegalArgumentException;
+import me.geso.tinyorm.trigger.Inflater;
+
+/**
+ * Maps the current row of a {@link ResultSet} to a row object.
+ * <p>
+ * A mapper is bound to one row class and one column label layout. The
+ * constructor and setters are resolved as {@link MethodHandle}s at first use,
+ * together with the composed inflater of each column. Mapping a row is
+ * index-only: it doesn't go through {@code Constructor#newInstance},
+ * {@code Method#invoke} or any per-column {@code HashMap} lookup.
+ * <p>
+ * If the handles can't be bound, the reflective {@code RowBuilder} in
+ * {@link TableMeta} is used for the layout. Values are converted to the
+ * parameter types by {@link ParameterTypes} before the constructor and the
+ * setters are called, so a value that doesn't fit is reported without calling
+ * them, and exceptions thrown by them propagate as they are.
+ */
+abstract class RowMapper<T extends Row<?>> {
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+	/**
+	 * @param writeConnection true if the result set is read from the write
+	 *        connection. Unselected {@code @Lazy} columns are loaded from it.
+	 */
+	abstract T map(ResultSet rs, TinyORM orm, boolean writeConnection) throws SQLException;
+
+	/**
+	 * Map the values that would be in the result set, in column label order.
+	 * It's used to build a row without selecting it from the database.
+	 */
+	abstract T mapValues(Object[] values, TinyORM orm);
+
+	/**
+	 * Map the values that are inflated already, in column label order. It's
+	 * used to build a row from the shared row cache.
+	 */
+	abstract T mapInflatedValues(Object[] values, TinyORM orm);
+
+	/**
+	 * Create a mapper that calls the {@code @ConstructorProperties}
+	 * constructor.
+	 */
+	static <T extends Row<?>> RowMapper<T> forConstructor(
+			final Class<T> klass,
+			final TableMeta<T> tableMeta,
+			final List<String> columnLabels,
+			final Constructor<?> constructor,
+			final String[] parameterNames) throws IllegalAccessException {
+		final int[] slots = new int[columnLabels.size()];
+		for (int i = 0; i < slots.length; ++i) {
+			slots[i] = -1;
+			for (int j = 0; j < parameterNames.length; ++j) {
+				if (parameterNames[j].equals(columnLabels.get(i))) {
+					slots[i] = j;
+				}
+			}
+		}
+
+		constructor.setAccessible(true);
+		final MethodHandle handle = LOOKUP.unreflectConstructor(constructor)
+			.asSpreader(Object[].class, parameterNames.length)
+			.asType(MethodType.methodType(Object.class, Object[].class));
+		return new ConstructorRowMapper<>(klass, tableMeta, columnLabels, handle,
+			slots, constructor, parameterNames);
+	}
+
+	/**
+	 * Create a mapper that calls the default constructor and the setters.
+	 */
+	static <T extends Row<?>> RowMapper<T> forSetters(
+			final Class<T> klass,
+			final TableMeta<T> tableMeta,
+			final List<String> columnLabels) throws ReflectiveOperationException {
+		final Constructor<T> constructor = klass.getDeclaredConstructor();
+		constructor.setAccessible(true);
+		final MethodHandle newInstance = LOOKUP.unreflectConstructor(constructor)
+			.asType(MethodType.methodType(Object.class));
+
+		final MethodType setterType = MethodType.methodType(void.class, Object.class, Object.class);
+		final MethodHandle[] setters = new MethodHandle[columnLabels.size()];
+		final Class<?>[] setterTypes = new Class<?>[setters.length];
+		for (int i = 0; i < setters.length; ++i) {
+			final PropertyDescriptor propertyDescriptor = tableMeta.getPropertyDescriptor(columnLabels.get(i));
+			if (propertyDescriptor == null) {
+				continue; // extra column
+			}
+			final Method writeMethod = propertyDescriptor.getWriteMethod();
+			if (writeMethod == null) {
+				throw new NoSuchMethodException("There is no writer method: "
+					+ tableMeta.getName() + "." + propertyDescriptor.getName());
+			}
+			setters[i] = LOOKUP.unreflect(writeMethod).asType(setterType);
+			setterTypes[i] = writeMethod.getParameterTypes()[0];
+		}
+		final String[] lazyColumns = unselectedLazyColumns(tableMeta, columnLabels).toArray(new String[0]);
+		final MethodHandle[] lazySetters = new MethodHandle[lazyColumns.length];
+		for (int i = 0; i < lazySetters.length; ++i) {
+			final Method writeMethod = tableMeta.getPropertyDescriptor(lazyColumns[i]).getWriteMethod();
+			if (writeMethod == null) {
+				throw new NoSuchMethodException("There is no writer method: "
+					+ tableMeta.getName() + "." + lazyColumns[i]);
+			}
+			lazySetters[i] = LOOKUP.unreflect(writeMethod).asType(setterType);
+		}
+		return new SetterRowMapper<>(klass, tableMeta, columnLabels, newInstance, setters,
+			new ParameterTypes(setterTypes), lazySetters, lazyColumns);
+	}
+
+	/**
+	 * Create a mapper that always uses the reflective row builder.
+	 */
+	static <T extends Row<?>> RowMapper<T> forRowBuilder(
+			final Class<T> klass,
+			final TableMeta<T> tableMeta,
+			final List<String> columnLabels) {
+		return new RowBuilderRowMapper<>(klass, tableMeta, columnLabels);
+	}
+
+	private static <T extends Row<?>> Inflater[] composeInflaters(
+			final TableMeta<T> tableMeta, final List<String> columnLabels) {
+		final Inflater[] inflaters = new Inflater[columnLabels.size()];
+		for (int i = 0; i < inflaters.length; ++i) {
+			inflaters[i] = tableMeta.composeInflater(columnLabels.get(i));
+		}
+		return inflaters;
+	}
+
+	/**
+	 * @return {@code @Lazy} columns that aren't in the column labels. They
+	 *         are fetched on first access.
+	 */
+	private static List<String> unselectedLazyColumns(
+			final TableMeta<?> tableMeta, final List<String> columnLabels) {
+		final List<String> lazyColumns = new ArrayList<>(tableMeta.getLazyColumnNames());
+		lazyColumns.removeAll(columnLabels);
+		return lazyColumns;
+	}
+
+	private static boolean[] jsonColumns(
+			final TableMeta<?> tableMeta, final List<String> columnLabels) {
+		final boolean[] jsonColumns = new boolean[columnLabels.size()];
+		for (int i = 0; i < jsonColumns.length; ++i) {
+			jsonColumns[i] = tableMeta.isJsonColumn(columnLabels.get(i));
+		}
+		return jsonColumns;
+	}
+
+	/**
+	 * @param streamingRead {@link JsonColumnConfig#isStreamingRead()}, read
+	 *        once per row
+	 */
+	private static Object getObject(final ResultSet rs, final boolean[] jsonColumns,
+			final boolean streamingRead, final int i) throws SQLException {
+		return streamingRead && jsonColumns[i] ? rs.getBinaryStream(i + 1) : rs.getObject(i + 1);
+	}
+
+	private static Object inflate(final Inflater inflater, final Object value) {
+		return inflater == null ? value : inflater.inflate(value);
+	}
+
+	private static RuntimeException rethrow(final Throwable e) {
+		if (e instanceof RuntimeException) {
+			return (RuntimeException)e;
+		}
+		if (e instanceof Error) {
+			throw (Error)e;
+		}
+		return new RuntimeException(e);
+	}
+
+	private static class ConstructorRowMapper<T extends Row<?>> extends RowMapper<T> {
+		private final Class<T> klass;
+		private final TableMeta<T> tableMeta;
+		private final String[] columnLabels;
+		private final Inflater[] inflaters;
+		// column index -> @JsonColumn, read by getBinaryStream if streaming read is on
+		private final boolean[] jsonColumns;
+		private final MethodHandle constructor;
+		// column index -> constructor parameter index, or -1 for extra columns.
+		private final int[] slots;
+		private final Constructor<?> reflectedConstructor;
+		private final String[] parameterNames;
+		private final ParameterTypes parameterTypes;
+		// constructor parameter indexes and names of unselected @Lazy columns
+		private final int[] lazyParameters;
+		private final String[] lazyColumns;
+
+		ConstructorRowMapper(Class<T> klass, TableMeta<T> tableMeta,
+				List<String> columnLabels, MethodHandle constructor,
+				int[] slots, Constructor<?> reflectedConstructor,
+				String[] parameterNames) {
+			this.klass = klass;
+			this.tableMeta = tableMeta;
+			this.columnLabels = columnLabels.toArray(new String[columnLabels.size()]);
+			this.inflaters = composeInflaters(tableMeta, columnLabels);
+			this.jsonColumns = jsonColumns(tableMeta, columnLabels);
+			this.constructor = constructor;
+			this.slots = slots;
+			this.reflectedConstructor = reflectedConstructor;
+			this.parameterNames = parameterNames;
+			this.parameterTypes = new ParameterTypes(reflectedConstructor.getParameterTypes());
+			this.lazyColumns = unselectedLazyColumns(tableMeta, columnLabels).stream()
+				.filter(it -> Arrays.asList(parameterNames).contains(it))
+				.toArray(String[]::new);
+			this.lazyParameters = Arrays.stream(this.lazyColumns)
+				.mapToInt(it -> Arrays.asList(parameterNames).indexOf(it))
+				.toArray();
+		}
+
+		@Override
+		T map(final ResultSet rs, final TinyORM orm, final boolean writeConnection) throws SQLException {
+			final Object[] initargs = new Object[parameterNames.length];
+			Object[] extraValues = null;
+			final boolean streamingRead = JsonColumnConfig.isStreamingRead();
+			for (int i = 0; i < slots.length; ++i) {
+				extraValues = this.put(initargs, extraValues, i, getObject(rs, jsonColumns, streamingRead, i));
+			}
+			return this.newRowFromValues(initargs, extraValues, orm, writeConnection);
+		}
+
+		@Override
+		T mapValues(final Object[] values, final TinyORM orm) {
+			final Object[] initargs = new Object[parameterNames.length];
+			Object[] extraValues = null;
+			for (int i = 0; i < slots.length; ++i) {
+				extraValues = this.put(initargs, extraValues, i, values[i]);
+			}
+			return this.newRowFromValues(initargs, extraValues, orm, false);
+		}
+
+		@Override
+		T mapInflatedValues(final Object[] values, final TinyORM orm) {
+			final Object[] initargs = new Object[parameterNames.length];
+			Object[] extraValues = null;
+			for (int i = 0; i < slots.length; ++i) {
+				extraValues = this.store(initargs, extraValues, i, values[i]);
+			}
+			return this.newRowFromValues(initargs, extraValues, orm, false);
+		}
+
+		private T newRowFromValues(final Object[] initargs, final Object[] extraValues,
+				final TinyORM orm, final boolean writeConnection) {
+			if (parameterTypes.convert(initargs) >= 0) {
+				throw new ConstructorIllegalArgumentException(new IllegalArgumentException("argument type mismatch"),
+					klass, reflectedConstructor, parameterNames, initargs);
+			}
+			return this.newRow(initargs, extraValues, orm, writeConnection);
+		}
+
+		private Object[] put(final Object[] initargs, final Object[] extraValues,
+				final int i, final Object rawValue) {
+			return this.store(initargs, extraValues, i, inflate(inflaters[i], rawValue));
+		}
+
+		private Object[] store(final Object[] initargs, final Object[] extraValues,
+				final int i, final Object value) {
+			if (slots[i] >= 0) {
+				initargs[slots[i]] = value;
+				return extraValues;
+			}
+			final Object[] extras = extraValues == null ? new Object[slots.length] : extraValues;
+			extras[i] = value;
+			return extras;
+		}
+
+		private T newRow(final Object[] initargs, final Object[] extraValues,
+				final TinyORM orm, final boolean writeConnection) {
+			for (int lazyParameter : lazyParameters) {
+				initargs[lazyParameter] = new LazyColumn<>();
+			}
+			final Object instance;
+			try {
+				instance = (Object)constructor.invokeExact(initargs);
+			} catch (Throwable e) {
+				throw rethrow(e);
+			}
+
+			final T row = klass.cast(instance);
+			for (int i = 0; i < lazyParameters.length; ++i) {
+				LazyLoader.bind(orm, tableMeta, lazyColumns[i], row, (LazyColumn<?>)initargs[lazyParameters[i]],
+					writeConnection);
+			}
+			if (extraValues != null) {
+				for (int i = 0; i < slots.length; ++i) {
+					if (slots[i] < 0) {
+						row.setExtraColumn(columnLabels[i], extraValues[i]);
+					}
+				}
+			}
+			row.setOrm(orm);
+			return row;
+		}
+	}
+
+	private static class SetterRowMapper<T extends Row<?>> extends RowMapper<T> {
+		private final Class<T> klass;
+		private final TableMeta<T> tableMeta;
+		private final String[] columnLabels;
+		private final Inflater[] inflaters;
+		// column index -> @JsonColumn, read by getBinaryStream if streaming read is on
+		private final boolean[] jsonColumns;
+		private final MethodHandle newInstance;
+		// column index -> setter, or null for extra columns.
+		private final MethodHandle[] setters;
+		private final ParameterTypes setterTypes;
+		// setters and names of unselected @Lazy columns
+		private final MethodHandle[] lazySetters;
+		private final String[] lazyColumns;
+
+		SetterRowMapper(Class<T> klass, TableMeta<T> tableMeta,
+				List<String> columnLabels, MethodHandle newInstance,
+				MethodHandle[] setters, ParameterTypes setterTypes, MethodHandle[] lazySetters,
+				String[] lazyColumns) {
+			this.klass = klass;
+			this.tableMeta = tableMeta;
+			this.columnLabels = columnLabels.toArray(new String[columnLabels.size()]);
+			this.inflaters = composeInflaters(tableMeta, columnLabels);
+			this.jsonColumns = jsonColumns(tableMeta, columnLabels);
+			this.newInstance = newInstance;
+			this.setters = setters;
+			this.setterTypes = setterTypes;
+			this.lazySetters = lazySetters;
+			this.lazyColumns = lazyColumns;
+		}
+
+		@Override
+		T map(final ResultSet rs, final TinyORM orm, final boolean writeConnection) throws SQLException {
+			final Object[] values = new Object[setters.length];
+			final boolean streamingRead = JsonColumnConfig.isStreamingRead();
+			for (int i = 0; i < values.length; ++i) {
+				values[i] = inflate(inflaters[i], getObject(rs, jsonColumns, streamingRead, i));
+			}
+			return this.newRowFromValues(values, orm, writeConnection);
+		}
+
+		@Override
+		T mapValues(final Object[] values, final TinyORM orm) {
+			final Object[] inflated = new Object[setters.length];
+			for (int i = 0; i < inflated.length; ++i) {
+				inflated[i] = inflate(inflaters[i], values[i]);
+			}
+			return this.mapInflatedValues(inflated, orm);
+		}
+
+		@Override
+		T mapInflatedValues(final Object[] values, final TinyORM orm) {
+			return this.newRowFromValues(values, orm, false);
+		}
+
+		private T newRowFromValues(final Object[] values, final TinyORM orm, final boolean writeConnection) {
+			final int mismatch = setterTypes.convert(values);
+			if (mismatch >= 0) {
+				throw new IllegalArgumentException("Can't set " + values[mismatch] + " to "
+					+ tableMeta.getName() + "." + columnLabels[mismatch] + " of " + klass.getName());
+			}
+			return this.newRow(values, orm, writeConnection);
+		}
+
+		private T newRow(final Object[] values, final TinyORM orm, final boolean writeConnection) {
+			final T row = this.instantiate();
+			for (int i = 0; i < setters.length; ++i) {
+				this.store(row, i, values[i]);
+			}
+			this.bindLazyColumns(row, orm, writeConnection);
+			row.setOrm(orm);
+			return row;
+		}
+
+		private void bindLazyColumns(final T row, final TinyORM orm, final boolean writeConnection) {
+			for (int i = 0; i < lazySetters.length; ++i) {
+				final LazyColumn<?> lazyColumn = new LazyColumn<>();
+				try {
+					lazySetters[i].invokeExact((Object)row, (Object)lazyColumn);
+				} catch (Throwable e) {
+					throw rethrow(e);
+				}
+				LazyLoader.bind(orm, tableMeta, lazyColumns[i], row, lazyColumn, writeConnection);
+			}
+		}
+
+		private T instantiate() {
+			try {
+				return klass.cast((Object)newInstance.invokeExact());
+			} catch (Throwable e) {
+				throw rethrow(e);
+			}
+		}
+
+		private void store(final T row, final int i, final Object value) {
+			if (setters[i] != null) {
+				try {
+					setters[i].invokeExact((Object)row, value);
+				} catch (Throwable e) {
+					throw rethrow(e);
+				}
+			} else {
+				row.setExtraColumn(columnLabels[i], value);
+			}
+		}
+	}
+
+	private static class RowBuilderRowMapper<T extends Row<?>> extends RowMapper<T> {
+		private final Class<T> klass;
+		private final TableMeta<T> tableMeta;
+		private final List<String> columnLabels;
+		private final Inflater[] inflaters;
+
+		RowBuilderRowMapper(Class<T> klass, TableMeta<T> tableMeta, List<String> columnLabels) {
+			this.klass = klass;
+			this.tableMeta = tableMeta;
+			this.columnLabels = columnLabels;
+			this.inflaters = composeInflaters(tableMeta, columnLabels);
+		}
+
+		@Override
+		T map(final ResultSet rs, final TinyORM orm, final boolean writeConnection) throws SQLException {
+			return tableMeta.buildRowReflectively(klass, rs, columnLabels, orm, writeConnection);
+		}
+
+		@Override
+		T mapValues(final Object[] values, final TinyORM orm) {
+			final Object[] inflated = new Object[values.length];
+			for (int i = 0; i < inflated.length; ++i) {
+				inflated[i] = inflate(inflaters[i], values[i]);
+			}
+			return this.mapInflatedValues(inflated, orm);
+		}
+
+		@Override
+		T mapInflatedValues(final Object[] values, final TinyORM orm) {
+			return tableMeta.buildRowReflectively(klass, values, columnLabels, orm);
+		}
+	}
+}
@@ -1,31 +1,30 @@
 package me.geso.tinyorm;
 
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import me.geso.jdbcutils.JDBCUtils;
 import me.geso.jdbcutils.Query;
 import me.geso.jdbcutils.QueryBuilder;
-import me.geso.jdbcutils.UncheckedRichSQLException;
+import me.geso.jdbcutils.ResultSetCallback;
 
 /**
  * This class represents `SELECT COUNT(*)` statement.
  */
 public class SelectCountStatement<T extends Row<?>> {
 	private final String identifierQuoteString;
-	private final String tableName;
+	private final TableMeta<T> tableMeta;
 	private final List<String> whereQuery = new ArrayList<>();
 	private final List<Object> whereParams = new ArrayList<>();
 	private final TinyORM orm;
 	private boolean forceWriteConnection = false;
+	private Duration cacheTtl;
 
 	SelectCountStatement(TableMeta<T> tableMeta, TinyORM orm) {
-		this.tableName = tableMeta.getName();
+		this.tableMeta = tableMeta;
 		this.orm = orm;
 		this.identifierQuoteString = orm.getIdentifierQuoteString();
 	}
@@ -50,37 +49,68 @@ public class SelectCountStatement<T extends Row<?>> {
 		return this;
 	}
 
+	/**
+	 * Cache the result of {@link #execute()} in the {@link QueryCache}.
+	 * The cache isn't used with {@code forceWriteConnection()} or in
+	 * transactions.
+	 *
+	 * @param ttl How long the result is used
+	 * @return Took over statement
+	 */
+	public SelectCountStatement<T> cached(Duration ttl) {
+		if (ttl.isNegative() || ttl.isZero()) {
+			throw new IllegalArgumentException("ttl must be positive: " + ttl);
+		}
+		this.cacheTtl = ttl;
+		return this;
+	}
+
 	public long execute() {
 		final Query query = this.buildQuery();
-		final String sql = query.getSQL();
-		final List<Object> params = query.getParameters();
-		try (final PreparedStatement ps = forceWriteConnection
-				? orm.prepareStatement(sql)
-				: orm.prepareStatementForRead(sql)) {
-			JDBCUtils.fillPreparedStatementParams(ps, params);
-			try (final ResultSet rs = ps.executeQuery()) {
-				if (rs.next()) {
-					return rs.getLong(1);
-				} else {
-					return 0L;
-				}
+		final boolean useCache = cacheTtl != null && !isWriteConnectionRequired() && !orm.hasActiveTransaction();
+		final long stamp = useCache ? QueryCache.stamp(tableMeta.getName()) : 0;
+		if (useCache) {
+			// The count doesn't depend on the row class.
+			final Object cached = QueryCache.get(SelectCountStatement.class, tableMeta.getName(), query);
+			if (cached != null) {
+				return (Long)cached;
 			}
-		} catch (final SQLException ex) {
-			throw new UncheckedRichSQLException(ex, sql, params);
 		}
+
+		final long count = this.count(query);
+		if (useCache) {
+			QueryCache.put(SelectCountStatement.class, tableMeta.getName(), query, count, stamp, cacheTtl);
+		}
+		return count;
+	}
+
+	private long count(final Query query) {
+		final String sql = query.getSQL();
+		final List<Object> params = query.getParameters();
+		final ResultSetCallback<Long> callback = rs -> rs.next() ? rs.getLong(1) : 0L;
+		return isWriteConnectionRequired()
+			? orm.executeQuery(sql, params, callback, orm.getConnection())
+			: orm.executeRead(sql, params, callback);
+	}
+
+	private boolean isWriteConnectionRequired() {
+		return forceWriteConnection || orm.isReadYourWritesTable(tableMeta.getName());
 	}
 
 	private Query buildQuery() {
-		QueryBuilder builder = new QueryBuilder(this.identifierQuoteString)
-			.appendQuery("SELECT COUNT(*) FROM ")
-			.appendIdentifier(this.tableName);
-		if (this.whereQuery != null && !this.whereQuery.isEmpty()) {
-			builder.appendQuery(" WHERE ");
-			builder.appendQuery(this.whereQuery.stream()
-				.map(it -> "(" + it + ")")
-				.collect(Collectors.joining(" AND ")));
-			builder.addParameters(this.whereParams);
-		}
-		return builder.build();
+		final String sql = tableMeta.getSqlTemplate(Arrays.asList("COUNT", identifierQuoteString,
+			new ArrayList<>(whereQuery)), () -> {
+				QueryBuilder builder = new QueryBuilder(this.identifierQuoteString)
+					.appendQuery("SELECT COUNT(*) FROM ")
+					.appendIdentifier(tableMeta.getName());
+				if (this.whereQuery != null && !this.whereQuery.isEmpty()) {
+					builder.appendQuery(" WHERE ");
+					builder.appendQuery(this.whereQuery.stream()
+						.map(it -> "(" + it + ")")
+						.collect(Collectors.joining(" AND ")));
+				}
+				return builder.build().getSQL();
+			});
+		return new Query(sql, new ArrayList<>(this.whereParams));
 	}
 }
@@ -0,0 +1,177 @@
+package me.geso.tinyorm;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.NonNull;
+import me.geso.tinyorm.annotations.Cacheable;
+import me.geso.tinyorm.cache.InvalidationBus;
+import me.geso.tinyorm.cache.InvalidationListener;
+import me.geso.tinyorm.cache.RowCache;
+import me.geso.tinyorm.cache.RowCacheFactory;
+import me.geso.tinyorm.cache.TinyLfuRowCache;
+
+/**
+ * Process-wide cache of rows, shared by all {@link TinyORM} instances.
+ * <p>
+ * It's enabled per row class by {@link Cacheable}. Rows selected by
+ * {@code single(...).where("id=?", id)} out of transactions are cached by
+ * table name and primary keys. They are invalidated when they are updated or
+ * deleted through any {@link TinyORM}, and the whole table is invalidated by
+ * {@code INSERT ... ON DUPLICATE KEY UPDATE}.
+ * <p>
+ * Rows changed by {@code updateBySQL} or by other processes are not
+ * invalidated, unless the processes share an {@link InvalidationBus}. They
+ * expire by {@link Cacheable#expireAfterWriteSeconds()}.
+ * <p>
+ * Each hit builds a new row object bound to the {@link TinyORM}, but column
+ * values are shared by the rows. Don't modify them.
+ */
+public final class SharedRowCache {
+	// table name -> cached rows
+	private static final ConcurrentHashMap<String, RowCache> CACHES = new ConcurrentHashMap<>();
+	// table name -> the number of invalidations
+	private static final ConcurrentHashMap<String, AtomicLong> GENERATIONS = new ConcurrentHashMap<>();
+	private static final AtomicLong HIT_COUNT = new AtomicLong();
+	private static final AtomicLong MISS_COUNT = new AtomicLong();
+	private static volatile RowCacheFactory rowCacheFactory = (tableName, cacheable) -> new TinyLfuRowCache(
+		cacheable.maxSize(), cacheable.expireAfterWriteSeconds());
+	private static volatile InvalidationBus invalidationBus;
+	// the listener subscribed to the invalidation bus
+	private static InvalidationListener invalidationListener;
+
+	private SharedRowCache() {
+	}
+
+	/**
+	 * Replace the storage of cached rows. Rows cached so far are dropped.
+	 *
+	 * @param factory The factory, called once per table
+	 */
+	public static void setRowCacheFactory(@NonNull RowCacheFactory factory) {
+		rowCacheFactory = factory;
+		CACHES.clear();
+	}
+
+	/**
+	 * Send invalidations to other processes, and receive theirs. The previous
+	 * bus is unsubscribed, and invalidations from it are ignored.
+	 *
+	 * @param bus The bus, or null to stop publishing
+	 */
+	public static synchronized void setInvalidationBus(InvalidationBus bus) {
+		final InvalidationBus previous = invalidationBus;
+		if (previous != null) {
+			previous.unsubscribe(invalidationListener);
+		}
+		invalidationBus = bus;
+		invalidationListener = null;
+		if (bus != null) {
+			invalidationListener = (tableName, primaryKeys) -> {
+				if (invalidationBus == bus) {
+					invalidateLocally(tableName, primaryKeys);
+				}
+			};
+			bus.subscribe(invalidationListener);
+		}
+	}
+
+	/**
+	 * Drop all cached rows in this process.
+	 */
+	public static void invalidateAll() {
+		for (String tableName : CACHES.keySet()) {
+			invalidateLocally(tableName, Collections.emptyList());
+		}
+	}
+
+	/**
+	 * @return The number of rows found in the cache.
+	 */
+	public static long getHitCount() {
+		return HIT_COUNT.get();
+	}
+
+	/**
+	 * @return The number of rows looked up but not found in the cache.
+	 */
+	public static long getMissCount() {
+		return MISS_COUNT.get();
+	}
+
+	/**
+	 * Take a stamp before selecting the row to {@link #put}.
+	 */
+	static long stamp(TableMeta<?> tableMeta) {
+		return generation(tableMeta.getName()).get();
+	}
+
+	static <T extends Row<?>> Optional<T> get(TableMeta<T> tableMeta, Class<T> klass,
+			List<Object> primaryKeys, TinyORM orm) {
+		final Object cached = getCache(tableMeta).get(IdentityMap.normalizePrimaryKeys(primaryKeys));
+		if (cached instanceof CachedRow && ((CachedRow)cached).isInstanceOf(klass)) {
+			HIT_COUNT.incrementAndGet();
+			return Optional.of(((CachedRow)cached).toRow(tableMeta, klass, orm));
+		}
+		MISS_COUNT.incrementAndGet();
+		return Optional.empty();
+	}
+
+	/**
+	 * Cache the row. It's ignored if the table is invalidated after the stamp
+	 * is taken, since the row may be older than the invalidation.
+	 */
+	static <T extends Row<?>> void put(TableMeta<T> tableMeta, Class<T> klass, T row, long stamp) {
+		final List<String> columnLabels = tableMeta.getColumnNames();
+		columnLabels.addAll(row.getExtraColumns().keySet());
+		final CachedRow cachedRow = CachedRow.of(tableMeta, klass, row, columnLabels);
+
+		final AtomicLong generation = generation(tableMeta.getName());
+		final RowCache cache = getCache(tableMeta);
+		final List<Object> key = IdentityMap.normalizePrimaryKeys(tableMeta.getPrimaryKeyValues(row));
+		cache.put(key, cachedRow);
+		// Check after put, an invalidation may run at the same time.
+		if (generation.get() != stamp) {
+			cache.invalidate(key);
+		}
+	}
+
+	/**
+	 * Invalidate the row in this process, and publish the invalidation to
+	 * other processes.
+	 *
+	 * @param primaryKeys Primary key values. Empty means all rows of the
+	 *            table.
+	 */
+	static void invalidate(String tableName, List<Object> primaryKeys) {
+		invalidateLocally(tableName, primaryKeys);
+		final InvalidationBus bus = invalidationBus;
+		if (bus != null) {
+			bus.publish(tableName, primaryKeys);
+		}
+	}
+
+	private static void invalidateLocally(String tableName, List<Object> primaryKeys) {
+		generation(tableName).incrementAndGet();
+		final RowCache cache = CACHES.get(tableName);
+		if (cache != null) {
+			if (primaryKeys.isEmpty()) {
+				cache.invalidateAll();
+			} else {
+				cache.invalidate(IdentityMap.normalizePrimaryKeys(primaryKeys));
+			}
+		}
+	}
+
+	private static RowCache getCache(TableMeta<?> tableMeta) {
+		return CACHES.computeIfAbsent(tableMeta.getName(),
+			tableName -> rowCacheFactory.create(tableName, tableMeta.getCacheable()));
+	}
+
+	private static AtomicLong generation(String tableName) {
+		return GENERATIONS.computeIfAbsent(tableName, key -> new AtomicLong());
+	}
+}
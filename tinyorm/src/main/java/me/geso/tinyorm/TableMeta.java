@@ -2,6 +2,8 @@ package me.geso.tinyorm;
 
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.type.TypeFactory;
 import lombok.NonNull;
 import lombok.ToString;
@@ -9,12 +11,14 @@ import me.geso.jdbcutils.JDBCUtils;
 import me.geso.jdbcutils.Query;
 import me.geso.tinyorm.annotations.BeforeInsert;
 import me.geso.tinyorm.annotations.BeforeUpdate;
+import me.geso.tinyorm.annotations.Cacheable;
 import me.geso.tinyorm.annotations.Column;
 import me.geso.tinyorm.annotations.CreatedTimestampColumn;
 import me.geso.tinyorm.annotations.CsvColumn;
 import me.geso.tinyorm.annotations.Deflate;
 import me.geso.tinyorm.annotations.Inflate;
 import me.geso.tinyorm.annotations.JsonColumn;
+import me.geso.tinyorm.annotations.Lazy;
 import me.geso.tinyorm.annotations.PrimaryKey;
 import me.geso.tinyorm.annotations.SetColumn;
 import me.geso.tinyorm.annotations.Table;
@@ -46,6 +50,7 @@ import java.beans.IntrospectionException;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
@@ -58,6 +63,7 @@ import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -71,10 +77,14 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 class TableMeta<RowType extends Row<?>> {
 	private static final Logger log = org.slf4j.LoggerFactory.getLogger(TableMeta.class);
+	// Where fragments are given by users. Stop caching if they embed values.
+	private static final int MAX_SQL_TEMPLATES = 1024;
 
 	private final String name;
 	private final List<PropertyDescriptor> primaryKeys;
@@ -85,13 +95,19 @@ class TableMeta<RowType extends Row<?>> {
 	private final Map<String, List<Inflater>> inflaters;
 	private final Map<String, List<Deflater>> deflaters;
 	private final RowBuilder rowBuilder;
+	private final Cacheable cacheable;
+	private final List<String> lazyColumnNames;
+	// column labels -> row mapper
+	private final ConcurrentHashMap<List<String>, RowMapper<RowType>> rowMappers = new ConcurrentHashMap<>();
+	// statement shape -> rendered SQL
+	private final ConcurrentHashMap<List<Object>, String> sqlTemplates = new ConcurrentHashMap<>();
 
 	private TableMeta(String name, List<PropertyDescriptor> primaryKeyMetas,
 			Map<String, PropertyDescriptor> propertyDescriptorMap,
 			List<BeforeInsertHandler> beforeInsertTriggers,
 			List<BeforeUpdateHandler> beforeUpdateTriggers,
 			Map<String, List<Inflater>> inflaters, Map<String, List<Deflater>> deflaters,
-			RowBuilder rowBuilder) {
+			RowBuilder rowBuilder, Cacheable cacheable, List<String> lazyColumnNames) {
 		this.name = name;
 		this.primaryKeys = primaryKeyMetas;
 		this.propertyDescriptorMap = propertyDescriptorMap;
@@ -100,6 +116,8 @@ class TableMeta<RowType extends Row<?>> {
 		this.inflaters = inflaters;
 		this.deflaters = deflaters;
 		this.rowBuilder = rowBuilder;
+		this.cacheable = cacheable;
+		this.lazyColumnNames = lazyColumnNames;
 	}
 
 	static <RowType extends Row<?>> TableMeta<RowType> build(
@@ -115,6 +133,7 @@ class TableMeta<RowType extends Row<?>> {
 		// It should be stable... I want to use LinkedHashMap here.
 		final Map<String, List<Inflater>> inflaters = new LinkedHashMap<>();
 		final Map<String, List<Deflater>> deflaters = new LinkedHashMap<>();
+		final List<String> lazyColumnNames = new ArrayList<>();
 		List<Field> fields = new ArrayList<>();
 		Collections.addAll(fields, rowClass.getDeclaredFields());
 		Class<?> superClass = rowClass.getSuperclass();
@@ -140,6 +159,34 @@ class TableMeta<RowType extends Row<?>> {
 
 			Field field = fieldMap.get(name);
 			boolean isColumn = false;
+			// LazyColumn<T> is fetched (by @Lazy) or inflated on first access.
+			// Inflaters and deflaters handle T.
+			final boolean isLazyColumn = field.getAnnotation(Lazy.class) != null;
+			final boolean isDeferredColumn = !isLazyColumn && field.getType() == LazyColumn.class;
+			Type genericType = field.getGenericType();
+			Class<?> fieldType = field.getType();
+			if (isLazyColumn && fieldType != LazyColumn.class) {
+				throw new RuntimeException("@Lazy field must be LazyColumn<T>: "
+					+ rowClass.getName() + "." + field.getName());
+			}
+			if (fieldType == LazyColumn.class) {
+				if (!(genericType instanceof ParameterizedType)) {
+					throw new RuntimeException("LazyColumn field must be LazyColumn<T>: "
+						+ rowClass.getName() + "." + field.getName());
+				}
+				genericType = ((ParameterizedType)genericType).getActualTypeArguments()[0];
+				if (genericType instanceof ParameterizedType) {
+					fieldType = (Class<?>)((ParameterizedType)genericType).getRawType();
+				} else if (genericType instanceof Class) {
+					fieldType = (Class<?>)genericType;
+				} else {
+					throw new RuntimeException("LazyColumn field must be LazyColumn<T> of a concrete type: "
+						+ rowClass.getName() + "." + field.getName());
+				}
+			}
+			if (isLazyColumn) {
+				isColumn = true;
+			}
 			if (field.getAnnotation(PrimaryKey.class) != null) {
 				primaryKeys.add(propertyDescriptor);
 				isColumn = true;
@@ -174,22 +221,26 @@ class TableMeta<RowType extends Row<?>> {
 			if (deflaters.get(propertyDescriptor.getName()) == null) {
 				deflaters.put(propertyDescriptor.getName(), new ArrayList<>());
 			}
+			if (isLazyColumn || isDeferredColumn) {
+				// LazyColumnDeflater must be applied at the first
+				deflaters.get(propertyDescriptor.getName()).add(new LazyColumnDeflater());
+			}
 
 			boolean isOptionalColumn = false;
 			Set<Class<?>> actualTypeArgumentsSet = new HashSet<>();
-			if (field.getType().isAssignableFrom(Optional.class)) {
+			if (fieldType.isAssignableFrom(Optional.class)) {
 				isOptionalColumn = true;
 				deflaters.get(propertyDescriptor.getName()).add(new OptionalDeflater());
 
 				// Get parameter type
-				ParameterizedType type = (ParameterizedType) field.getGenericType();
+				ParameterizedType type = (ParameterizedType) genericType;
 				for (Type t : type.getActualTypeArguments()) {
 					actualTypeArgumentsSet.add((Class<?>) t);
 				}
 			}
 			if (field.getAnnotation(JsonColumn.class) != null) {
 				// deserialize json
-				Type type = field.getGenericType();
+				Type type = genericType;
 				JavaType javaType = TypeFactory.defaultInstance()
 					.constructType(type);
 				JsonInflater inflater = new JsonInflater(
@@ -201,17 +252,17 @@ class TableMeta<RowType extends Row<?>> {
 				deflaters.get(propertyDescriptor.getName()).add(deflater);
 				isColumn = true;
 			}
-			if (field.getType().isAssignableFrom(LocalDate.class)
+			if (fieldType.isAssignableFrom(LocalDate.class)
 					|| (isOptionalColumn && actualTypeArgumentsSet.contains(LocalDate.class))) {
 				inflaters.get(propertyDescriptor.getName()).add(new LocalDateInflater());
 				deflaters.get(propertyDescriptor.getName()).add(new LocalDateDeflater());
 			}
-			if (field.getType().isAssignableFrom(LocalDateTime.class)
+			if (fieldType.isAssignableFrom(LocalDateTime.class)
 				|| (isOptionalColumn && actualTypeArgumentsSet.contains(LocalDateTime.class))) {
 				inflaters.get(propertyDescriptor.getName()).add(new LocalDateTimeInflater());
 				deflaters.get(propertyDescriptor.getName()).add(new LocalDateTimeDeflater());
 			}
-			if (field.getType().isAssignableFrom(LocalTime.class)
+			if (fieldType.isAssignableFrom(LocalTime.class)
 					|| (isOptionalColumn && actualTypeArgumentsSet.contains(LocalTime.class))) {
 				inflaters.get(propertyDescriptor.getName()).add(new LocalTimeInflater());
 				deflaters.get(propertyDescriptor.getName()).add(new LocalTimeDeflater());
@@ -224,11 +275,11 @@ class TableMeta<RowType extends Row<?>> {
 			}
 			if (field.getAnnotation(CsvColumn.class) != null) {
 				// deserialize csv
-				if (!Collection.class.isAssignableFrom(field.getType())) {
+				if (!Collection.class.isAssignableFrom(fieldType)) {
 					throw new RuntimeException(
 						"You can't add @CsvColumn annotation for non-Collection field.");
 				}
-				Type type = field.getGenericType();
+				Type type = genericType;
 				if (type instanceof ParameterizedType) {
 					Type[] actualTypeArguments = ((ParameterizedType)type)
 						.getActualTypeArguments();
@@ -271,6 +322,15 @@ class TableMeta<RowType extends Row<?>> {
 				// OptionalInflater must be applied at the last
 				inflaters.get(propertyDescriptor.getName()).add(new OptionalInflater());
 			}
+			if (isLazyColumn) {
+				// LazyColumnInflater must be applied at the last
+				inflaters.get(propertyDescriptor.getName()).add(new LazyColumnInflater());
+				lazyColumnNames.add(propertyDescriptor.getName());
+			} else if (isDeferredColumn) {
+				final List<Inflater> chain = inflaters.get(propertyDescriptor.getName());
+				inflaters.put(propertyDescriptor.getName(),
+					new ArrayList<>(Collections.singletonList(new DeferredInflater(chain))));
+			}
 
 			if (isColumn) {
 				propertyDescriptorMap.put(propertyDescriptor.getName(),
@@ -318,6 +378,10 @@ class TableMeta<RowType extends Row<?>> {
 			}
 		}
 
+		if (!lazyColumnNames.isEmpty() && primaryKeys.isEmpty()) {
+			throw new RuntimeException("@Lazy column needs primary keys: " + rowClass.getName());
+		}
+
 		// Checking constructor
 		RowBuilder rowBuilder = buildRowBuilder(rowClass);
 
@@ -326,7 +390,8 @@ class TableMeta<RowType extends Row<?>> {
 		return new TableMeta<>(tableName, primaryKeys,
 			propertyDescriptorMap, beforeInsertTriggers,
 			beforeUpdateTriggers, inflaters, deflaters,
-			rowBuilder);
+			rowBuilder, rowClass.getAnnotation(Cacheable.class),
+			Collections.unmodifiableList(lazyColumnNames));
 	}
 
 	private static <T extends Row<?>> RowBuilder buildRowBuilder(
@@ -444,6 +509,10 @@ class TableMeta<RowType extends Row<?>> {
 		return map;
 	}
 
+	List<Object> getPrimaryKeyValues(Object row) {
+		return new ArrayList<>(this.getPrimaryKeyValueMap(row).values());
+	}
+
 	/**
 	 * Get a where clause that selects the row from table. This method throws
 	 * exception if the row doesn't have a primary key.
@@ -455,14 +524,14 @@ class TableMeta<RowType extends Row<?>> {
 				"You can't delete row, doesn't have a primary keys.");
 		}
 
-		String sql = pkmap
+		String sql = this.getSqlTemplate(Arrays.asList("WHERE_PK", identifierQuoteString), () -> pkmap
 			.keySet()
 			.stream()
 			.map(it
 				-> "("
 					+ JDBCUtils.quoteIdentifier(it,
 						identifierQuoteString) + "=?)"
-			).collect(Collectors.joining(" AND "));
+			).collect(Collectors.joining(" AND ")));
 		List<Object> vars = pkmap.entrySet().stream().map(
 			e -> invokeDeflater(e.getKey(), e.getValue())
 			).collect(Collectors.toList());
@@ -470,6 +539,44 @@ class TableMeta<RowType extends Row<?>> {
 		return new Query(sql, vars);
 	}
 
+	/**
+	 * Get a where clause that selects the rows from table by primary keys.
+	 * Composite primary keys are matched by row constructor. This method
+	 * throws exception if the rows don't have a primary key.
+	 */
+	Query createWhereClauseFromRows(List<?> rows, String identifierQuoteString) {
+		if (this.getPrimaryKeys().isEmpty()) {
+			throw new RuntimeException(
+				"You can't delete row, doesn't have a primary keys.");
+		}
+
+		final List<String> columns = this.getPrimaryKeys().stream()
+			.map(pk -> JDBCUtils.quoteIdentifier(pk.getName(), identifierQuoteString))
+			.collect(Collectors.toList());
+		final String placeholders = columns.size() == 1
+			? "?"
+			: "(" + columns.stream().map(it -> "?").collect(Collectors.joining(",")) + ")";
+		final StringBuilder sql = new StringBuilder();
+		sql.append(columns.size() == 1
+			? columns.get(0)
+			: "(" + String.join(",", columns) + ")");
+		sql.append(" IN (");
+		final List<Object> vars = new ArrayList<>();
+		for (int i = 0; i < rows.size(); ++i) {
+			if (i != 0) {
+				sql.append(',');
+			}
+			sql.append(placeholders);
+			final List<Object> rowVars = this.getPrimaryKeyValueMap(rows.get(i)).entrySet().stream().map(
+				e -> invokeDeflater(e.getKey(), e.getValue())
+				).collect(Collectors.toList());
+			this.validatePrimaryKeysForSelect(rowVars);
+			vars.addAll(rowVars);
+		}
+		sql.append(')');
+		return new Query(sql.toString(), vars);
+	}
+
 	/**
 	 * This method validates primary keys for SELECT row from the table. You can
 	 * override this method.
@@ -529,6 +636,47 @@ class TableMeta<RowType extends Row<?>> {
 		return inflatedValue;
 	}
 
+	/**
+	 * @return true if the column is inflated by {@link JsonColumn} first.
+	 *         Row mappers pass {@code ResultSet#getBinaryStream} to its
+	 *         inflater if {@link JsonColumnConfig#isStreamingRead()}.
+	 */
+	boolean isJsonColumn(String columnName) {
+		List<Inflater> inflaters = this.inflaters.get(columnName);
+		return inflaters != null && !inflaters.isEmpty()
+			&& inflaters.get(0) instanceof JsonInflater;
+	}
+
+	/**
+	 * Compose the inflaters for the column into one inflater, so that row
+	 * mappers don't look up and iterate the inflater list for each cell.
+	 *
+	 * @return Composed inflater, or null if the column doesn't have inflaters.
+	 */
+	Inflater composeInflater(String columnName) {
+		List<Inflater> inflaters = this.inflaters.get(columnName);
+		if (inflaters == null) {
+			return null;
+		}
+
+		final Inflater[] chain = inflaters.stream()
+			.filter(inflater -> inflater != null)
+			.toArray(Inflater[]::new);
+		if (chain.length == 0) {
+			return null;
+		} else if (chain.length == 1) {
+			return chain[0];
+		} else {
+			return value -> {
+				Object inflatedValue = value;
+				for (Inflater inflater : chain) {
+					inflatedValue = inflater.inflate(inflatedValue);
+				}
+				return inflatedValue;
+			};
+		}
+	}
+
 	Object invokeDeflater(String columnName, Object value) {
 		List<Deflater> deflaters = this.deflaters.get(columnName);
 		if (deflaters == null) {
@@ -549,14 +697,62 @@ class TableMeta<RowType extends Row<?>> {
 		return name;
 	}
 
+	/**
+	 * @return The {@link Cacheable} annotation of the row class, or null.
+	 */
+	Cacheable getCacheable() {
+		return cacheable;
+	}
+
+	boolean isCacheable() {
+		return cacheable != null && !primaryKeys.isEmpty();
+	}
+
 	public List<PropertyDescriptor> getPrimaryKeys() {
 		return primaryKeys;
 	}
 
+	/**
+	 * Get column names in declaration order.
+	 */
+	List<String> getColumnNames() {
+		return new ArrayList<>(propertyDescriptorMap.keySet());
+	}
+
+	/**
+	 * Get {@code @Lazy} column names in declaration order.
+	 */
+	List<String> getLazyColumnNames() {
+		return lazyColumnNames;
+	}
+
+	/**
+	 * @return true if rows must be selected by {@link #renderColumnList}, to
+	 *         leave out {@code @Lazy} columns.
+	 */
+	boolean hasLazyColumns() {
+		return !lazyColumnNames.isEmpty();
+	}
+
+	/**
+	 * Render the column names as a select list, e.g. {@code `id`,`name`}.
+	 * {@code @Lazy} columns aren't included.
+	 */
+	String renderColumnList(String identifierQuoteString) {
+		return propertyDescriptorMap.keySet().stream()
+			.filter(it -> !lazyColumnNames.contains(it))
+			.map(it -> JDBCUtils.quoteIdentifier(it, identifierQuoteString))
+			.collect(Collectors.joining(","));
+	}
+
 	public boolean hasColumn(String columnName) {
 		return propertyDescriptorMap.containsKey(columnName);
 	}
 
+	PropertyDescriptor getPropertyDescriptor(String columnName) {
+		return propertyDescriptorMap.get(columnName);
+	}
+
 	public Optional<String> getColumnName(PropertyDescriptor beanPropertyDescriptor) {
 		return propertyDescriptorMap
 			.entrySet()
@@ -576,18 +772,102 @@ class TableMeta<RowType extends Row<?>> {
 			final ResultSet rs,
 			final List<String> columnLabels,
 			final TinyORM orm) throws SQLException {
+		return this.getRowMapper(klass, columnLabels).map(rs, orm, false);
+	}
+
+	/**
+	 * Get the SQL rendered for the statement shape. The shape lists everything
+	 * that changes the SQL text: the statement kind, the identifier quote
+	 * string, column names and query fragments. It never contains parameters,
+	 * and it must not be modified after the call.
+	 */
+	String getSqlTemplate(final List<Object> shape, final Supplier<String> renderer) {
+		String sql = this.sqlTemplates.get(shape);
+		if (sql == null) {
+			sql = renderer.get();
+			if (this.sqlTemplates.size() < MAX_SQL_TEMPLATES) {
+				final String cached = this.sqlTemplates.putIfAbsent(shape, sql);
+				if (cached != null) {
+					sql = cached;
+				}
+			}
+		}
+		return sql;
+	}
+
+	RowMapper<RowType> getRowMapper(final Class<RowType> klass,
+			final ResultSet rs) throws SQLException {
+		return this.getRowMapper(klass, TinyORM.getColumnLabels(rs));
+	}
+
+	/**
+	 * Get the row mapper for the column label layout. It's built at first use
+	 * and cached per layout.
+	 * <p>
+	 * Callers should get the mapper once per {@link ResultSet} and call
+	 * {@link RowMapper#map} for each row, so the per-row path is index-only.
+	 */
+	RowMapper<RowType> getRowMapper(final Class<RowType> klass,
+			final List<String> columnLabels) {
+		RowMapper<RowType> rowMapper = this.rowMappers.get(columnLabels);
+		if (rowMapper == null) {
+			final List<String> key = Collections.unmodifiableList(new ArrayList<>(columnLabels));
+			rowMapper = this.rowMappers.computeIfAbsent(key, it -> this.buildRowMapper(klass, it));
+		}
+		return rowMapper;
+	}
+
+	private RowMapper<RowType> buildRowMapper(final Class<RowType> klass,
+			final List<String> columnLabels) {
+		try {
+			return this.rowBuilder.createRowMapper(klass, this, columnLabels);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			log.info("Can't bind row mapper for {}, use reflection instead: {}",
+				klass, e.toString());
+			return RowMapper.forRowBuilder(klass, this, columnLabels);
+		}
+	}
+
+	RowType buildRowReflectively(
+			final Class<RowType> klass,
+			final ResultSet rs,
+			final List<String> columnLabels,
+			final TinyORM orm,
+			final boolean writeConnection) throws SQLException {
+		final Object[] values = new Object[columnLabels.size()];
+		for (int i = 0; i < values.length; ++i) {
+			values[i] = this.invokeInflater(columnLabels.get(i), rs.getObject(i + 1));
+		}
+		return this.rowBuilder.build(klass, this,
+			values, columnLabels, orm, writeConnection);
+	}
+
+	/**
+	 * Build a row from the inflated values, in column label order.
+	 */
+	RowType buildRowReflectively(
+			final Class<RowType> klass,
+			final Object[] values,
+			final List<String> columnLabels,
+			final TinyORM orm) {
 		return this.rowBuilder.build(klass, this,
-			rs, columnLabels, orm);
+			values, columnLabels, orm, false);
 	}
 
 	private static interface RowBuilder {
 		public <RowType extends Row<?>> RowType build(
 				final Class<RowType> klass,
 				final TableMeta<RowType> tableMeta,
-				final ResultSet rs,
+				final Object[] values,
 				final List<String> columnLabels,
-				final TinyORM orm)
-				throws SQLException;
+				final TinyORM orm,
+				final boolean writeConnection);
+
+		public <RowType extends Row<?>> RowMapper<RowType> createRowMapper(
+				final Class<RowType> klass,
+				final TableMeta<RowType> tableMeta,
+				final List<String> columnLabels)
+				throws ReflectiveOperationException;
 	}
 
 	@ToString
@@ -726,7 +1006,9 @@ class TableMeta<RowType extends Row<?>> {
 		private final Class<?> rowClass;
 		private final PropertyDescriptor propertyDescriptor;
 		private final JavaType javaType;
-		private final ObjectMapper mapper = new ObjectMapper();
+		// mapper of JsonColumnConfig -> reader for javaType
+		@ToString.Exclude
+		private volatile SimpleImmutableEntry<ObjectMapper, ObjectReader> reader;
 
 		JsonInflater(Class<?> rowClass,
 				PropertyDescriptor propertyDescriptor, JavaType javaType) {
@@ -737,17 +1019,31 @@ class TableMeta<RowType extends Row<?>> {
 
 		@Override
 		public Object inflate(Object value) {
-			if (value instanceof byte[]) {
-				try {
-					return mapper.readValue((byte[])value, javaType);
-				} catch (IOException e) {
-					throw new RuntimeException(e);
+			try {
+				if (value instanceof byte[]) {
+					return this.getReader().readValue((byte[])value);
+				} else if (value instanceof InputStream) {
+					try (InputStream in = (InputStream)value) {
+						return this.getReader().readValue(in);
+					}
+				} else {
+					throw new RuntimeException(
+						"You shouldn't apply @JsonColumn for non byte[].");
 				}
-			} else {
-				throw new RuntimeException(
-					"You shouldn't apply @JsonColumn for non byte[].");
+			} catch (IOException e) {
+				throw new RuntimeException(e);
 			}
 		}
+
+		private ObjectReader getReader() {
+			final ObjectMapper mapper = JsonColumnConfig.getObjectMapper();
+			SimpleImmutableEntry<ObjectMapper, ObjectReader> reader = this.reader;
+			if (reader == null || reader.getKey() != mapper) {
+				reader = new SimpleImmutableEntry<>(mapper, mapper.readerFor(javaType));
+				this.reader = reader;
+			}
+			return reader.getValue();
+		}
 	}
 
 	@ToString
@@ -755,7 +1051,9 @@ class TableMeta<RowType extends Row<?>> {
 		private final Class<?> rowClass;
 		private final PropertyDescriptor propertyDescriptor;
 		private final JavaType javaType;
-		private final ObjectMapper mapper = new ObjectMapper();
+		// mapper of JsonColumnConfig -> writer
+		@ToString.Exclude
+		private volatile SimpleImmutableEntry<ObjectMapper, ObjectWriter> writer;
 
 		JsonDeflater(Class<?> rowClass,
 				PropertyDescriptor propertyDescriptor, JavaType javaType) {
@@ -767,11 +1065,21 @@ class TableMeta<RowType extends Row<?>> {
 		@Override
 		public Object deflate(Object value) {
 			try {
-				return mapper.writeValueAsBytes(value);
+				return this.getWriter().writeValueAsBytes(value);
 			} catch (IOException e) {
 				throw new RuntimeException(e);
 			}
 		}
+
+		private ObjectWriter getWriter() {
+			final ObjectMapper mapper = JsonColumnConfig.getObjectMapper();
+			SimpleImmutableEntry<ObjectMapper, ObjectWriter> writer = this.writer;
+			if (writer == null || writer.getKey() != mapper) {
+				writer = new SimpleImmutableEntry<>(mapper, mapper.writer());
+				this.writer = writer;
+			}
+			return writer.getValue();
+		}
 	}
 
 	@ToString
@@ -826,6 +1134,48 @@ class TableMeta<RowType extends Row<?>> {
 	}
 
 	@ToString
+	static class LazyColumnInflater implements Inflater {
+		@Override
+		public Object inflate(Object value) {
+			return LazyColumn.of(value);
+		}
+	}
+
+	/**
+	 * Keep the raw value in a {@link LazyColumn}, and inflate it by the chain
+	 * at first access.
+	 */
+	static class DeferredInflater implements Inflater {
+		private final Inflater[] chain;
+
+		DeferredInflater(List<Inflater> chain) {
+			this.chain = chain.stream()
+				.filter(inflater -> inflater != null)
+				.toArray(Inflater[]::new);
+		}
+
+		@Override
+		public Object inflate(Object value) {
+			if (chain.length == 0) {
+				return LazyColumn.of(value);
+			}
+			return LazyColumn.deferred(value, raw -> {
+				Object inflatedValue = raw;
+				for (Inflater inflater : chain) {
+					inflatedValue = inflater.inflate(inflatedValue);
+				}
+				return inflatedValue;
+			});
+		}
+	}
+
+	static class LazyColumnDeflater implements Deflater {
+		@Override
+		public Object deflate(Object value) {
+			return value instanceof LazyColumn ? ((LazyColumn<?>)value).get() : value;
+		}
+	}
+
 	static class CsvDeflater implements Deflater {
 		@Override
 		public Object deflate(Object value) {
@@ -869,21 +1219,30 @@ class TableMeta<RowType extends Row<?>> {
 			}
 		}
 
+		@Override
+		public <RowType extends Row<?>> RowMapper<RowType> createRowMapper(
+				final Class<RowType> klass,
+				final TableMeta<RowType> tableMeta,
+				final List<String> columnLabels)
+				throws ReflectiveOperationException {
+			return RowMapper.forConstructor(klass, tableMeta, columnLabels,
+				constructor, parameterNames);
+		}
+
 		@Override
 		public <RowType extends Row<?>> RowType build(
 				final Class<RowType> klass,
 				final TableMeta<RowType> tableMeta,
-				final ResultSet rs,
+				final Object[] values,
 				final List<String> columnLabels,
-				final TinyORM orm)
-				throws SQLException {
+				final TinyORM orm,
+				final boolean writeConnection) {
 			Object[] initargs = new Object[parameterNames.length];
 			int columnCount = columnLabels.size();
 			Map<String, Object> extraColumns = new HashMap<>();
 			for (int i = 0; i < columnCount; ++i) {
 				String columnName = columnLabels.get(i);
-				Object value = rs.getObject(i + 1);
-				value = tableMeta.invokeInflater(columnName, value);
+				Object value = values[i];
 				Integer idx = parameterPositionFor.get(columnName);
 				if (idx != null) {
 					initargs[idx] = value;
@@ -891,12 +1250,23 @@ class TableMeta<RowType extends Row<?>> {
 					extraColumns.put(columnName, value);
 				}
 			}
+			final Map<String, LazyColumn<?>> lazyColumns = new LinkedHashMap<>();
+			for (String lazyColumnName : tableMeta.getLazyColumnNames()) {
+				Integer idx = parameterPositionFor.get(lazyColumnName);
+				if (idx != null && !columnLabels.contains(lazyColumnName)) {
+					LazyColumn<?> lazyColumn = new LazyColumn<>();
+					initargs[idx] = lazyColumn;
+					lazyColumns.put(lazyColumnName, lazyColumn);
+				}
+			}
 			try {
 				@SuppressWarnings("unchecked")
 				RowType row = (RowType)constructor.newInstance(initargs);
 				for (Entry<String, Object> entry : extraColumns.entrySet()) {
 					row.setExtraColumn(entry.getKey(), entry.getValue());
 				}
+				lazyColumns.forEach((lazyColumnName, lazyColumn)
+					-> LazyLoader.bind(orm, tableMeta, lazyColumnName, row, lazyColumn, writeConnection));
 				row.setOrm(orm);
 				return row;
 			} catch (IllegalArgumentException e) {
@@ -915,22 +1285,38 @@ class TableMeta<RowType extends Row<?>> {
 
 	private static class SetterRowBuilder implements
 			RowBuilder {
+		@Override
+		public <RowType extends Row<?>> RowMapper<RowType> createRowMapper(
+				final Class<RowType> klass,
+				final TableMeta<RowType> tableMeta,
+				final List<String> columnLabels)
+				throws ReflectiveOperationException {
+			return RowMapper.forSetters(klass, tableMeta, columnLabels);
+		}
+
 		@Override
 		public <T extends Row<?>> T build(
 				Class<T> klass,
 				TableMeta<T> tableMeta,
-				ResultSet rs,
+				Object[] values,
 				List<String> columnLabels,
-				TinyORM orm) throws SQLException {
+				TinyORM orm,
+				boolean writeConnection) {
 			try {
 				int columnCount = columnLabels.size();
 				T row = klass.newInstance();
 				for (int i = 0; i < columnCount; ++i) {
 					String columnName = columnLabels.get(i);
-					Object value = rs.getObject(i + 1);
-					value = tableMeta.invokeInflater(columnName, value);
+					Object value = values[i];
 					this.setValue(tableMeta, row, columnName, value);
 				}
+				for (String lazyColumnName : tableMeta.getLazyColumnNames()) {
+					if (!columnLabels.contains(lazyColumnName)) {
+						LazyColumn<?> lazyColumn = new LazyColumn<>();
+						this.setValue(tableMeta, row, lazyColumnName, lazyColumn);
+						LazyLoader.bind(orm, tableMeta, lazyColumnName, row, lazyColumn, writeConnection);
+					}
+				}
 				row.setOrm(orm);
 				return row;
 			} catch (InstantiationException | IllegalAccessException e) {
@@ -7,6 +7,8 @@ import me.geso.jdbcutils.QueryBuilder;
 import me.geso.jdbcutils.ResultSetCallback;
 import me.geso.jdbcutils.RichSQLException;
 import me.geso.jdbcutils.UncheckedRichSQLException;
+import me.geso.tinyorm.replica.ReadReplicas;
+import me.geso.tinyorm.replica.Replica;
 import net.moznion.db.transaction.manager.TransactionManager;
 import net.moznion.db.transaction.manager.TransactionScope;
 import org.slf4j.Logger;
@@ -19,12 +21,25 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 /**
@@ -35,14 +50,37 @@ import java.util.stream.Stream;
 public class TinyORM implements Closeable {
 	private static final Logger log = org.slf4j.LoggerFactory.getLogger(TinyORM.class);
 
+	// latencies needed before hedging, to estimate the percentile
+	private static final int HEDGE_MIN_SAMPLES = 20;
 	private static final ConcurrentHashMap<Class<?>, TableMeta<?>> TABLE_META_REGISTRY = new ConcurrentHashMap<>();
+	// connection provider, or connection -> metadata snapshot, shared by the instances on the same database
+	private static final Map<Object, DatabaseDialect> DIALECTS = Collections.synchronizedMap(new WeakHashMap<>());
 	private volatile Connection connection;
 	private volatile Connection readConnection;
 	private volatile TransactionManager transactionManager;
 	private Integer queryTimeout;
+	private volatile PreparedStatementCache statementCache;
+	private volatile DatabaseDialect dialect;
+	private volatile IdentityMap identityMap;
+	private volatile boolean columnPruning;
+	private volatile Executor executor;
+	// null if reads don't stick to the write connection after writes
+	private volatile Duration readYourWritesWindow;
+	// 0 if reads aren't hedged
+	private volatile double hedgePercentile;
+	// table name -> System.nanoTime() until which reads use the write connection
+	private final Map<String, Long> writtenTables = new ConcurrentHashMap<>();
+	// cache invalidations to repeat after commit
+	private final Set<CacheInvalidation> invalidationsAfterCommit = new LinkedHashSet<>();
+	private TransactionManager invalidationHookedTransactionManager;
 
 	private Provider<Connection> connectionProvider;
 	private Provider<Connection> readConnectionProvider;
+	private ReadReplicas readReplicas;
+	// connections borrowed from the read replicas
+	private final Map<Replica, Connection> replicaConnections = new ConcurrentHashMap<>();
+	// connection -> replica, for the connections above and the borrowed ones
+	private final Map<Connection, Replica> replicasByConnection = Collections.synchronizedMap(new IdentityHashMap<>());
 
 	public TinyORM(Connection connection) {
 		this.connection = connection;
@@ -66,6 +104,19 @@ public class TinyORM implements Closeable {
 		this.readConnectionProvider = readConnectionProvider;
 	}
 
+	/**
+	 * Use the read replicas for read queries. The balancer of the replicas
+	 * chooses one for each query, and a connection is borrowed from each
+	 * chosen replica at most once until {@link #close()}.
+	 *
+	 * @param connectionProvider Provider of the write connection
+	 * @param readReplicas Read replicas, shared by all {@code TinyORM} instances
+	 */
+	public TinyORM(Provider<Connection> connectionProvider, ReadReplicas readReplicas) {
+		this.connectionProvider = connectionProvider;
+		this.readReplicas = readReplicas;
+	}
+
 	public Connection getConnection() {
 		if (connection == null) {
 			if (connectionProvider == null) {
@@ -84,20 +135,14 @@ public class TinyORM implements Closeable {
 	}
 
 	public Connection getReadConnection() {
-		try {
-			if (connection != null && !connection.getAutoCommit()) {
-				// If transaction has been started, return the connection which has taken the transaction.
-				return connection;
-			}
-		} catch (SQLException e) {
-			try {
-				if (!connection.isClosed()) {
-					// Not closed connection, DB access error is occured
-					throw new RuntimeException("Failed to get the mode of auto commit", e);
-				}
-			} catch (SQLException e1) {
-				throw new RuntimeException("Failed to get the mode of auto commit", e1);
-			}
+		if (isTransactionStarted()) {
+			// If transaction has been started, return the connection which has taken the transaction.
+			return connection;
+		}
+
+		final ReadReplicas readReplicas = this.readReplicas;
+		if (readReplicas != null) {
+			return getReplicaConnection(readReplicas.choose());
 		}
 
 		if (readConnection == null) {
@@ -121,6 +166,45 @@ public class TinyORM implements Closeable {
 		return readConnection;
 	}
 
+	private boolean isTransactionStarted() {
+		final Connection connection = this.connection;
+		try {
+			return connection != null && !connection.getAutoCommit();
+		} catch (SQLException e) {
+			try {
+				if (!connection.isClosed()) {
+					// Not closed connection, DB access error is occured
+					throw new RuntimeException("Failed to get the mode of auto commit", e);
+				}
+			} catch (SQLException e1) {
+				throw new RuntimeException("Failed to get the mode of auto commit", e1);
+			}
+			return false;
+		}
+	}
+
+	Connection getReplicaConnection(Replica replica) {
+		return replicaConnections.computeIfAbsent(replica, it -> {
+			final Connection replicaConnection = it.getConnectionProvider().get();
+			replicasByConnection.put(replicaConnection, it);
+			return replicaConnection;
+		});
+	}
+
+	/**
+	 * Record the queries of the statement in the statistics of the replica,
+	 * if the connection is borrowed from a read replica.
+	 */
+	private PreparedStatement trackReplica(PreparedStatement preparedStatement, Connection connection) {
+		if (readReplicas != null) {
+			final Replica replica = replicasByConnection.get(connection);
+			if (replica != null) {
+				return replica.track(preparedStatement);
+			}
+		}
+		return preparedStatement;
+	}
+
 	public TransactionManager getTransactionManager() {
 		if (transactionManager == null) {
 			getConnection();
@@ -136,13 +220,137 @@ public class TinyORM implements Closeable {
 		return prepareStatement(sql, getReadConnection());
 	}
 
+	/**
+	 * Prepare statement on the write connection, that returns auto-generated keys.
+	 */
+	PreparedStatement prepareStatementForGeneratedKeys(String sql) {
+		try {
+			final PreparedStatement preparedStatement = getConnection().prepareStatement(sql,
+				Statement.RETURN_GENERATED_KEYS);
+			if (queryTimeout != null) {
+				preparedStatement.setQueryTimeout(queryTimeout);
+			}
+			return preparedStatement;
+		} catch (SQLException e) {
+			throw new UncheckedRichSQLException(e, sql, Collections.emptyList());
+		}
+	}
+
+	/**
+	 * Prepare a forward-only, read-only statement with the fetch size. It
+	 * doesn't use the statement cache, because the fetch size sticks to the
+	 * statement.
+	 */
+	PreparedStatement prepareStatementForStreaming(String sql, Connection connection, int fetchSize) {
+		try {
+			final PreparedStatement preparedStatement = connection.prepareStatement(sql,
+				ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+			preparedStatement.setFetchSize(fetchSize);
+			if (queryTimeout != null) {
+				preparedStatement.setQueryTimeout(queryTimeout);
+			}
+			return trackReplica(preparedStatement, connection);
+		} catch (SQLException e) {
+			throw new UncheckedRichSQLException(e, sql, Collections.emptyList());
+		}
+	}
+
+	/**
+	 * Prepare statement without the statement cache, for connections that
+	 * are closed soon, e.g. by {@link #borrowReadConnection()}.
+	 */
+	PreparedStatement prepareStatementWithoutCache(String sql, Connection connection) {
+		try {
+			final PreparedStatement preparedStatement = connection.prepareStatement(sql);
+			if (queryTimeout != null) {
+				preparedStatement.setQueryTimeout(queryTimeout);
+			}
+			return trackReplica(preparedStatement, connection);
+		} catch (SQLException e) {
+			throw new UncheckedRichSQLException(e, sql, Collections.emptyList());
+		}
+	}
+
+	/**
+	 * Borrow another read connection from the connection provider, to run a
+	 * query concurrently with the read connection. The caller gives it back
+	 * by {@link #releaseReadConnection(Connection)}.
+	 *
+	 * @return New connection, or null if the {@code TinyORM} is created with
+	 *         connections instead of providers.
+	 */
+	Connection borrowReadConnection() {
+		if (readReplicas != null) {
+			return borrowReplicaConnection(readReplicas.choose());
+		} else if (readConnectionProvider != null) {
+			return readConnectionProvider.get();
+		} else if (connectionProvider != null) {
+			return connectionProvider.get();
+		}
+		return null;
+	}
+
+	/**
+	 * Borrow another connection from the replica, e.g. for a hedged query.
+	 * The caller gives it back by {@link #releaseReadConnection(Connection)}.
+	 */
+	Connection borrowReplicaConnection(Replica replica) {
+		final Connection borrowed = replica.getConnectionProvider().get();
+		replicasByConnection.put(borrowed, replica);
+		return borrowed;
+	}
+
+	/**
+	 * Close the connection borrowed by {@link #borrowReadConnection()} or
+	 * {@link #borrowReplicaConnection(Replica)}.
+	 */
+	void releaseReadConnection(Connection connection) {
+		replicasByConnection.remove(connection);
+		try {
+			connection.close();
+		} catch (SQLException e) {
+			log.warn("Failed to close the connection", e);
+		}
+	}
+
+	/**
+	 * Run queries that run concurrently with the caller, e.g. the count of
+	 * {@code executeWithTotal()}, by the executor. By default, a pool of
+	 * daemon threads shared by all {@code TinyORM} instances is used.
+	 *
+	 * @param executor Executor
+	 */
+	public void setExecutor(Executor executor) {
+		this.executor = executor;
+	}
+
+	Executor getExecutor() {
+		final Executor executor = this.executor;
+		return executor != null ? executor : DefaultExecutorHolder.EXECUTOR;
+	}
+
+	private static final class DefaultExecutorHolder {
+		private static final AtomicInteger THREAD_ID = new AtomicInteger();
+		static final Executor EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+			final Thread thread = new Thread(runnable, "tinyorm-query-" + THREAD_ID.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
 	PreparedStatement prepareStatement(String sql, Connection connection) {
 		try {
+			final PreparedStatementCache cache = this.statementCache;
+			if (cache != null) {
+				final PreparedStatement preparedStatement = cache.prepareStatement(connection, sql);
+				preparedStatement.setQueryTimeout(queryTimeout == null ? 0 : queryTimeout);
+				return trackReplica(preparedStatement, connection);
+			}
 			final PreparedStatement preparedStatement = connection.prepareStatement(sql);
 			if (queryTimeout != null) {
 				preparedStatement.setQueryTimeout(queryTimeout);
 			}
-			return preparedStatement;
+			return trackReplica(preparedStatement, connection);
 		} catch (SQLException e) {
 			throw new UncheckedRichSQLException(e, sql, Collections.emptyList());
 		}
@@ -163,6 +371,22 @@ public class TinyORM implements Closeable {
 		return new InsertStatement<>(this, klass, tableMeta);
 	}
 
+	/**
+	 * Create {@code BulkInsertStatement} for sending INSERT statement with many rows.<br>
+	 * {@code orm.bulkInsert(Member.class)
+	 * 	.addRow(Collections.singletonMap("name", "John"))
+	 * 	.addRow(Collections.singletonMap("name", "Nick"))
+	 * 	.execute();
+	 * }
+	 *
+	 * @param klass Row class to insert
+	 * @return bulk insert statement object
+	 */
+	public <T extends Row<?>> BulkInsertStatement<T> bulkInsert(Class<T> klass) {
+		TableMeta<T> tableMeta = this.getTableMeta(klass);
+		return new BulkInsertStatement<>(this, klass, tableMeta);
+	}
+
 	/**
 	 * Select one row from the database.
 	 *
@@ -189,11 +413,9 @@ public class TinyORM implements Closeable {
 		try (final PreparedStatement ps = this.prepareStatement(sql, connection)) {
 			JDBCUtils.fillPreparedStatementParams(ps, params);
 			try (final ResultSet rs = ps.executeQuery()) {
-				List<String> columnLabels = getColumnLabels(rs);
+				final RowMapper<T> rowMapper = tableMeta.getRowMapper(klass, rs);
 				if (rs.next()) {
-					final T row = tableMeta.createRowFromResultSet(
-							klass, rs,
-							columnLabels, this);
+					final T row = rowMapper.map(rs, this, isWriteConnection(connection));
 					return Optional.of(row);
 				} else {
 					return Optional.<T>empty();
@@ -237,8 +459,7 @@ public class TinyORM implements Closeable {
 	 */
 	public <T extends Row<?>> BeanSelectStatement<T> single(Class<T> klass) {
 		TableMeta<T> tableMeta = this.getTableMeta(klass);
-		BeanSelectStatement<T> statement =  new BeanSelectStatement<>(
-			getReadConnection(), klass, tableMeta, this);
+		BeanSelectStatement<T> statement = new BeanSelectStatement<>(klass, tableMeta, this);
 
 		// ensure at most single result for single(). (as default behavior)
 		statement.limit(1);
@@ -254,8 +475,7 @@ public class TinyORM implements Closeable {
 	 */
 	public <T extends Row<?>> ListSelectStatement<T> search(Class<T> klass) {
 		TableMeta<T> tableMeta = this.getTableMeta(klass);
-		return new ListSelectStatement<>(getReadConnection(),
-			klass, tableMeta, this);
+		return new ListSelectStatement<>(klass, tableMeta, this);
 	}
 
 	/**
@@ -267,8 +487,7 @@ public class TinyORM implements Closeable {
 	 */
 	public <T extends Row<?>> PaginatedSelectStatement<T> searchWithPager(final Class<T> klass, final long limit) {
 		TableMeta<T> tableMeta = this.getTableMeta(klass);
-		return new PaginatedSelectStatement<>(getReadConnection(),
-			klass, tableMeta, this, limit);
+		return new PaginatedSelectStatement<>(klass, tableMeta, this, limit);
 	}
 
 	/**
@@ -279,7 +498,7 @@ public class TinyORM implements Closeable {
 	 * @param params SQL parameters
 	 */
 	public <T extends Row<?>> List<T> searchBySQL(final Class<T> klass, final String sql, final List<Object> params) {
-		return searchBySQL(klass, sql, params, getReadConnection());
+		return executeRead(sql, params, rs -> mapRowListFromResultSet(klass, rs, false));
 	}
 
 	/**
@@ -295,7 +514,7 @@ public class TinyORM implements Closeable {
 		try (final PreparedStatement ps = prepareStatement(sql, connection)) {
 			JDBCUtils.fillPreparedStatementParams(ps, params);
 			try (final ResultSet rs = ps.executeQuery()) {
-				return mapRowListFromResultSet(klass, rs);
+				return mapRowListFromResultSet(klass, rs, isWriteConnection(connection));
 			}
 		} catch (final SQLException ex) {
 			throw new UncheckedRichSQLException(ex, sql, params);
@@ -325,6 +544,9 @@ public class TinyORM implements Closeable {
 
 	/**
 	 * Search by SQL with Pager.
+	 * The SQL selects the page by itself, e.g. {@code WHERE id < ?}. Use
+	 * {@code searchWithPager(klass, limit).keyset(token)} to build it from
+	 * the {@code ORDER BY} columns.
 	 *
 	 * @param klass Row class
 	 * @param sql SQL query
@@ -351,7 +573,7 @@ public class TinyORM implements Closeable {
 		try (final PreparedStatement ps = this.prepareStatement(limitedSql, connection)) {
 			JDBCUtils.fillPreparedStatementParams(ps, params);
 			try (final ResultSet rs = ps.executeQuery()) {
-				List<T> rows = this.mapRowListFromResultSet(klass, rs);
+				List<T> rows = this.mapRowListFromResultSet(klass, rs, isWriteConnection(connection));
 				return new Paginated<>(rows, entriesPerPage);
 			}
 		} catch (final SQLException ex) {
@@ -363,6 +585,16 @@ public class TinyORM implements Closeable {
 		return new UpdateRowStatement<>(row, this);
 	}
 
+	/**
+	 * Create new UpdateBatch to send many {@code row.update()} statements by
+	 * JDBC batch.
+	 *
+	 * @return update batch object
+	 */
+	public UpdateBatch updateBatch() {
+		return new UpdateBatch(this);
+	}
+
 	/**
 	 * Execute an UPDATE, INSERT, and DELETE query.
 	 *
@@ -405,14 +637,20 @@ public class TinyORM implements Closeable {
 		}
 	}
 
-	<T extends Row<?>> List<T> mapRowListFromResultSet(Class<T> klass, ResultSet rs) throws SQLException {
+	/**
+	 * @param writeConnection true if the result set is read from the write
+	 *        connection
+	 */
+	<T extends Row<?>> List<T> mapRowListFromResultSet(Class<T> klass, ResultSet rs, boolean writeConnection)
+			throws SQLException {
 		TableMeta<T> tableMeta = this.getTableMeta(klass);
 		ArrayList<T> rows = new ArrayList<>();
-		List<String> columnLabels = getColumnLabels(rs);
+		RowMapper<T> rowMapper = tableMeta.getRowMapper(klass, rs);
 		while (rs.next()) {
-			T row = tableMeta.createRowFromResultSet(klass, rs, columnLabels, this);
+			T row = rowMapper.map(rs, this, writeConnection);
 			rows.add(row);
 		}
+		LazyLoader.batch(this, tableMeta, rows);
 		return rows;
 	}
 
@@ -545,16 +783,17 @@ public class TinyORM implements Closeable {
 		final String identifierQuoteString = this.getIdentifierQuoteString();
 		final Query where = tableMeta.createWhereClauseFromRow(row,
 			identifierQuoteString);
+		this.evictFromIdentityMap(tableMeta, row);
 
-		final Query query = new QueryBuilder(identifierQuoteString)
-			.appendQuery("DELETE FROM ")
-			.appendIdentifier(tableName)
-			.appendQuery(" WHERE ")
-			.append(where)
-			.build();
-
-		final String sql = query.getSQL();
-		final List<Object> params = query.getParameters();
+		final String sql = tableMeta.getSqlTemplate(Arrays.asList("DELETE", identifierQuoteString),
+			() -> new QueryBuilder(identifierQuoteString)
+				.appendQuery("DELETE FROM ")
+				.appendIdentifier(tableName)
+				.appendQuery(" WHERE ")
+				.appendQuery(where.getSQL())
+				.build()
+				.getSQL());
+		final List<Object> params = where.getParameters();
 		final int result;
 		try (final PreparedStatement ps = this.prepareStatement(sql)) {
 			JDBCUtils.fillPreparedStatementParams(ps, params);
@@ -564,36 +803,114 @@ public class TinyORM implements Closeable {
 		}
 		final int updated = result;
 		if (updated != 1) {
-			throw new RuntimeException("Cannot delete row: " + query);
+			throw new RuntimeException("Cannot delete row: " + new Query(sql, params));
 		}
+		this.invalidateCaches(tableMeta, tableMeta.getPrimaryKeyValues(row));
 	}
 
+	/**
+	 * Delete rows by primary keys. Rows are deleted by
+	 * {@code DELETE FROM ... WHERE pk IN (...)} statements, 1000 rows per
+	 * statement.
+	 *
+	 * @param rows Rows to delete. All rows must be the same class.
+	 * @return The number of deleted rows per statement.
+	 */
+	public <T extends Row<?>> int[] deleteAll(final Collection<T> rows) {
+		return this.deleteAll(rows, 1000);
+	}
+
+	/**
+	 * Delete rows by primary keys. Rows are deleted by
+	 * {@code DELETE FROM ... WHERE pk IN (...)} statements, or
+	 * {@code WHERE (pk1,pk2) IN ((...),...)} for composite primary keys.
+	 *
+	 * @param rows Rows to delete. All rows must be the same class.
+	 * @param chunkSize The maximum number of rows per statement
+	 * @return The number of deleted rows per statement.
+	 */
+	public <T extends Row<?>> int[] deleteAll(final Collection<T> rows, final int chunkSize) {
+		if (chunkSize < 1) {
+			throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+		}
+		if (rows.isEmpty()) {
+			return new int[0];
+		}
+
+		final List<T> rowList = new ArrayList<>(rows);
+		final Class<?> klass = rowList.get(0).getClass();
+		for (T row : rowList) {
+			if (row.getClass() != klass) {
+				throw new IllegalArgumentException("All rows must be " + klass.getName() + ": " + row.getClass().getName());
+			}
+		}
+		@SuppressWarnings("unchecked")
+		final TableMeta<T> tableMeta = this.getTableMeta((Class<T>)klass);
+		final String identifierQuoteString = this.getIdentifierQuoteString();
+
+		final int[] counts = new int[(rowList.size() + chunkSize - 1) / chunkSize];
+		for (int i = 0; i < counts.length; ++i) {
+			final List<T> chunk = rowList.subList(i * chunkSize, Math.min(rowList.size(), (i + 1) * chunkSize));
+			final Query query = new QueryBuilder(identifierQuoteString)
+				.appendQuery("DELETE FROM ")
+				.appendIdentifier(tableMeta.getName())
+				.appendQuery(" WHERE ")
+				.append(tableMeta.createWhereClauseFromRows(chunk, identifierQuoteString))
+				.build();
+			chunk.forEach(row -> this.evictFromIdentityMap(tableMeta, row));
+			counts[i] = this.updateBySQL(query);
+			chunk.forEach(row -> this.invalidateCaches(tableMeta, tableMeta.getPrimaryKeyValues(row)));
+		}
+		return counts;
+	}
+
+	@SuppressWarnings("unchecked")
 	<T extends Row<?>> Optional<T> refetch(final T row) {
-	    return refetch(row, getReadConnection());
+		final TableMeta<T> tableMeta = this.getTableMeta((Class<T>)row.getClass());
+		return refetch(row, isReadYourWritesTable(tableMeta.getName()) ? getConnection() : getReadConnection());
 	}
 
 	@SuppressWarnings("unchecked")
 	<T extends Row<?>> Optional<T> refetch(final T row, final Connection connection) {
 		final TableMeta<T> tableMeta = this.getTableMeta((Class<T>)row.getClass());
+		final IdentityMap identityMap = this.identityMap;
+		if (identityMap != null) {
+			final Optional<T> cached = identityMap.get((Class<T>)row.getClass(), tableMeta.getName(),
+				tableMeta.getPrimaryKeyValues(row));
+			if (cached.isPresent()) {
+				return cached;
+			}
+		}
+		// refetch() reads the database, but the fresh row can be cached.
+		final boolean useSharedCache = tableMeta.isCacheable() && !this.hasActiveTransaction();
+		final long stamp = useSharedCache ? SharedRowCache.stamp(tableMeta) : 0;
 		final String identifierQuoteString = this.getIdentifierQuoteString();
 		final Query where = tableMeta.createWhereClauseFromRow(row, identifierQuoteString);
 
-		final Query query = new QueryBuilder(identifierQuoteString)
-				.appendQuery("SELECT * FROM ")
+		final boolean columnPruning = this.columnPruning || tableMeta.hasLazyColumns();
+		final String sql = tableMeta.getSqlTemplate(Arrays.asList("REFETCH", identifierQuoteString, columnPruning),
+			() -> new QueryBuilder(identifierQuoteString)
+				.appendQuery("SELECT ")
+				.appendQuery(columnPruning ? tableMeta.renderColumnList(identifierQuoteString) : "*")
+				.appendQuery(" FROM ")
 				.appendIdentifier(tableMeta.getName())
 				.appendQuery(" WHERE ")
-				.append(where)
-				.build();
-
-		final String sql = query.getSQL();
-		final List<Object> params = query.getParameters();
+				.appendQuery(where.getSQL())
+				.build()
+				.getSQL());
+		final List<Object> params = where.getParameters();
 		try (final PreparedStatement ps = prepareStatement(sql, connection)) {
 			JDBCUtils.fillPreparedStatementParams(ps, params);
 			try (final ResultSet rs = ps.executeQuery()) {
-				List<String> columnLabels = getColumnLabels(rs);
+				final RowMapper<T> rowMapper = tableMeta.getRowMapper((Class<T>)row.getClass(), rs);
 				if (rs.next()) {
-					final T refetched = tableMeta.createRowFromResultSet((Class<T>)row.getClass(), rs, columnLabels,
-							this);
+					final T refetched = rowMapper.map(rs, this, isWriteConnection(connection));
+					if (identityMap != null) {
+						identityMap.put(tableMeta.getName(), tableMeta.getPrimaryKeyValues(refetched), refetched);
+					}
+					if (useSharedCache) {
+						SharedRowCache.put(tableMeta, (Class<T>)row.getClass(), refetched, stamp);
+					}
 					return Optional.of(refetched);
 				} else {
 					return Optional.<T>empty();
@@ -628,12 +945,38 @@ public class TinyORM implements Closeable {
 	}
 
 	String getIdentifierQuoteString() {
-		try {
-			return getConnection().getMetaData()
-				.getIdentifierQuoteString();
-		} catch (SQLException e) {
-			throw new RuntimeException(e);
+		return getDialect().getIdentifierQuoteString();
+	}
+
+	/**
+	 * @return The fetch size that makes the driver stream rows.
+	 */
+	int getStreamingFetchSize() {
+		return getDialect().getStreamingFetchSize();
+	}
+
+	/**
+	 * Get the metadata snapshot. It's captured from the connection in use, or
+	 * the read connection, so building a read query doesn't borrow the write
+	 * connection.
+	 * <p>
+	 * The snapshot is shared by the instances created with the same connection
+	 * provider, or the same connection, since a {@code TinyORM} usually lives
+	 * for one request.
+	 */
+	DatabaseDialect getDialect() {
+		DatabaseDialect dialect = this.dialect;
+		if (dialect == null) {
+			final Object key = connectionProvider != null ? connectionProvider : connection;
+			dialect = DIALECTS.get(key);
+			if (dialect == null) {
+				final Connection current = connection != null ? connection : readConnection;
+				dialect = DatabaseDialect.of(current != null ? current : getReadConnection());
+				DIALECTS.put(key, dialect);
+			}
+			this.dialect = dialect;
 		}
+		return dialect;
 	}
 
 	/**
@@ -807,6 +1150,34 @@ public class TinyORM implements Closeable {
 		}
 	}
 
+	/**
+	 * Create stream from query, that fetches rows while the stream is read.
+	 * You must close the stream after use. I mean you should use try-with-resources for return value from this method.
+	 * <p>
+	 * With MySQL, the connection can't run other queries until the stream is
+	 * closed, unless {@code useCursorFetch=true} is set and the fetch size
+	 * is positive.
+	 *
+	 * @param sql SQL
+	 * @param params Parameters
+	 * @param connection Database connection to use.
+	 * @param fetchSize Fetch size. {@code Integer.MIN_VALUE} makes MySQL stream row by row.
+	 * @return stream, that generates result set.
+	 */
+	public Stream<ResultSet> executeStream(final String sql, final List<Object> params, final Connection connection,
+			final int fetchSize) {
+		try {
+			final PreparedStatement ps = prepareStatementForStreaming(sql, connection, fetchSize);
+			JDBCUtils.fillPreparedStatementParams(ps, params);
+
+			final ResultSet rs = ps.executeQuery();
+			ResultSetIterator<ResultSet> iterator = new ResultSetIterator<>(ps, rs, sql, params, resultSet -> resultSet);
+			return iterator.toStream();
+		} catch (SQLException e) {
+			throw new RuntimeException(new RichSQLException(e, sql, params));
+		}
+	}
+
 	/**
 	 * Create stream from query.
 	 * You must close the stream after use. I mean you should use try-with-resources for return value from this method.
@@ -871,6 +1242,8 @@ public class TinyORM implements Closeable {
 				if (hasActiveTransaction()) {
 					return;
 				}
+				this.clearStatementCache();
+				this.clearIdentityMap();
 				if (connection != null) {
 					if (!connection.isClosed()) {
 						connection.close();
@@ -883,6 +1256,13 @@ public class TinyORM implements Closeable {
 					}
 					readConnection = null;
 				}
+				for (Connection replicaConnection : replicaConnections.values()) {
+					replicasByConnection.remove(replicaConnection);
+					if (!replicaConnection.isClosed()) {
+						replicaConnection.close();
+					}
+				}
+				replicaConnections.clear();
 				if (transactionManager != null) {
 					transactionManager = null;
 				}
@@ -892,6 +1272,309 @@ public class TinyORM implements Closeable {
 		}
 	}
 
+	/**
+	 * Enable the cache of prepared statements. Statements are cached per
+	 * connection and SQL, and the least recently used one is closed when the
+	 * cache is full.
+	 *
+	 * @param maxSize The maximum number of cached statements
+	 */
+	public void enableStatementCache(int maxSize) {
+		final PreparedStatementCache old = this.statementCache;
+		this.statementCache = new PreparedStatementCache(maxSize);
+		if (old != null) {
+			old.close();
+		}
+	}
+
+	/**
+	 * Disable the cache of prepared statements, and close cached statements.
+	 */
+	public void disableStatementCache() {
+		final PreparedStatementCache old = this.statementCache;
+		this.statementCache = null;
+		if (old != null) {
+			old.close();
+		}
+	}
+
+	/**
+	 * Close cached statements. The cache stays enabled.
+	 */
+	public void clearStatementCache() {
+		final PreparedStatementCache cache = this.statementCache;
+		if (cache != null) {
+			cache.clear();
+		}
+	}
+
+	/**
+	 * @return The number of statements reused from the cache.
+	 */
+	public long getStatementCacheHitCount() {
+		final PreparedStatementCache cache = this.statementCache;
+		return cache == null ? 0 : cache.getHitCount();
+	}
+
+	/**
+	 * @return The number of statements prepared because they weren't in the
+	 *         cache.
+	 */
+	public long getStatementCacheMissCount() {
+		final PreparedStatementCache cache = this.statementCache;
+		return cache == null ? 0 : cache.getMissCount();
+	}
+
+	/**
+	 * Enable the identity map. {@code single(...).where("id=?", id)} and
+	 * {@code row.refetch()} return the row found before by the same primary
+	 * keys, without a query. Updated and deleted rows are evicted, and the map
+	 * is cleared when a transaction is rolled back.
+	 * <p>
+	 * Use it for one unit of work. Changes by other connections, or by
+	 * {@code updateBySQL}, are not visible through the map.
+	 */
+	public void enableIdentityMap() {
+		if (this.identityMap == null) {
+			this.identityMap = new IdentityMap(this);
+		}
+	}
+
+	/**
+	 * Disable the identity map, and drop the rows in it.
+	 */
+	public void disableIdentityMap() {
+		this.identityMap = null;
+	}
+
+	/**
+	 * Drop the rows in the identity map. The map stays enabled.
+	 */
+	public void clearIdentityMap() {
+		final IdentityMap identityMap = this.identityMap;
+		if (identityMap != null) {
+			identityMap.clear();
+		}
+	}
+
+	/**
+	 * Select only the columns mapped by the row class, instead of
+	 * {@code SELECT *}, in {@code single()}, {@code search()},
+	 * {@code searchWithPager()} and {@code row.refetch()}. Columns the row
+	 * class doesn't declare, e.g. large TEXT or BLOB columns, aren't
+	 * transferred, and {@code getExtraColumn} doesn't find them.
+	 */
+	public void enableColumnPruning() {
+		this.columnPruning = true;
+	}
+
+	/**
+	 * Select all columns by {@code SELECT *}. This is the default.
+	 */
+	public void disableColumnPruning() {
+		this.columnPruning = false;
+	}
+
+	boolean isColumnPruningEnabled() {
+		return this.columnPruning;
+	}
+
+	IdentityMap getIdentityMap() {
+		return this.identityMap;
+	}
+
+	<T extends Row<?>> void evictFromIdentityMap(TableMeta<T> tableMeta, Object row) {
+		final IdentityMap identityMap = this.identityMap;
+		if (identityMap != null) {
+			identityMap.evict(tableMeta.getName(), tableMeta.getPrimaryKeyValues(row));
+		}
+	}
+
+	/**
+	 * Invalidate the {@link QueryCache} of the table, after rows are inserted.
+	 */
+	<T extends Row<?>> void invalidateCaches(TableMeta<T> tableMeta) {
+		this.invalidateCaches(new CacheInvalidation(tableMeta.getName(), null));
+	}
+
+	/**
+	 * Invalidate the {@link QueryCache} of the table and the rows in the
+	 * {@link SharedRowCache}, after the rows are changed.
+	 *
+	 * @param primaryKeys Primary key values. Empty means all rows of the
+	 *            table.
+	 */
+	<T extends Row<?>> void invalidateCaches(TableMeta<T> tableMeta, List<Object> primaryKeys) {
+		this.invalidateCaches(new CacheInvalidation(tableMeta.getName(),
+			tableMeta.isCacheable() ? primaryKeys : null));
+	}
+
+	/**
+	 * In a transaction, caches are invalidated again after commit, since
+	 * other connections can cache the old rows until then.
+	 */
+	private void invalidateCaches(CacheInvalidation invalidation) {
+		invalidation.run();
+		this.markWritten(invalidation.tableName);
+		if (this.hasActiveTransaction()) {
+			synchronized (this.invalidationsAfterCommit) {
+				final TransactionManager transactionManager = this.getTransactionManager();
+				if (transactionManager != invalidationHookedTransactionManager) {
+					// End hooks run after each commit, and they are never removed.
+					transactionManager.txnAddEndHook(this::invalidateAfterCommit);
+					invalidationHookedTransactionManager = transactionManager;
+				}
+				invalidationsAfterCommit.add(invalidation);
+			}
+		}
+	}
+
+	private void invalidateAfterCommit() {
+		final List<CacheInvalidation> invalidations;
+		synchronized (this.invalidationsAfterCommit) {
+			invalidations = new ArrayList<>(invalidationsAfterCommit);
+			invalidationsAfterCommit.clear();
+		}
+		invalidations.forEach(CacheInvalidation::run);
+		// The window starts when other connections can see the rows.
+		invalidations.forEach(invalidation -> this.markWritten(invalidation.tableName));
+	}
+
+	private static final class CacheInvalidation {
+		private final String tableName;
+		// null if no row is changed
+		private final List<Object> primaryKeys;
+
+		CacheInvalidation(String tableName, List<Object> primaryKeys) {
+			this.tableName = tableName;
+			this.primaryKeys = primaryKeys;
+		}
+
+		void run() {
+			QueryCache.invalidate(tableName);
+			if (primaryKeys != null) {
+				SharedRowCache.invalidate(tableName, primaryKeys);
+			}
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof CacheInvalidation)) {
+				return false;
+			}
+			final CacheInvalidation other = (CacheInvalidation)o;
+			return tableName.equals(other.tableName) && Objects.equals(primaryKeys, other.primaryKeys);
+		}
+
+		@Override
+		public int hashCode() {
+			return tableName.hashCode() * 31 + Objects.hashCode(primaryKeys);
+		}
+	}
+
+	/**
+	 * Hedge reads by {@code single()}, {@code search()}, {@code count()} and
+	 * {@code searchBySQL()}: if a query doesn't answer within the percentile
+	 * of recent latencies, the same query is sent to another replica, the
+	 * first result is used and the other query is cancelled.
+	 * <p>
+	 * It works only with {@link ReadReplicas} of two or more replicas, and
+	 * only outside of transactions. Queries run on the executor of
+	 * {@link #setExecutor(Executor)}.
+	 *
+	 * @param percentile Percentile of the delay before hedging, e.g. 0.95
+	 */
+	public void enableHedgedReads(double percentile) {
+		if (!(percentile > 0 && percentile <= 1)) {
+			throw new IllegalArgumentException("percentile must be in (0, 1]: " + percentile);
+		}
+		this.hedgePercentile = percentile;
+	}
+
+	/**
+	 * Send each read to a single replica, which is the default.
+	 */
+	public void disableHedgedReads() {
+		this.hedgePercentile = 0;
+	}
+
+	/**
+	 * Execute a read query on the read connection, hedged across the
+	 * replicas if {@link #enableHedgedReads(double)} is on.
+	 */
+	<T> T executeRead(final String sql, final List<Object> params, final ResultSetCallback<T> callback) {
+		final double percentile = this.hedgePercentile;
+		final ReadReplicas readReplicas = this.readReplicas;
+		if (percentile > 0 && readReplicas != null && readReplicas.getReplicas().size() > 1
+			&& !isTransactionStarted()) {
+			final long delayNanos = readReplicas.getLatencyPercentileNanos(percentile, HEDGE_MIN_SAMPLES);
+			if (delayNanos >= 0) {
+				return new HedgedQuery<T>(this, readReplicas, sql, params).execute(delayNanos, callback);
+			}
+		}
+		return executeQuery(sql, params, callback, getReadConnection());
+	}
+
+	/**
+	 * Read the tables written through this {@code TinyORM} from the write
+	 * connection for the window after each write, instead of the read
+	 * connection, so that the changes are visible despite replication
+	 * delays. Other tables are read from the read connection.
+	 * <p>
+	 * Inserts, updates and deletes by row classes mark the table. Writes by
+	 * {@code updateBySQL()} don't: use {@code forceWriteConnection()} after
+	 * them.
+	 *
+	 * @param window How long reads stick to the write connection, e.g. the
+	 *            expected replication delay
+	 */
+	public void enableReadYourWrites(Duration window) {
+		if (window.isNegative() || window.isZero()) {
+			throw new IllegalArgumentException("window must be positive: " + window);
+		}
+		this.readYourWritesWindow = window;
+	}
+
+	/**
+	 * Read from the read connection regardless of writes, which is the
+	 * default.
+	 */
+	public void disableReadYourWrites() {
+		this.readYourWritesWindow = null;
+		this.writtenTables.clear();
+	}
+
+	/**
+	 * @return true if the connection is the write connection of this instance.
+	 */
+	boolean isWriteConnection(Connection connection) {
+		return connection != null && connection == this.connection;
+	}
+
+	/**
+	 * @return true if reads of the table should use the write connection,
+	 *         since it's written within the window of
+	 *         {@link #enableReadYourWrites(Duration)}.
+	 */
+	boolean isReadYourWritesTable(String tableName) {
+		final Long deadline = writtenTables.get(tableName);
+		if (deadline == null) {
+			return false;
+		}
+		if (deadline - System.nanoTime() > 0) {
+			return true;
+		}
+		writtenTables.remove(tableName, deadline);
+		return false;
+	}
+
+	private void markWritten(String tableName) {
+		final Duration window = this.readYourWritesWindow;
+		if (window != null) {
+			writtenTables.put(tableName, System.nanoTime() + window.toNanos());
+		}
+	}
+
 	public Integer getQueryTimeout() {
 		return queryTimeout;
 	}
@@ -939,7 +1622,7 @@ public class TinyORM implements Closeable {
 	 * @return a transaction scope
 	 */
 	public TransactionScope createTransactionScope() throws SQLException {
-		return new TransactionScope(getTransactionManager());
+		return new RollbackAwareTransactionScope(getTransactionManager());
 	}
 
 	/**
@@ -958,6 +1641,45 @@ public class TinyORM implements Closeable {
 	 */
 	public void transactionRollback() throws SQLException {
 		getTransactionManager().txnRollback();
+		this.afterRollback();
+	}
+
+	/**
+	 * Forget the rows found and the invalidations made in the rolled back
+	 * transaction.
+	 */
+	private void afterRollback() {
+		this.clearIdentityMap();
+		synchronized (this.invalidationsAfterCommit) {
+			invalidationsAfterCommit.clear();
+		}
+	}
+
+	/**
+	 * A transaction scope that tells the rollback to this {@code TinyORM},
+	 * including the rollback on close without commit.
+	 */
+	private final class RollbackAwareTransactionScope extends TransactionScope {
+		private boolean ended;
+
+		RollbackAwareTransactionScope(TransactionManager transactionManager) throws SQLException {
+			super(transactionManager);
+		}
+
+		@Override
+		public void commit() throws SQLException {
+			super.commit();
+			this.ended = true;
+		}
+
+		@Override
+		public void rollback() throws SQLException {
+			if (!this.ended) {
+				super.rollback();
+				this.ended = true;
+				TinyORM.this.afterRollback();
+			}
+		}
 	}
 
 	/**
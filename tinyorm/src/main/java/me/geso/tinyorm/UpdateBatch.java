@@ -0,0 +1,162 @@
+package me.geso.tinyorm;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import me.geso.jdbcutils.JDBCUtils;
+import me.geso.jdbcutils.Query;
+import me.geso.jdbcutils.UncheckedRichSQLException;
+
+/**
+ * Collects {@link UpdateRowStatement}s and sends them by JDBC batch.
+ *
+ * <pre>{@code
+ * try (UpdateBatch batch = orm.updateBatch()) {
+ *     for (Member member : members) {
+ *         batch.add(member.update().set("point", member.getPoint() + 1));
+ *     }
+ * }
+ * }</pre>
+ *
+ * {@code BeforeUpdateHandler} triggers run once for each statement when it's
+ * added. Statements are sent in the order they were added; consecutive
+ * statements with the same SQL (same table, same SET columns) share one
+ * {@code PreparedStatement}. Pending statements are sent when
+ * {@link #batchSize(int)} statements are collected, and on {@link #flush()} or
+ * {@link #close()}. Flush it before committing the transaction.
+ * <p>
+ * If sending fails, the pending statements are dropped: the statements sent
+ * before the failure are not sent again by the next flush.
+ */
+public class UpdateBatch implements AutoCloseable {
+	private final TinyORM orm;
+	// runs of consecutive statements with the same SQL
+	private final List<Group> pending = new ArrayList<>();
+	private final List<Integer> counts = new ArrayList<>();
+	private int pendingSize = 0;
+	private int batchSize = 1000;
+
+	UpdateBatch(TinyORM orm) {
+		this.orm = orm;
+	}
+
+	/**
+	 * Set the number of statements to collect before sending them.
+	 * Default value is 1000.
+	 *
+	 * @param batchSize the number of statements
+	 * @return Object itself.
+	 */
+	public UpdateBatch batchSize(int batchSize) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+		}
+		this.batchSize = batchSize;
+		return this;
+	}
+
+	/**
+	 * Add a statement. A statement without SET clause is not sent, and its
+	 * affected count is 0.
+	 *
+	 * @param stmt the statement
+	 * @return Object itself.
+	 */
+	public UpdateBatch add(UpdateRowStatement<?> stmt) {
+		final int index = counts.size();
+		counts.add(0);
+		if (!stmt.hasSetClause()) {
+			return this;
+		}
+
+		final Query query = stmt.prepare();
+		Group group = pending.isEmpty() ? null : pending.get(pending.size() - 1);
+		if (group == null || !group.sql.equals(query.getSQL())) {
+			group = new Group(query.getSQL());
+			pending.add(group);
+		}
+		group.entries.add(new Entry(index, query.getParameters(), stmt));
+		if (++pendingSize >= batchSize) {
+			this.send();
+		}
+		return this;
+	}
+
+	/**
+	 * Send pending statements.
+	 *
+	 * @return The affected row counts of the statements added since the last
+	 *         flush, in the order they were added. The driver may report
+	 *         {@code Statement.SUCCESS_NO_INFO} instead of the count.
+	 */
+	public int[] flush() {
+		try {
+			this.send();
+			return counts.stream().mapToInt(Integer::intValue).toArray();
+		} finally {
+			counts.clear();
+		}
+	}
+
+	/**
+	 * Send pending statements.
+	 */
+	@Override
+	public void close() {
+		this.flush();
+	}
+
+	private void send() {
+		try {
+			for (Group group : pending) {
+				this.executeBatch(group.sql, group.entries);
+			}
+		} finally {
+			pending.clear();
+			pendingSize = 0;
+		}
+	}
+
+	private void executeBatch(String sql, List<Entry> entries) {
+		List<Object> params = null;
+		try (final PreparedStatement ps = orm.prepareStatement(sql)) {
+			for (Entry entry : entries) {
+				params = entry.params;
+				JDBCUtils.fillPreparedStatementParams(ps, params);
+				ps.addBatch();
+			}
+			final int[] result = ps.executeBatch();
+			for (int i = 0; i < result.length; ++i) {
+				counts.set(entries.get(i).index, result[i]);
+			}
+			for (Entry entry : entries) {
+				entry.stmt.invalidateCaches();
+			}
+		} catch (final SQLException ex) {
+			throw new UncheckedRichSQLException(ex, sql, params);
+		}
+	}
+
+	private static class Group {
+		private final String sql;
+		private final List<Entry> entries = new ArrayList<>();
+
+		Group(String sql) {
+			this.sql = sql;
+		}
+	}
+
+	private static class Entry {
+		private final int index;
+		private final List<Object> params;
+		private final UpdateRowStatement<?> stmt;
+
+		Entry(int index, List<Object> params, UpdateRowStatement<?> stmt) {
+			this.index = index;
+			this.params = params;
+			this.stmt = stmt;
+		}
+	}
+}
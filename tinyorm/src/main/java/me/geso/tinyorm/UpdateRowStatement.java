@@ -15,6 +15,8 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -108,32 +110,7 @@ public class UpdateRowStatement<T extends Row<?>> {
 			return; // There is no updates.
 		}
 
-		this.tableMeta.invokeBeforeUpdateTriggers(this);
-		String tableName = tableMeta.getName();
-
-		final Query where = tableMeta.createWhereClauseFromRow(row,
-				this.identifierQuoteString);
-		if (where.getSQL().isEmpty()) {
-			throw new RuntimeException("Empty where clause");
-		}
-		Query query = new QueryBuilder(this.identifierQuoteString)
-			.appendQuery("UPDATE ")
-			.appendIdentifier(tableName)
-			.appendQuery(" SET ")
-			.appendQuery(
-				set.keySet()
-					.stream()
-					.map(col -> JDBCUtils.quoteIdentifier(col,
-						identifierQuoteString) + "=?")
-					.collect(
-						Collectors.joining(",")))
-			.addParameters(set.values())
-			.appendQuery(" WHERE ")
-			.append(where)
-			.build();
-
-		this.executed = true;
-
+		final Query query = this.prepare();
 		final String sql = query.getSQL();
 		final List<Object> params = query.getParameters();
 		try (final PreparedStatement ps = orm.prepareStatement(sql)) {
@@ -142,6 +119,51 @@ public class UpdateRowStatement<T extends Row<?>> {
 		} catch (final SQLException ex) {
 			throw new UncheckedRichSQLException(ex, sql, params);
 		}
+		this.invalidateCaches();
+	}
+
+	/**
+	 * Invalidate the caches of the row. Call it after the query is sent.
+	 */
+	void invalidateCaches() {
+		orm.invalidateCaches(tableMeta, tableMeta.getPrimaryKeyValues(row));
+	}
+
+	/**
+	 * Run the triggers and build the query. The statement is marked as
+	 * executed, the caller must send the query.
+	 */
+	Query prepare() {
+		this.tableMeta.invokeBeforeUpdateTriggers(this);
+		final Query where = tableMeta.createWhereClauseFromRow(row,
+				this.identifierQuoteString);
+		if (where.getSQL().isEmpty()) {
+			throw new RuntimeException("Empty where clause");
+		}
+		orm.evictFromIdentityMap(tableMeta, row);
+		final List<String> columns = new ArrayList<>(set.keySet());
+		final String sql = tableMeta.getSqlTemplate(Arrays.asList("UPDATE", identifierQuoteString, columns),
+			() -> new QueryBuilder(this.identifierQuoteString)
+				.appendQuery("UPDATE ")
+				.appendIdentifier(tableMeta.getName())
+				.appendQuery(" SET ")
+				.appendQuery(
+					columns
+						.stream()
+						.map(col -> JDBCUtils.quoteIdentifier(col,
+							identifierQuoteString) + "=?")
+						.collect(
+							Collectors.joining(",")))
+				.appendQuery(" WHERE ")
+				.appendQuery(where.getSQL())
+				.build()
+				.getSQL());
+		final List<Object> params = new ArrayList<>(set.values());
+		params.addAll(where.getParameters());
+		final Query query = new Query(sql, params);
+
+		this.executed = true;
+		return query;
 	}
 
 	/**
@@ -0,0 +1,26 @@
+package me.geso.tinyorm.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Cache rows of the class in the process-wide shared row cache.
+ * Use it for hot tables that are mostly read.
+ *
+ * @see me.geso.tinyorm.SharedRowCache
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Cacheable {
+	/**
+	 * @return The maximum number of cached rows of the table.
+	 */
+	int maxSize() default 10000;
+
+	/**
+	 * @return Seconds to keep a row after it's cached. 0 means forever.
+	 */
+	long expireAfterWriteSeconds() default 60;
+}
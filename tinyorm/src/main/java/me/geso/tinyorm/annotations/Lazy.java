@@ -0,0 +1,24 @@
+package me.geso.tinyorm.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Leave the column out of selects, and fetch it on first access. The field
+ * must be a {@link me.geso.tinyorm.LazyColumn}, and the table must have
+ * primary keys.
+ *
+ * <pre>{@code
+ * @Lazy
+ * @JsonColumn
+ * private LazyColumn<Document> document;
+ * }</pre>
+ *
+ * @see me.geso.tinyorm.LazyColumn
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Lazy {
+}
@@ -0,0 +1,40 @@
+package me.geso.tinyorm.cache;
+
+import java.util.List;
+
+/**
+ * Broadcast invalidations of the shared row cache to other processes.
+ * <p>
+ * The local cache is invalidated before {@link #publish} is called, so the
+ * bus only has to deliver messages to other processes, e.g. by Redis pub/sub.
+ * Call the subscribed listeners when a message arrives from them.
+ *
+ * @see me.geso.tinyorm.SharedRowCache#setInvalidationBus(InvalidationBus)
+ */
+public interface InvalidationBus {
+	/**
+	 * Send an invalidation to other processes.
+	 *
+	 * @param tableName Table name
+	 * @param primaryKeys Primary key values of the row. Empty means all rows
+	 *            of the table.
+	 */
+	void publish(String tableName, List<Object> primaryKeys);
+
+	/**
+	 * Register the listener for invalidations sent by other processes.
+	 *
+	 * @param listener The listener
+	 */
+	void subscribe(InvalidationListener listener);
+
+	/**
+	 * Unregister the listener, when the bus is replaced by
+	 * {@link me.geso.tinyorm.SharedRowCache#setInvalidationBus(InvalidationBus)}.
+	 * Messages delivered to the listener after that are ignored anyway.
+	 *
+	 * @param listener The listener passed to {@link #subscribe}
+	 */
+	default void unsubscribe(InvalidationListener listener) {
+	}
+}
@@ -0,0 +1,16 @@
+package me.geso.tinyorm.cache;
+
+import java.util.List;
+
+/**
+ * Receive invalidations of the shared row cache.
+ */
+@FunctionalInterface
+public interface InvalidationListener {
+	/**
+	 * @param tableName Table name
+	 * @param primaryKeys Primary key values of the row. Empty means all rows
+	 *            of the table.
+	 */
+	void invalidate(String tableName, List<Object> primaryKeys);
+}
@@ -0,0 +1,24 @@
+package me.geso.tinyorm.cache;
+
+/**
+ * Storage of the shared row cache, one per table. Implement it to plug
+ * another eviction policy in, e.g. Caffeine.
+ * <p>
+ * Keys are lists of primary key values, values are opaque. Implementations
+ * must be thread safe.
+ *
+ * @see RowCacheFactory
+ */
+public interface RowCache {
+	/**
+	 * @param key Primary key values
+	 * @return The cached value, or null.
+	 */
+	Object get(Object key);
+
+	void put(Object key, Object value);
+
+	void invalidate(Object key);
+
+	void invalidateAll();
+}
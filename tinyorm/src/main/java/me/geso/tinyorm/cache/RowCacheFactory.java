@@ -0,0 +1,12 @@
+package me.geso.tinyorm.cache;
+
+import me.geso.tinyorm.annotations.Cacheable;
+
+/**
+ * Create the {@link RowCache} of a table. It's called at the first use of the
+ * table.
+ */
+@FunctionalInterface
+public interface RowCacheFactory {
+	RowCache create(String tableName, Cacheable cacheable);
+}
@@ -0,0 +1,178 @@
+package me.geso.tinyorm.cache;
+
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Size and time bounded {@link RowCache}. It's the default storage of the
+ * shared row cache.
+ * <p>
+ * Eviction is a simplified W-TinyLFU. New entries go into a small LRU window.
+ * An entry pushed out of the window is admitted to the main LRU space only if
+ * it has been accessed more often than the eldest entry of the main space,
+ * counted by a count-min sketch that halves itself periodically. A scan over
+ * a big table doesn't flush the hot rows.
+ */
+public class TinyLfuRowCache implements RowCache {
+	private final int windowSize;
+	private final int mainSize;
+	private final long expireAfterWriteNanos;
+	private final LongSupplier ticker;
+	// LRU order, the eldest entry first.
+	private final LinkedHashMap<Object, Entry> window = new LinkedHashMap<>(16, 0.75f, true);
+	private final LinkedHashMap<Object, Entry> main = new LinkedHashMap<>(16, 0.75f, true);
+	private final FrequencySketch sketch;
+
+	/**
+	 * @param maxSize The maximum number of entries
+	 * @param expireAfterWriteSeconds Seconds to keep an entry. 0 means forever.
+	 */
+	public TinyLfuRowCache(int maxSize, long expireAfterWriteSeconds) {
+		this(maxSize, TimeUnit.SECONDS.toNanos(expireAfterWriteSeconds), System::nanoTime);
+	}
+
+	TinyLfuRowCache(int maxSize, long expireAfterWriteNanos, LongSupplier ticker) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+		}
+		if (expireAfterWriteNanos < 0) {
+			throw new IllegalArgumentException("expireAfterWrite must not be negative: " + expireAfterWriteNanos);
+		}
+		this.windowSize = Math.max(1, maxSize / 100);
+		this.mainSize = maxSize - windowSize;
+		this.expireAfterWriteNanos = expireAfterWriteNanos;
+		this.ticker = ticker;
+		this.sketch = new FrequencySketch(maxSize);
+	}
+
+	@Override
+	public synchronized Object get(Object key) {
+		sketch.increment(key);
+		Entry entry = window.get(key);
+		if (entry == null) {
+			entry = main.get(key);
+		}
+		if (entry == null) {
+			return null;
+		}
+		if (expireAfterWriteNanos > 0 && ticker.getAsLong() - entry.writtenAt >= expireAfterWriteNanos) {
+			this.invalidate(key);
+			return null;
+		}
+		return entry.value;
+	}
+
+	@Override
+	public synchronized void put(Object key, Object value) {
+		final Entry entry = new Entry(value, ticker.getAsLong());
+		if (main.containsKey(key)) {
+			main.put(key, entry);
+			return;
+		}
+		window.put(key, entry);
+		if (window.size() <= windowSize) {
+			return;
+		}
+
+		final Object candidate = window.keySet().iterator().next();
+		final Entry candidateEntry = window.remove(candidate);
+		if (main.size() < mainSize) {
+			main.put(candidate, candidateEntry);
+		} else if (mainSize > 0) {
+			final Object victim = main.keySet().iterator().next();
+			if (sketch.frequency(candidate) > sketch.frequency(victim)) {
+				main.remove(victim);
+				main.put(candidate, candidateEntry);
+			}
+		}
+	}
+
+	@Override
+	public synchronized void invalidate(Object key) {
+		window.remove(key);
+		main.remove(key);
+	}
+
+	@Override
+	public synchronized void invalidateAll() {
+		window.clear();
+		main.clear();
+	}
+
+	/**
+	 * @return The number of entries, including expired ones that are not
+	 *         removed yet.
+	 */
+	public synchronized int size() {
+		return window.size() + main.size();
+	}
+
+	private static final class Entry {
+		private final Object value;
+		private final long writtenAt;
+
+		Entry(Object value, long writtenAt) {
+			this.value = value;
+			this.writtenAt = writtenAt;
+		}
+	}
+
+	/**
+	 * Count-min sketch with 16 counters per entry, each counts up to 15.
+	 * Counters are halved after {@code 10 * maxSize} increments, so old
+	 * popularity fades out.
+	 */
+	private static final class FrequencySketch {
+		private static final int[] SEEDS = {0x97cb3127, 0xb492b66f, 0x9ae16a3b, 0x81dadef5};
+		private static final int MAX_COUNT = 15;
+
+		private final byte[] counters;
+		private final int mask;
+		private final int sampleSize;
+		private int additions;
+
+		FrequencySketch(int maxSize) {
+			int size = 16;
+			while (size < 16L * maxSize && size < (1 << 24)) {
+				size <<= 1;
+			}
+			this.counters = new byte[size];
+			this.mask = size - 1;
+			this.sampleSize = (int)Math.min(Integer.MAX_VALUE, 10L * maxSize);
+		}
+
+		void increment(Object key) {
+			final int hash = key.hashCode();
+			boolean added = false;
+			for (int seed : SEEDS) {
+				final int index = indexOf(hash, seed);
+				if (counters[index] < MAX_COUNT) {
+					counters[index]++;
+					added = true;
+				}
+			}
+			if (added && ++additions >= sampleSize) {
+				for (int i = 0; i < counters.length; ++i) {
+					counters[i] >>= 1;
+				}
+				additions /= 2;
+			}
+		}
+
+		int frequency(Object key) {
+			final int hash = key.hashCode();
+			int frequency = MAX_COUNT;
+			for (int seed : SEEDS) {
+				frequency = Math.min(frequency, counters[indexOf(hash, seed)]);
+			}
+			return frequency;
+		}
+
+		private int indexOf(int hash, int seed) {
+			int h = (hash + seed) * seed;
+			h ^= h >>> 16;
+			return h & mask;
+		}
+	}
+}
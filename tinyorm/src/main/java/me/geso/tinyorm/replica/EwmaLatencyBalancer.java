@@ -0,0 +1,35 @@
+package me.geso.tinyorm.replica;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Use the replica with the lowest moving average of latency, weighted by the
+ * running queries: {@code latency * (outstanding + 1)}. A slow replica gets
+ * fewer queries, but isn't starved while the others are busy.
+ * <p>
+ * Replicas without latency samples are used first. Ties are broken in turn.
+ */
+public class EwmaLatencyBalancer implements ReplicaBalancer {
+	private final AtomicInteger next = new AtomicInteger();
+
+	@Override
+	public Replica choose(List<Replica> replicas) {
+		final int offset = Math.floorMod(next.getAndIncrement(), replicas.size());
+		Replica best = null;
+		double bestCost = Double.POSITIVE_INFINITY;
+		for (int i = 0; i < replicas.size(); ++i) {
+			final Replica replica = replicas.get((offset + i) % replicas.size());
+			final double latency = replica.getLatencyNanos();
+			if (Double.isNaN(latency)) {
+				return replica;
+			}
+			final double cost = latency * (replica.getOutstandingQueries() + 1);
+			if (best == null || cost < bestCost) {
+				best = replica;
+				bestCost = cost;
+			}
+		}
+		return best;
+	}
+}
@@ -0,0 +1,43 @@
+package me.geso.tinyorm.replica;
+
+import java.util.Arrays;
+
+/**
+ * Recent query latencies of all replicas, for percentiles.
+ */
+final class LatencySamples {
+	private static final int SIZE = 1024;
+	// percentiles are sorted again after this many samples
+	private static final int RESORT_INTERVAL = 64;
+
+	private final long[] samples = new long[SIZE];
+	private int position;
+	private int size;
+	private int sinceSort;
+	private long[] sorted = new long[0];
+
+	synchronized void add(long elapsedNanos) {
+		samples[position] = elapsedNanos;
+		position = (position + 1) % SIZE;
+		if (size < SIZE) {
+			++size;
+		}
+		++sinceSort;
+	}
+
+	/**
+	 * @return The percentile, or -1 if there are fewer samples than {@code minSamples}.
+	 */
+	synchronized long percentile(double percentile, int minSamples) {
+		if (size < minSamples || size == 0) {
+			return -1;
+		}
+		if (sorted.length != size || sinceSort >= RESORT_INTERVAL) {
+			sorted = Arrays.copyOf(samples, size);
+			Arrays.sort(sorted);
+			sinceSort = 0;
+		}
+		final int index = (int)Math.ceil(percentile * size) - 1;
+		return sorted[Math.max(0, Math.min(size - 1, index))];
+	}
+}
@@ -0,0 +1,25 @@
+package me.geso.tinyorm.replica;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Use the replica with the fewest running queries. Ties are broken in turn,
+ * so idle replicas share the load.
+ */
+public class LeastOutstandingBalancer implements ReplicaBalancer {
+	private final AtomicInteger next = new AtomicInteger();
+
+	@Override
+	public Replica choose(List<Replica> replicas) {
+		final int offset = Math.floorMod(next.getAndIncrement(), replicas.size());
+		Replica best = null;
+		for (int i = 0; i < replicas.size(); ++i) {
+			final Replica replica = replicas.get((offset + i) % replicas.size());
+			if (best == null || replica.getOutstandingQueries() < best.getOutstandingQueries()) {
+				best = replica;
+			}
+		}
+		return best;
+	}
+}
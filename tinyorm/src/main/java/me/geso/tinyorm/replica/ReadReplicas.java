@@ -0,0 +1,90 @@
+package me.geso.tinyorm.replica;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.inject.Provider;
+
+/**
+ * Connection providers of read replicas, and the balancer that chooses one
+ * for each read query.
+ * <p>
+ * Create it once, and pass it to every {@code TinyORM}, so that the
+ * balancer sees the queries of all of them:
+ *
+ * <pre>{@code
+ * ReadReplicas replicas = new ReadReplicas(Arrays.asList(replica1::getConnection, replica2::getConnection),
+ *     new LeastOutstandingBalancer());
+ * TinyORM db = new TinyORM(primary::getConnection, replicas);
+ * }</pre>
+ */
+public final class ReadReplicas {
+	private final List<Replica> replicas;
+	private final ReplicaBalancer balancer;
+	private final LatencySamples latencySamples = new LatencySamples();
+
+	/**
+	 * @param connectionProviders Connection providers, e.g. connection pools, of the replicas
+	 * @param balancer Balancer
+	 */
+	public ReadReplicas(List<Provider<Connection>> connectionProviders, ReplicaBalancer balancer) {
+		if (connectionProviders.isEmpty()) {
+			throw new IllegalArgumentException("No read replicas");
+		}
+		final List<Replica> replicas = new ArrayList<>(connectionProviders.size());
+		for (Provider<Connection> connectionProvider : connectionProviders) {
+			replicas.add(new Replica(replicas.size(), connectionProvider, latencySamples));
+		}
+		this.replicas = Collections.unmodifiableList(replicas);
+		this.balancer = balancer;
+	}
+
+	/**
+	 * Use the replicas in turn.
+	 *
+	 * @param connectionProviders Connection providers of the replicas
+	 */
+	public ReadReplicas(List<Provider<Connection>> connectionProviders) {
+		this(connectionProviders, new RoundRobinBalancer());
+	}
+
+	public List<Replica> getReplicas() {
+		return replicas;
+	}
+
+	/**
+	 * Choose the replica for the next read query by the balancer.
+	 *
+	 * @return Replica
+	 */
+	public Replica choose() {
+		return balancer.choose(replicas);
+	}
+
+	/**
+	 * Choose a replica other than the one by the balancer, e.g. for a hedged
+	 * query.
+	 *
+	 * @param excluded Replica not to choose
+	 * @return Replica, or null if there is no other replica
+	 */
+	public Replica chooseOther(Replica excluded) {
+		final List<Replica> others = new ArrayList<>(replicas);
+		others.remove(excluded);
+		return others.isEmpty() ? null : balancer.choose(others);
+	}
+
+	/**
+	 * Get the percentile of the latency of recent queries (up to 1024) on
+	 * all replicas.
+	 *
+	 * @param percentile Percentile in (0, 1], e.g. 0.95
+	 * @param minSamples The number of queries needed
+	 * @return Latency in nanoseconds, or -1 if fewer queries have finished
+	 */
+	public long getLatencyPercentileNanos(double percentile, int minSamples) {
+		return latencySamples.percentile(percentile, minSamples);
+	}
+}
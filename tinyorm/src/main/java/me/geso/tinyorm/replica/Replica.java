@@ -0,0 +1,129 @@
+package me.geso.tinyorm.replica;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.inject.Provider;
+
+/**
+ * A read replica of {@link ReadReplicas}, with the statistics that
+ * balancers use. The statistics are shared by all {@code TinyORM} instances
+ * that use the replica.
+ */
+public final class Replica {
+	// weight of the latest sample in the moving average
+	private static final double EWMA_ALPHA = 0.2;
+
+	private final int index;
+	private final Provider<Connection> connectionProvider;
+	private final LatencySamples latencySamples;
+	private final AtomicInteger outstandingQueries = new AtomicInteger();
+	private final AtomicLong queryCount = new AtomicLong();
+	// NaN until the first query finishes
+	private double latencyNanos = Double.NaN;
+
+	Replica(int index, Provider<Connection> connectionProvider, LatencySamples latencySamples) {
+		this.index = index;
+		this.connectionProvider = connectionProvider;
+		this.latencySamples = latencySamples;
+	}
+
+	/**
+	 * @return The position in the providers passed to {@link ReadReplicas}.
+	 */
+	public int getIndex() {
+		return index;
+	}
+
+	public Provider<Connection> getConnectionProvider() {
+		return connectionProvider;
+	}
+
+	/**
+	 * @return The number of queries running on the replica.
+	 */
+	public int getOutstandingQueries() {
+		return outstandingQueries.get();
+	}
+
+	/**
+	 * @return The number of queries finished on the replica.
+	 */
+	public long getQueryCount() {
+		return queryCount.get();
+	}
+
+	/**
+	 * @return Exponentially weighted moving average of the query latency,
+	 *         or NaN if no query has finished yet.
+	 */
+	public synchronized double getLatencyNanos() {
+		return latencyNanos;
+	}
+
+	/**
+	 * Record the start of a query. Call {@link #end(long)} when it finishes.
+	 */
+	public void begin() {
+		outstandingQueries.incrementAndGet();
+	}
+
+	/**
+	 * Record the end of a query.
+	 *
+	 * @param elapsedNanos Time from {@link #begin()}
+	 */
+	public void end(long elapsedNanos) {
+		outstandingQueries.decrementAndGet();
+		queryCount.incrementAndGet();
+		latencySamples.add(elapsedNanos);
+		synchronized (this) {
+			latencyNanos = Double.isNaN(latencyNanos)
+				? elapsedNanos
+				: latencyNanos + EWMA_ALPHA * (elapsedNanos - latencyNanos);
+		}
+	}
+
+	/**
+	 * Wrap the statement, so that its {@code execute*} calls are recorded by
+	 * {@link #begin()} and {@link #end(long)}.
+	 *
+	 * @param statement Statement prepared on a connection of the replica
+	 * @return Recording statement
+	 */
+	public PreparedStatement track(PreparedStatement statement) {
+		final InvocationHandler handler = (proxy, method, args) -> invoke(statement, method, args);
+		return (PreparedStatement)Proxy.newProxyInstance(
+			PreparedStatement.class.getClassLoader(),
+			new Class<?>[] {PreparedStatement.class},
+			handler);
+	}
+
+	private Object invoke(PreparedStatement statement, Method method, Object[] args) throws Throwable {
+		final boolean execute = method.getName().startsWith("execute");
+		final long start = execute ? System.nanoTime() : 0;
+		if (execute) {
+			begin();
+		}
+		try {
+			return method.invoke(statement, args);
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		} finally {
+			if (execute) {
+				end(System.nanoTime() - start);
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "Replica[" + index + "]";
+	}
+}
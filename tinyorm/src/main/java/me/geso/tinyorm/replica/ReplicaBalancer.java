@@ -0,0 +1,21 @@
+package me.geso.tinyorm.replica;
+
+import java.util.List;
+
+/**
+ * Choose the read replica for a query.
+ *
+ * @see RoundRobinBalancer
+ * @see LeastOutstandingBalancer
+ * @see EwmaLatencyBalancer
+ */
+public interface ReplicaBalancer {
+	/**
+	 * Choose the replica. It's called concurrently by all threads that use
+	 * the {@link ReadReplicas}.
+	 *
+	 * @param replicas All replicas, not empty
+	 * @return One of the replicas
+	 */
+	Replica choose(List<Replica> replicas);
+}
@@ -0,0 +1,16 @@
+package me.geso.tinyorm.replica;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Use the replicas in turn.
+ */
+public class RoundRobinBalancer implements ReplicaBalancer {
+	private final AtomicInteger next = new AtomicInteger();
+
+	@Override
+	public Replica choose(List<Replica> replicas) {
+		return replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+	}
+}
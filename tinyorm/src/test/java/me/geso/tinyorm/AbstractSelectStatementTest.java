@@ -4,12 +4,14 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 
 import java.sql.SQLException;
+import java.util.Arrays;
 
 import org.junit.Before;
 import org.junit.Test;
 
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import me.geso.jdbcutils.Query;
 import me.geso.jdbcutils.RichSQLException;
 import me.geso.tinyorm.annotations.Column;
 import me.geso.tinyorm.annotations.CreatedTimestampColumn;
@@ -30,32 +32,65 @@ public class AbstractSelectStatementTest extends TestBase {
 	@Test
 	public void singleForUpdate() throws SQLException, RichSQLException {
 		assertThat(this.orm.single(Member.class).buildQuery().getSQL(),
-			is("SELECT * FROM `member` LIMIT 1"));
+			is("SELECT * FROM `member` LIMIT ?"));
 		assertThat(this.orm.single(Member.class).forUpdate().buildQuery()
 			.getSQL(),
-			is("SELECT * FROM `member` LIMIT 1 FOR UPDATE"));
+			is("SELECT * FROM `member` LIMIT ? FOR UPDATE"));
 	}
 
 	@Test
 	public void testOrderBy() throws SQLException, RichSQLException {
 		assertThat(this.orm.single(Member.class)
 			.orderBy("id ASC").buildQuery().getSQL(),
-			is("SELECT * FROM `member` ORDER BY id ASC LIMIT 1"));
+			is("SELECT * FROM `member` ORDER BY id ASC LIMIT ?"));
 		assertThat(this.orm.single(Member.class)
 			.orderBy("id DESC").buildQuery().getSQL(),
-			is("SELECT * FROM `member` ORDER BY id DESC LIMIT 1"));
+			is("SELECT * FROM `member` ORDER BY id DESC LIMIT ?"));
 	}
 
 	@Test
 	public void testLimit() {
 		assertThat(this.orm.search(Member.class)
 			.limit(10).buildQuery().getSQL(),
-			is("SELECT * FROM `member` LIMIT 10"));
+			is("SELECT * FROM `member` LIMIT ?"));
 
 		// limit(10) override limit(1) (default for single())
 		assertThat(this.orm.single(Member.class)
 			.limit(10).buildQuery().getSQL(),
-			is("SELECT * FROM `member` LIMIT 10"));
+			is("SELECT * FROM `member` LIMIT ?"));
+		assertThat(this.orm.single(Member.class)
+			.limit(10).buildQuery().getParameters(),
+			is(Arrays.asList(10L)));
+	}
+
+	@Test
+	public void testOffset() {
+		Query query = this.orm.search(Member.class)
+			.where("name=?", "John")
+			.limit(10)
+			.offset(20)
+			.buildQuery();
+		assertThat(query.getSQL(),
+			is("SELECT * FROM `member` WHERE (name=?) LIMIT ? OFFSET ?"));
+		assertThat(query.getParameters(),
+			is(Arrays.asList("John", 10L, 20L)));
+	}
+
+	@Test
+	public void testSqlTemplateIsCached() {
+		orm.insert(Member.class).value("name", "John").execute();
+		orm.insert(Member.class).value("name", "Nick").execute();
+
+		Query first = this.orm.search(Member.class)
+			.where("name=?", "John").limit(1).buildQuery();
+		Query second = this.orm.search(Member.class)
+			.where("name=?", "Nick").limit(2).buildQuery();
+		assertThat(first.getSQL() == second.getSQL(), is(true));
+		assertThat(this.orm.search(Member.class)
+			.where("name<>?", "Nick").limit(2).buildQuery().getSQL() == first.getSQL(), is(false));
+
+		assertThat(this.orm.search(Member.class).orderBy("id").limit(1).offset(1)
+			.execute().get(0).getName(), is("Nick"));
 	}
 
 	@Table("member")
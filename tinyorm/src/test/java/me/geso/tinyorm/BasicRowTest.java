@@ -1,11 +1,14 @@
 package me.geso.tinyorm;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.Before;
@@ -120,6 +123,37 @@ public class BasicRowTest extends TestBase {
 		assertFalse(orm.refetch(john).isPresent());
 	}
 
+	@Test
+	public void testDeleteAll() throws SQLException, RichSQLException {
+		List<X> rows = new ArrayList<>();
+		for (int i = 0; i < 5; ++i) {
+			rows.add(orm.insert(X.class).value("name", "name" + i).executeSelect());
+		}
+		X taro = orm.insert(X.class).value("name", "Taro")
+			.executeSelect();
+		int[] counts = orm.deleteAll(rows, 2);
+		assertArrayEquals(new int[] {2, 2, 1}, counts);
+		long count = orm.queryForLong("SELECT COUNT(*) FROM x", Collections.emptyList()).getAsLong();
+		assertEquals(1, count);
+		assertTrue(orm.refetch(taro).isPresent());
+	}
+
+	@Test
+	public void testDeleteAllByCompositeKeys() throws SQLException, RichSQLException {
+		createTable("z",
+			"a INT UNSIGNED NOT NULL",
+			"b INT UNSIGNED NOT NULL",
+			"PRIMARY KEY (a, b)");
+		orm.updateBySQL("INSERT INTO z (a, b) VALUES (1,1),(1,2),(2,1),(2,2)");
+		List<Z> rows = orm.search(Z.class).where("a<>b").execute();
+		assertEquals("(`a`,`b`) IN ((?,?),(?,?))",
+			orm.getTableMeta(Z.class).createWhereClauseFromRows(rows, "`").getSQL());
+
+		assertArrayEquals(new int[] {2}, orm.deleteAll(rows));
+		assertEquals(2, orm.count(Z.class).where("a=b").execute());
+		assertEquals(2, orm.count(Z.class).execute());
+	}
+
 	@Test
 	public void testUpdateByBean() throws RichSQLException {
 		X taro = orm.insert(X.class)
@@ -160,6 +194,16 @@ public class BasicRowTest extends TestBase {
 		}
 	}
 
+	@Getter
+	@Setter
+	@Table("z")
+	public static class Z extends Row<Z> {
+		@PrimaryKey
+		private long a;
+		@PrimaryKey
+		private long b;
+	}
+
 	@Data
 	private static class XForm {
 		String name;
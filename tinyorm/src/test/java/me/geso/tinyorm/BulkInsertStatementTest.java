@@ -0,0 +1,147 @@
+package me.geso.tinyorm;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import me.geso.tinyorm.annotations.BeforeInsert;
+import me.geso.tinyorm.annotations.Column;
+import me.geso.tinyorm.annotations.CsvColumn;
+import me.geso.tinyorm.annotations.PrimaryKey;
+import me.geso.tinyorm.annotations.Table;
+
+public class BulkInsertStatementTest extends TestBase {
+
+	@Before
+	public void beforeHook() {
+		createTable("x",
+			"id INT UNSIGNED NOT NULL AUTO_INCREMENT PRIMARY KEY",
+			"name VARCHAR(255) NOT NULL",
+			"n INT NOT NULL DEFAULT 0",
+			"tags VARCHAR(255)",
+			"UNIQUE (name)");
+	}
+
+	@Test
+	public void testMultiRow() {
+		BulkInsertStatement<X> stmt = orm.bulkInsert(X.class)
+			.maxRows(2);
+		for (int i = 0; i < 5; ++i) {
+			stmt.addRow(row("name", "name" + i));
+		}
+		assertThat(stmt.buildChunks().size(), is(3));
+		assertThat(stmt.buildQuery(stmt.buildChunks().get(0)).getSQL(),
+			is("INSERT INTO `x` (`name`) VALUES (?),(?)"));
+		assertThat(stmt.execute(), is(5));
+
+		List<X> rows = orm.search(X.class).orderBy("id").execute();
+		assertThat(rows.stream().map(X::getName).collect(Collectors.joining(",")),
+			is("name0,name1,name2,name3,name4"));
+		// @BeforeInsert runs for each row.
+		assertThat(rows.stream().allMatch(it -> it.getN() == 1), is(true));
+	}
+
+	@Test
+	public void testBatch() {
+		Form form = new Form();
+		form.setName("nick");
+		int affected = orm.bulkInsert(X.class)
+			.useBatch()
+			.addRow(row("name", "john"))
+			.addRowByBean(form)
+			.execute();
+		assertThat(affected, is(2));
+		assertThat(orm.count(X.class).execute(), is(2L));
+	}
+
+	@Test
+	public void testChunkByColumnsAndPacketSize() {
+		Map<String, Object> withTags = row("name", "a");
+		withTags.put("tags", Arrays.asList("p", "q"));
+		BulkInsertStatement<X> stmt = orm.bulkInsert(X.class)
+			.addRow(row("name", "a"))
+			.addRow(withTags)
+			.addRow(row("name", "b"))
+			.addRow(row("name", "c"));
+		assertThat(stmt.buildChunks().stream().map(List::size).collect(Collectors.toList()),
+			is(Arrays.asList(1, 1, 2)));
+		// Deflaters run for each row.
+		assertThat(stmt.buildChunks().get(1).get(0).getValues().get("tags"), is("p,q"));
+
+		stmt.maxPacketSize(1);
+		assertThat(stmt.buildChunks().size(), is(4));
+	}
+
+	@Test
+	public void testOnDuplicateKeyUpdate() {
+		orm.bulkInsert(X.class)
+			.addRow(row("name", "john"))
+			.execute();
+		int affected = orm.bulkInsert(X.class)
+			.addRow(row("name", "john"))
+			.addRow(row("name", "nick"))
+			.onDuplicateKeyUpdate("n=n+?", 10)
+			.execute();
+		assertThat(affected, is(3));
+		assertThat(orm.single(X.class).where("name=?", "john").execute().get().getN(), is(11));
+		assertThat(orm.single(X.class).where("name=?", "nick").execute().get().getN(), is(1));
+	}
+
+	@Test
+	public void testExecuteForGeneratedKeys() {
+		orm.bulkInsert(X.class)
+			.addRow(row("name", "a"))
+			.execute();
+		assertThat(orm.bulkInsert(X.class)
+			.maxRows(2)
+			.addRow(row("name", "b"))
+			.addRow(row("name", "c"))
+			.addRow(row("name", "d"))
+			.executeForGeneratedKeys(), is(Arrays.asList(2L, 3L, 4L)));
+		assertThat(orm.bulkInsert(X.class)
+			.useBatch()
+			.addRow(row("name", "e"))
+			.addRow(row("name", "f"))
+			.executeForGeneratedKeys(), is(Arrays.asList(5L, 6L)));
+	}
+
+	private static Map<String, Object> row(String column, Object value) {
+		Map<String, Object> map = new HashMap<>();
+		map.put(column, value);
+		return map;
+	}
+
+	@Data
+	public static class Form {
+		private String name;
+	}
+
+	@Table("x")
+	@Data
+	@EqualsAndHashCode(callSuper = false)
+	public static class X extends Row<X> {
+		@PrimaryKey
+		private long id;
+		@Column
+		private String name;
+		@Column
+		private int n;
+		@CsvColumn
+		private List<String> tags;
+
+		@BeforeInsert
+		public static void beforeInsert(InsertStatement<X> stmt) {
+			stmt.value("n", 1);
+		}
+	}
+}
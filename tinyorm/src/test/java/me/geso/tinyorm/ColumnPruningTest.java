@@ -0,0 +1,68 @@
+package me.geso.tinyorm;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import me.geso.tinyorm.annotations.Column;
+import me.geso.tinyorm.annotations.PrimaryKey;
+import me.geso.tinyorm.annotations.Table;
+
+public class ColumnPruningTest extends TestBase {
+	@Before
+	public void before() {
+		createTable("member",
+			"id INT UNSIGNED NOT NULL AUTO_INCREMENT PRIMARY KEY",
+			"name VARCHAR(255) NOT NULL",
+			"body TEXT");
+		orm.updateBySQL("INSERT INTO member (name, body) VALUES ('John', 'long text')");
+		orm.enableColumnPruning();
+	}
+
+	@After
+	public void after() {
+		orm.disableColumnPruning();
+	}
+
+	@Test
+	public void testQuery() {
+		assertThat(orm.search(Member.class).buildQuery().getSQL(),
+			is("SELECT `id`,`name` FROM `member`"));
+		assertThat(orm.single(Member.class).where("id=?", 1).buildQuery().getSQL(),
+			is("SELECT `id`,`name` FROM `member` WHERE (id=?) LIMIT ?"));
+		// Explicit columns win.
+		assertThat(orm.search(Member.class).select("name").buildQuery().getSQL(),
+			is("SELECT `name` FROM `member`"));
+
+		orm.disableColumnPruning();
+		assertThat(orm.search(Member.class).buildQuery().getSQL(), is("SELECT * FROM `member`"));
+	}
+
+	@Test
+	public void testExtraColumns() {
+		Member member = orm.single(Member.class).where("id=?", 1).execute().get();
+		assertThat(member.getName(), is("John"));
+		assertThat(member.getExtraColumns().isEmpty(), is(true));
+		assertThat(orm.search(Member.class).execute().get(0).getExtraColumns().isEmpty(), is(true));
+		assertThat(member.refetch().get().getExtraColumns().isEmpty(), is(true));
+
+		orm.disableColumnPruning();
+		assertThat(orm.single(Member.class).where("id=?", 1).execute().get().getExtraColumn("body"),
+			is("long text"));
+	}
+
+	@Table("member")
+	@Value
+	@EqualsAndHashCode(callSuper = false)
+	public static class Member extends Row<Member> {
+		@PrimaryKey
+		private long id;
+		@Column
+		private String name;
+	}
+}
@@ -0,0 +1,106 @@
+package me.geso.tinyorm;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.sql.SQLException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import me.geso.tinyorm.annotations.Column;
+import me.geso.tinyorm.annotations.PrimaryKey;
+import me.geso.tinyorm.annotations.Table;
+import net.moznion.db.transaction.manager.TransactionScope;
+
+public class IdentityMapTest extends TestBase {
+	@Before
+	public void before() {
+		createTable("member",
+			"id INT UNSIGNED NOT NULL AUTO_INCREMENT PRIMARY KEY",
+			"name VARCHAR(255) NOT NULL");
+		orm.insert(Member.class).value("name", "John").execute();
+		orm.enableIdentityMap();
+	}
+
+	@Test
+	public void testPrimaryKeyLookup() {
+		Member member = orm.single(Member.class).where("id=?", 1).execute().get();
+		assertThat(orm.single(Member.class).where("`id` = ?", 1L).execute().get(), sameInstance(member));
+		assertThat(member.refetch().get(), sameInstance(member));
+
+		// Not a primary key lookup.
+		assertThat(orm.single(Member.class).where("name=?", "John").execute().get(), not(sameInstance(member)));
+		assertThat(orm.single(Member.class).where("id=?", 1).forUpdate().execute().get(), not(sameInstance(member)));
+
+		orm.disableIdentityMap();
+		assertThat(orm.single(Member.class).where("id=?", 1).execute().get(), not(sameInstance(member)));
+	}
+
+	@Test
+	public void testUpdateAndDelete() {
+		Member member = orm.single(Member.class).where("id=?", 1).execute().get();
+		member.update().set("name", "Nick").execute();
+		Member updated = member.refetch().get();
+		assertThat(updated.getName(), is("Nick"));
+		assertThat(orm.single(Member.class).where("id=?", 1).execute().get(), sameInstance(updated));
+
+		updated.delete();
+		assertThat(orm.single(Member.class).where("id=?", 1).execute().isPresent(), is(false));
+	}
+
+	@Test
+	public void testRollback() throws SQLException {
+		Member member = orm.single(Member.class).where("id=?", 1).execute().get();
+		try (TransactionScope txn = orm.createTransactionScope()) {
+			member.update().set("name", "Nick").execute();
+			assertThat(member.refetch().get().getName(), is("Nick"));
+		}
+		assertThat(orm.single(Member.class).where("id=?", 1).execute().get().getName(), is("John"));
+
+		orm.transactionBegin();
+		member.update().set("name", "Nick").execute();
+		assertThat(member.refetch().get().getName(), is("Nick"));
+		orm.transactionRollback();
+		assertThat(member.refetch().get().getName(), is("John"));
+	}
+
+	@Test
+	public void testRollbackThenBegin() throws SQLException {
+		try (TransactionScope txn = orm.createTransactionScope()) {
+			orm.single(Member.class).where("id=?", 1).execute().get()
+				.update().set("name", "Nick").execute();
+			assertThat(orm.single(Member.class).where("id=?", 1).execute().get().getName(), is("Nick"));
+		}
+		// The next transaction begins before the identity map is used.
+		try (TransactionScope txn = orm.createTransactionScope()) {
+			assertThat(orm.single(Member.class).where("id=?", 1).execute().get().getName(), is("John"));
+			txn.commit();
+		}
+		assertThat(orm.single(Member.class).where("id=?", 1).execute().get().getName(), is("John"));
+	}
+
+	@Test
+	public void testCommit() throws SQLException {
+		Member member;
+		try (TransactionScope txn = orm.createTransactionScope()) {
+			member = orm.single(Member.class).where("id=?", 1).execute().get();
+			txn.commit();
+		}
+		assertThat(orm.single(Member.class).where("id=?", 1).execute().get(), sameInstance(member));
+	}
+
+	@EqualsAndHashCode(callSuper = false)
+	@Value
+	@Table("member")
+	public static class Member extends Row<Member> {
+		@PrimaryKey
+		private long id;
+		@Column
+		private String name;
+	}
+}
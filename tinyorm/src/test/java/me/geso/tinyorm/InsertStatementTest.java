@@ -12,6 +12,8 @@ import org.junit.Test;
 import lombok.EqualsAndHashCode;
 import lombok.Value;
 import me.geso.tinyorm.annotations.Column;
+import me.geso.tinyorm.annotations.CreatedTimestampColumn;
+import me.geso.tinyorm.annotations.PrimaryKey;
 import me.geso.tinyorm.annotations.Table;
 
 public class InsertStatementTest extends TestBase {
@@ -59,6 +61,67 @@ public class InsertStatementTest extends TestBase {
 		}
 	}
 
+	@Test
+	public void testExecuteForGeneratedKey() {
+		createTable("y",
+			"id INT UNSIGNED NOT NULL AUTO_INCREMENT PRIMARY KEY",
+			"name VARCHAR(255) NOT NULL",
+			"createdOn INT UNSIGNED NOT NULL");
+		assertThat(orm.insert(Y.class).value("name", "John").executeForGeneratedKey().getAsLong(), is(1L));
+		assertThat(orm.insert(Y.class).value("name", "Nick").executeForGeneratedKey().getAsLong(), is(2L));
+		// no auto-generated key
+		assertThat(orm.insert(X.class).value("a", "hoge").executeForGeneratedKey().isPresent(), is(false));
+	}
+
+	@Test
+	public void testExecuteWithoutReselect() {
+		createTable("y",
+			"id INT UNSIGNED NOT NULL AUTO_INCREMENT PRIMARY KEY",
+			"name VARCHAR(255) NOT NULL",
+			"createdOn INT UNSIGNED NOT NULL");
+		orm.insert(Y.class).value("name", "John").execute();
+
+		Y y = orm.insert(Y.class).value("name", "Nick").executeWithoutReselect();
+		assertThat(y.getId(), is(2L));
+		assertThat(y.getName(), is("Nick"));
+		assertThat(y.getCreatedOn() > 0, is(true));
+		assertThat(y.refetch().get(), is(y));
+	}
+
+	@Test
+	public void testExecuteWithoutReselectConvertsNumbers() {
+		createTable("y",
+			"id INT UNSIGNED NOT NULL AUTO_INCREMENT PRIMARY KEY",
+			"name VARCHAR(255) NOT NULL",
+			"createdOn INT UNSIGNED NOT NULL");
+		// Integer for the long property
+		Y y = orm.insert(Y.class).value("id", 10).value("name", "John").executeWithoutReselect();
+		assertThat(y.getId(), is(10L));
+		assertThat(y.refetch().get(), is(y));
+
+		// Long for the int property
+		X x = orm.insert(X.class).value("a", "hoge").value("n", 1L).value("m", 2).executeWithoutReselect();
+		assertThat(x.getN(), is(1));
+		assertThat(x.getM(), is(2));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testExecuteWithoutReselectWithMissingColumn() {
+		orm.insert(X.class).value("a", "hoge").executeWithoutReselect();
+	}
+
+	@Table("y")
+	@Value
+	@EqualsAndHashCode(callSuper = false)
+	private static class Y extends Row<Y> {
+		@PrimaryKey
+		private long id;
+		@Column
+		private String name;
+		@CreatedTimestampColumn
+		private long createdOn;
+	}
+
 	@Table("x")
 	@Value
 	@EqualsAndHashCode(callSuper = false)
@@ -0,0 +1,188 @@
+package me.geso.tinyorm;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import me.geso.tinyorm.annotations.Column;
+import me.geso.tinyorm.annotations.CsvColumn;
+import me.geso.tinyorm.annotations.Lazy;
+import me.geso.tinyorm.annotations.PrimaryKey;
+import me.geso.tinyorm.annotations.Table;
+
+public class LazyColumnTest extends TestBase {
+	@Before
+	public void before() {
+		createTable("document",
+			"id INT UNSIGNED NOT NULL AUTO_INCREMENT PRIMARY KEY",
+			"title VARCHAR(255) NOT NULL",
+			"body TEXT",
+			"tags VARCHAR(255)");
+		orm.insert(Document.class).value("title", "a").value("body", "body a")
+			.value("tags", Arrays.asList("x", "y")).execute();
+		orm.insert(Document.class).value("title", "b").value("body", LazyColumn.of("body b"))
+			.value("tags", Arrays.asList("z")).execute();
+	}
+
+	@Test
+	public void testQuery() {
+		assertThat(orm.search(Document.class).buildQuery().getSQL(),
+			is("SELECT `id`,`title` FROM `document`"));
+	}
+
+	@Test
+	public void testBatch() {
+		List<Document> documents = orm.search(Document.class).orderBy("id").execute();
+		assertThat(documents.get(0).getBody().isLoaded(), is(false));
+		assertThat(documents.get(1).getBody().isLoaded(), is(false));
+
+		assertThat(documents.get(0).getBody().get(), is("body a"));
+		// Loaded by the same query.
+		assertThat(documents.get(1).getBody().isLoaded(), is(true));
+		assertThat(documents.get(1).getBody().get(), is("body b"));
+		// Other columns are loaded separately.
+		assertThat(documents.get(1).getTags().isLoaded(), is(false));
+		assertThat(documents.get(1).getTags().get(), is(Arrays.asList("z")));
+	}
+
+	@Test
+	public void testSingle() {
+		Document document = orm.single(Document.class).where("id=?", 1).execute().get();
+		assertThat(document.getTitle(), is("a"));
+		assertThat(document.getTags().get(), is(Arrays.asList("x", "y")));
+		assertThat(document.refetch().get().getBody().get(), is("body a"));
+	}
+
+	@Test
+	public void testSelectedColumn() {
+		List<Document> documents = orm.searchBySQL(Document.class, "SELECT * FROM document ORDER BY id");
+		assertThat(documents.get(0).getBody().isLoaded(), is(true));
+		assertThat(documents.get(0).getBody().get(), is("body a"));
+		assertThat(documents.get(0).getTags().get(), is(Arrays.asList("x", "y")));
+	}
+
+	@Test
+	public void testUpdate() {
+		Document document = orm.single(Document.class).where("id=?", 1).execute().get();
+		document.update().set("body", "updated").execute();
+		assertThat(document.refetch().get().getBody().get(), is("updated"));
+	}
+
+	@Test
+	public void testDeleted() {
+		Document document = orm.single(Document.class).where("id=?", 1).execute().get();
+		orm.updateBySQL("DELETE FROM document WHERE id=1");
+		assertThat(document.getBody().get() == null, is(true));
+		assertThat(document.getBody().isLoaded(), is(false));
+
+		// Not found rows are queried again.
+		orm.updateBySQL("INSERT INTO document (id, title, body) VALUES (1, 'a', 'again')");
+		assertThat(document.getBody().get(), is("again"));
+	}
+
+	@Test
+	public void testLaggingReadConnection() throws SQLException {
+		final Connection lagging = buildConnection();
+		try (Statement statement = lagging.createStatement()) {
+			final String primary = lagging.getCatalog();
+			statement.execute("CREATE DATABASE IF NOT EXISTS tinyorm_replica");
+			statement.execute("USE tinyorm_replica");
+			statement.execute("DROP TABLE IF EXISTS document");
+			statement.execute("CREATE TABLE document LIKE `" + primary + "`.document");
+			// The read connection has an old body of the first row, and doesn't have the second row yet.
+			statement.execute("INSERT INTO document SELECT id, title, 'old', tags FROM `" + primary
+				+ "`.document WHERE id=1");
+		}
+		try (TinyORM db = new TinyORM(buildConnection(), lagging)) {
+			assertThat(db.single(Document.class).where("id=?", 1).execute().get().getBody().get(), is("old"));
+
+			// Rows from the write connection are loaded from the write connection.
+			List<Document> documents = db.search(Document.class).forceWriteConnection().orderBy("id").execute();
+			assertThat(documents.get(0).getBody().get(), is("body a"));
+			Document document = db.single(Document.class).where("id=?", 1).forceWriteConnection().execute().get();
+			assertThat(document.getBody().get(), is("body a"));
+
+			// Rows missing in the read connection are loaded from the write connection.
+			Document notReplicated = db.getTableMeta(Document.class)
+				.getRowMapper(Document.class, Arrays.asList("id", "title"))
+				.mapValues(new Object[] {2L, "b"}, db);
+			assertThat(notReplicated.getBody().get(), is("body b"));
+		}
+	}
+
+	@Test
+	public void testSetter() {
+		List<MutableDocument> documents = orm.search(MutableDocument.class).orderBy("id").execute();
+		assertThat(documents.get(0).getBody().isLoaded(), is(false));
+		assertThat(documents.get(0).getBody().get(), is("body a"));
+		assertThat(documents.get(1).getBody().isLoaded(), is(true));
+	}
+
+	@Test
+	public void testDeferredInflation() {
+		List<DeferredDocument> documents = orm.search(DeferredDocument.class).orderBy("id").execute();
+		LazyColumn<List<String>> tags = documents.get(0).getTags();
+		assertThat(tags.isLoaded(), is(true));
+		assertThat(tags.get(), is(Arrays.asList("x", "y")));
+		assertThat(tags.get(), sameInstance(tags.get()));
+
+		documents.get(1).update().set("tags", Arrays.asList("w")).execute();
+		assertThat(documents.get(1).refetch().get().getTags().get(), is(Arrays.asList("w")));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testUnbound() {
+		new LazyColumn<String>().get();
+	}
+
+	@Table("document")
+	@Value
+	@EqualsAndHashCode(callSuper = false)
+	public static class Document extends Row<Document> {
+		@PrimaryKey
+		private long id;
+		@Column
+		private String title;
+		@Lazy
+		@Column
+		private LazyColumn<String> body;
+		@Lazy
+		@CsvColumn
+		private LazyColumn<List<String>> tags;
+	}
+
+	@Table("document")
+	@Value
+	@EqualsAndHashCode(callSuper = false)
+	public static class DeferredDocument extends Row<DeferredDocument> {
+		@PrimaryKey
+		private long id;
+		@CsvColumn
+		private LazyColumn<List<String>> tags;
+	}
+
+	@Table("document")
+	@Data
+	@EqualsAndHashCode(callSuper = false)
+	public static class MutableDocument extends Row<MutableDocument> {
+		@PrimaryKey
+		private long id;
+		@Column
+		private String title;
+		@Lazy
+		@Column
+		private LazyColumn<String> body;
+	}
+}
@@ -3,7 +3,9 @@ package me.geso.tinyorm;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 
+import java.sql.PreparedStatement;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -95,6 +97,81 @@ public class ListSelectStatementTest extends TestBase {
         }
     }
 
+    @Test
+    public void testExecuteStreamStreaming() throws Exception {
+        for (int i = 0; i < 10; ++i) {
+            orm.insert(Member.class)
+               .value("name", "n" + i)
+               .execute();
+        }
+        try (Stream<Member> stream = orm.search(Member.class)
+                                        .orderBy("id")
+                                        .streaming()
+                                        .executeStream()) {
+            assertThat(stream.count(), is(10L));
+        }
+        // The connection is usable after the stream is closed.
+        try (Stream<Member> stream = orm.search(Member.class).fetchSize(3).executeStream()) {
+            assertThat(stream.count(), is(10L));
+        }
+    }
+
+    @Test
+    public void testExecuteStreamParallel() throws Exception {
+        BulkInsertStatement<Member> insert = orm.bulkInsert(Member.class);
+        for (int i = 0; i < 3000; ++i) {
+            insert.addRow(Collections.singletonMap("name", "n" + i));
+        }
+        insert.execute();
+        try (Stream<Member> stream = orm.search(Member.class)
+                                        .orderBy("id")
+                                        .executeStream()) {
+            List<Long> ids = stream.parallel().map(Member::getId).collect(Collectors.toList());
+            assertThat(ids.size(), is(3000));
+            for (int i = 0; i < ids.size(); ++i) {
+                assertThat(ids.get(i), is(i + 1L));
+            }
+        }
+    }
+
+    @Test
+    public void testExecuteStreamParallelConvertsNumbers() throws Exception {
+        createTable("score",
+                    "id INT NOT NULL AUTO_INCREMENT PRIMARY KEY",
+                    "points INT NOT NULL");
+        BulkInsertStatement<Score> insert = orm.bulkInsert(Score.class);
+        for (int i = 0; i < 3000; ++i) {
+            insert.addRow(Collections.singletonMap("points", -i));
+        }
+        insert.execute();
+        // signed INT columns are read as Integer, and mapped to long.
+        try (Stream<Score> stream = orm.search(Score.class)
+                                       .orderBy("id")
+                                       .executeStream()) {
+            List<Score> scores = stream.parallel().collect(Collectors.toList());
+            assertThat(scores.size(), is(3000));
+            for (int i = 0; i < scores.size(); ++i) {
+                assertThat(scores.get(i).getId(), is(i + 1L));
+                assertThat(scores.get(i).getPoints(), is((long)-i));
+            }
+        }
+    }
+
+    @Test
+    public void testIteratorHasNextIsIdempotent() throws Exception {
+        orm.insert(Member.class)
+           .value("name", "John")
+           .execute();
+        PreparedStatement ps = orm.prepareStatementForRead("SELECT name FROM member");
+        try (ResultSetIterator<String> iterator = new ResultSetIterator<>(ps, ps.executeQuery(),
+                "SELECT name FROM member", Collections.emptyList(), rs -> rs.getString(1))) {
+            assertThat(iterator.hasNext(), is(true));
+            assertThat(iterator.hasNext(), is(true));
+            assertThat(iterator.next(), is("John"));
+            assertThat(iterator.hasNext(), is(false));
+        }
+    }
+
     @EqualsAndHashCode(callSuper = false)
     @Value
     @Table("member")
@@ -104,4 +181,14 @@ public class ListSelectStatementTest extends TestBase {
         @Column
         private String name;
     }
+
+    @EqualsAndHashCode(callSuper = false)
+    @Value
+    @Table("score")
+    public static class Score extends Row<Score> {
+        @PrimaryKey
+        private long id;
+        @Column
+        private long points;
+    }
 }
@@ -1,6 +1,7 @@
 package me.geso.tinyorm;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 import java.sql.SQLException;
 import java.time.LocalDate;
@@ -73,6 +74,15 @@ public class OptionalInflateAndDeflateTest extends TestBase {
 		assertEquals("12:34:56", y.refetch().get().getT().get().format(DateTimeFormatter.ISO_LOCAL_TIME));
 	}
 
+	@Test
+	public void testComposeInflater() {
+		TableMeta<Y> tableMeta = orm.getTableMeta(Y.class);
+		assertNull(tableMeta.composeInflater("id"));
+		assertEquals(Optional.of(LocalDate.parse("2015-01-01")),
+			tableMeta.composeInflater("dt").inflate(java.sql.Date.valueOf("2015-01-01")));
+		assertEquals(Optional.empty(), tableMeta.composeInflater("dt").inflate(null));
+	}
+
 	@Test
 	public void testForMultistageInflationAndDeflationForEmptyValue() {
 		Y y = orm.insert(Y.class)
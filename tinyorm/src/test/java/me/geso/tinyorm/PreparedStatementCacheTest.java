@@ -0,0 +1,86 @@
+package me.geso.tinyorm;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import me.geso.tinyorm.annotations.Column;
+import me.geso.tinyorm.annotations.PrimaryKey;
+import me.geso.tinyorm.annotations.Table;
+
+public class PreparedStatementCacheTest extends TestBase {
+	@Before
+	public void before() {
+		createTable("member",
+			"id INT UNSIGNED NOT NULL AUTO_INCREMENT PRIMARY KEY",
+			"name VARCHAR(255) NOT NULL");
+		orm.insert(Member.class).value("name", "John").execute();
+		orm.insert(Member.class).value("name", "Nick").execute();
+		orm.enableStatementCache(2);
+	}
+
+	@After
+	public void after() {
+		orm.disableStatementCache();
+	}
+
+	@Test
+	public void testReuse() throws Exception {
+		assertThat(orm.single(Member.class).where("name=?", "John").execute().get().getId(), is(1L));
+		assertThat(orm.single(Member.class).where("name=?", "Nick").execute().get().getId(), is(2L));
+		assertThat(orm.getStatementCacheMissCount(), is(1L));
+		assertThat(orm.getStatementCacheHitCount(), is(1L));
+
+		PreparedStatement ps = orm.prepareStatement("SELECT 1");
+		ps.close();
+		assertThat(ps.isClosed(), is(true));
+	}
+
+	@Test
+	public void testNested() {
+		try (Stream<Member> stream = orm.search(Member.class).orderBy("id").executeStream()) {
+			List<String> names = stream
+				.map(it -> orm.search(Member.class).orderBy("id").execute().size() + it.getName())
+				.collect(Collectors.toList());
+			assertThat(names.toString(), is("[2John, 2Nick]"));
+		}
+		// The statement in use was not shared with the nested query.
+		assertThat(orm.getStatementCacheMissCount(), is(2L));
+		assertThat(orm.getStatementCacheHitCount(), is(1L));
+	}
+
+	@Test
+	public void testEviction() {
+		orm.queryForLong("SELECT 1");
+		orm.queryForLong("SELECT 2");
+		orm.queryForLong("SELECT 3");
+		orm.queryForLong("SELECT 1");
+		assertThat(orm.getStatementCacheMissCount(), is(4L));
+		orm.queryForLong("SELECT 3");
+		assertThat(orm.getStatementCacheHitCount(), is(1L));
+
+		orm.clearStatementCache();
+		orm.queryForLong("SELECT 3");
+		assertThat(orm.getStatementCacheMissCount(), is(5L));
+	}
+
+	@EqualsAndHashCode(callSuper = false)
+	@Value
+	@Table("member")
+	public static class Member extends Row<Member> {
+		@PrimaryKey
+		private long id;
+		@Column
+		private String name;
+	}
+}
@@ -0,0 +1,147 @@
+package me.geso.tinyorm;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import me.geso.tinyorm.annotations.Column;
+import me.geso.tinyorm.annotations.CsvColumn;
+import me.geso.tinyorm.annotations.PrimaryKey;
+import me.geso.tinyorm.annotations.Table;
+
+public class ProjectionTest extends TestBase {
+
+	@Before
+	public void before() {
+		createTable("member",
+			"id INT UNSIGNED NOT NULL AUTO_INCREMENT PRIMARY KEY",
+			"name VARCHAR(255) NOT NULL",
+			"tags VARCHAR(255) NOT NULL",
+			"age INT NOT NULL DEFAULT 20");
+		orm.insert(Member.class).value("name", "John").value("tags", Arrays.asList("a", "b")).execute();
+		orm.insert(Member.class).value("name", "Nick").value("tags", Arrays.asList("c")).execute();
+	}
+
+	@Test
+	public void testSelect() {
+		assertThat(orm.search(Member.class).select("id", "name").buildQuery().getSQL(),
+			is("SELECT `id`,`name` FROM `member`"));
+		List<Member> members = orm.search(Member.class).select("id", "name").orderBy("id").execute();
+		assertThat(members.get(0).getName(), is("John"));
+		assertThat(members.get(0).getTags() == null, is(true));
+	}
+
+	@Test
+	public void testInterface() {
+		List<NameView> views = orm.search(Member.class).select("id", "name", "tags")
+			.orderBy("id").mapTo(NameView.class);
+		assertThat(views.size(), is(2));
+		assertThat(views.get(0).getId(), is(1L));
+		assertThat(views.get(0).getName(), is("John"));
+		assertThat(views.get(0).getTags(), is(Arrays.asList("a", "b")));
+	}
+
+	@Test
+	public void testValueClass() {
+		List<NameAndRawTags> views = orm.search(Member.class).select("tags", "name")
+			.where("name=?", "John").mapTo(NameAndRawTags.class);
+		assertThat(views, is(Arrays.asList(new NameAndRawTags("John", "a,b"))));
+	}
+
+	@Test
+	public void testPositional() {
+		List<Positional> views = orm.search(Member.class).select("name", "tags")
+			.where("name=?", "Nick").mapTo(Positional.class);
+		assertThat(views.get(0).name, is("Nick"));
+		assertThat(views.get(0).tags, is(Arrays.asList("c")));
+	}
+
+	@Test
+	public void testLambda() {
+		List<String> names = orm.search(Member.class).select("name").orderBy("id DESC")
+			.mapTo(rs -> rs.getString(1));
+		assertThat(names, is(Arrays.asList("Nick", "John")));
+	}
+
+	@Test
+	public void testNumbers() {
+		// INT UNSIGNED is read as Long, and INT as Integer.
+		List<AgeView> views = orm.search(Member.class).select("id", "age").orderBy("id").mapTo(AgeView.class);
+		assertThat(views.get(1).getId(), is(2));
+		assertThat(views.get(1).getAge(), is(20L));
+
+		List<Age> ages = orm.search(Member.class).select("name", "age").orderBy("id").mapTo(Age.class);
+		assertThat(ages.get(0), is(new Age("John", 20L)));
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testConstructorException() {
+		orm.search(Member.class).select("name").mapTo(Failing.class);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testMissingColumn() {
+		orm.search(Member.class).select("id").mapTo(NameView.class);
+	}
+
+	public interface NameView {
+		long getId();
+
+		String getName();
+
+		List<String> getTags();
+	}
+
+	public interface AgeView {
+		int getId();
+
+		long getAge();
+	}
+
+	@Value
+	public static class Age {
+		private String name;
+		private Long age;
+	}
+
+	public static class Failing {
+		public Failing(String name) {
+			throw new NullPointerException(name);
+		}
+	}
+
+	@Value
+	public static class NameAndRawTags {
+		private String name;
+		private String tags;
+	}
+
+	public static class Positional {
+		private final String name;
+		private final List<String> tags;
+
+		public Positional(String name, List<String> tags) {
+			this.name = name;
+			this.tags = tags;
+		}
+	}
+
+	@Table("member")
+	@Value
+	@EqualsAndHashCode(callSuper = false)
+	public static class Member extends Row<Member> {
+		@PrimaryKey
+		private long id;
+		@Column
+		private String name;
+		@CsvColumn
+		private List<String> tags;
+	}
+}
@@ -0,0 +1,118 @@
+package me.geso.tinyorm;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import me.geso.tinyorm.annotations.Column;
+import me.geso.tinyorm.annotations.PrimaryKey;
+import me.geso.tinyorm.annotations.Table;
+import net.moznion.db.transaction.manager.TransactionScope;
+
+public class QueryCacheTest extends TestBase {
+	private static final Duration TTL = Duration.ofMinutes(1);
+
+	@Before
+	public void before() {
+		createTable("member",
+			"id INT UNSIGNED NOT NULL AUTO_INCREMENT PRIMARY KEY",
+			"name VARCHAR(255) NOT NULL");
+		orm.insert(Member.class).value("name", "John").execute();
+		QueryCache.invalidateAll();
+	}
+
+	@After
+	public void after() {
+		QueryCache.setMaxSize(10000);
+	}
+
+	@Test
+	public void testList() {
+		List<Member> members = orm.search(Member.class).orderBy("id").cached(TTL).execute();
+		long hits = QueryCache.getHitCount();
+		List<Member> cached = orm.search(Member.class).orderBy("id").cached(TTL).execute();
+		assertThat(QueryCache.getHitCount(), is(hits + 1));
+		assertThat(cached, is(members));
+		assertThat(cached.get(0), not(sameInstance(members.get(0))));
+
+		// Other parameters, other results.
+		assertThat(orm.search(Member.class).where("name=?", "Nick").cached(TTL).execute().size(), is(0));
+		assertThat(QueryCache.getHitCount(), is(hits + 1));
+	}
+
+	@Test
+	public void testInvalidation() {
+		assertThat(orm.search(Member.class).cached(TTL).execute().size(), is(1));
+		assertThat(orm.count(Member.class).cached(TTL).execute(), is(1L));
+
+		orm.insert(Member.class).value("name", "Nick").execute();
+		assertThat(orm.search(Member.class).cached(TTL).execute().size(), is(2));
+		assertThat(orm.count(Member.class).cached(TTL).execute(), is(2L));
+
+		Member member = orm.single(Member.class).where("name=?", "Nick").execute().get();
+		member.update().set("name", "Taro").execute();
+		assertThat(orm.search(Member.class).where("name=?", "Taro").cached(TTL).execute().size(), is(1));
+
+		member.delete();
+		assertThat(orm.count(Member.class).cached(TTL).execute(), is(1L));
+	}
+
+	@Test
+	public void testTransaction() throws SQLException {
+		assertThat(orm.count(Member.class).cached(TTL).execute(), is(1L));
+		long hits = QueryCache.getHitCount();
+		try (TransactionScope txn = orm.createTransactionScope()) {
+			orm.insert(Member.class).value("name", "Nick").execute();
+			assertThat(orm.count(Member.class).cached(TTL).execute(), is(2L));
+			txn.rollback();
+		}
+		assertThat(orm.count(Member.class).cached(TTL).execute(), is(1L));
+		assertThat(orm.count(Member.class).cached(TTL).execute(), is(1L));
+		assertThat(QueryCache.getHitCount(), is(hits + 1));
+	}
+
+	@Test
+	public void testExpiration() throws InterruptedException {
+		orm.count(Member.class).cached(Duration.ofMillis(1)).execute();
+		Thread.sleep(10);
+		long misses = QueryCache.getMissCount();
+		long evictions = QueryCache.getEvictionCount();
+		orm.count(Member.class).cached(Duration.ofMillis(1)).execute();
+		assertThat(QueryCache.getMissCount(), is(misses + 1));
+		assertThat(QueryCache.getEvictionCount(), is(evictions + 1));
+	}
+
+	@Test
+	public void testMaxSize() {
+		QueryCache.setMaxSize(1);
+		long evictions = QueryCache.getEvictionCount();
+		orm.count(Member.class).where("id=?", 1).cached(TTL).execute();
+		orm.count(Member.class).where("id=?", 2).cached(TTL).execute();
+		assertThat(QueryCache.getEvictionCount(), is(evictions + 1));
+
+		long misses = QueryCache.getMissCount();
+		orm.count(Member.class).where("id=?", 1).cached(TTL).execute();
+		assertThat(QueryCache.getMissCount(), is(misses + 1));
+	}
+
+	@Table("member")
+	@Value
+	@EqualsAndHashCode(callSuper = false)
+	public static class Member extends Row<Member> {
+		@PrimaryKey
+		private long id;
+		@Column
+		private String name;
+	}
+}
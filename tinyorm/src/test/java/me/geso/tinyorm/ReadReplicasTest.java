@@ -0,0 +1,207 @@
+package me.geso.tinyorm;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import javax.inject.Provider;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import me.geso.tinyorm.annotations.Column;
+import me.geso.tinyorm.annotations.PrimaryKey;
+import me.geso.tinyorm.annotations.Table;
+import me.geso.tinyorm.replica.EwmaLatencyBalancer;
+import me.geso.tinyorm.replica.LeastOutstandingBalancer;
+import me.geso.tinyorm.replica.ReadReplicas;
+import me.geso.tinyorm.replica.Replica;
+
+public class ReadReplicasTest extends TestBase {
+	@Before
+	public void before() {
+		createTable("member",
+			"id INT UNSIGNED NOT NULL AUTO_INCREMENT PRIMARY KEY",
+			"name VARCHAR(255) NOT NULL");
+		orm.insert(Member.class).value("name", "John").execute();
+	}
+
+	@Test
+	public void testRoundRobin() {
+		final AtomicInteger borrowed = new AtomicInteger();
+		final Provider<Connection> provider = () -> {
+			borrowed.incrementAndGet();
+			return buildReadConnection();
+		};
+		final ReadReplicas replicas = new ReadReplicas(Arrays.asList(provider, provider, provider));
+		try (TinyORM db = new TinyORM(TestBase::buildConnection, replicas)) {
+			for (int i = 0; i < 6; ++i) {
+				assertThat(db.search(Member.class).execute().size(), is(1));
+			}
+			assertThat(db.count(Member.class).execute(), is(1L));
+		}
+		// a connection per replica
+		assertThat(borrowed.get(), is(3));
+		// 7 queries in turn
+		for (Replica replica : replicas.getReplicas()) {
+			assertThat(replica.getQueryCount() == 2 || replica.getQueryCount() == 3, is(true));
+			assertThat(replica.getOutstandingQueries(), is(0));
+		}
+		assertThat(replicas.getReplicas().stream().mapToLong(Replica::getQueryCount).sum(), is(7L));
+	}
+
+	@Test
+	public void testTrackedStatements() {
+		orm.insert(Member.class).value("name", "Nick").execute();
+		final ReadReplicas replicas = new ReadReplicas(Arrays.asList(TestBase::buildReadConnection,
+			TestBase::buildReadConnection));
+		try (TinyORM db = new TinyORM(TestBase::buildConnection, replicas)) {
+			final String token = db.searchWithPager(Member.class, 1).keyset().execute().getNextPageToken();
+
+			long queries = totalQueryCount(replicas);
+			try (Stream<Member> stream = db.search(Member.class).streaming().executeStream()) {
+				assertThat(stream.count(), is(2L));
+			}
+			assertThat(totalQueryCount(replicas), is(queries + 1));
+
+			// the rows and the count on a borrowed connection
+			queries = totalQueryCount(replicas);
+			assertThat(db.searchWithPager(Member.class, 1).keyset(token).executeWithTotal().getTotalEntries(),
+				is(2L));
+			assertThat(totalQueryCount(replicas), is(queries + 2));
+		}
+	}
+
+	private static long totalQueryCount(ReadReplicas replicas) {
+		return replicas.getReplicas().stream().mapToLong(Replica::getQueryCount).sum();
+	}
+
+	@Test
+	public void testLeastOutstanding() {
+		final ReadReplicas replicas = new ReadReplicas(Arrays.asList(TestBase::buildReadConnection,
+			TestBase::buildReadConnection), new LeastOutstandingBalancer());
+		final Replica busy = replicas.getReplicas().get(0);
+		busy.begin();
+		for (int i = 0; i < 3; ++i) {
+			assertThat(replicas.choose(), sameInstance(replicas.getReplicas().get(1)));
+		}
+	}
+
+	@Test
+	public void testEwmaLatency() {
+		final ReadReplicas replicas = new ReadReplicas(Arrays.asList(TestBase::buildReadConnection,
+			TestBase::buildReadConnection), new EwmaLatencyBalancer());
+		final Replica slow = replicas.getReplicas().get(0);
+		final Replica fast = replicas.getReplicas().get(1);
+		slow.begin();
+		slow.end(100_000_000L);
+		// unmeasured replicas are tried first
+		assertThat(replicas.choose(), sameInstance(fast));
+		fast.begin();
+		fast.end(1_000_000L);
+		for (int i = 0; i < 3; ++i) {
+			assertThat(replicas.choose(), sameInstance(fast));
+		}
+		// busy, but still faster
+		fast.begin();
+		assertThat(replicas.choose(), sameInstance(fast));
+	}
+
+	@Test(timeout = 30000)
+	public void testHedgedReads() throws SQLException, InterruptedException {
+		// The second replica is a copy in another database, which isn't blocked by the lock below.
+		try (Statement statement = connection.createStatement()) {
+			final String primary = connection.getCatalog();
+			statement.execute("CREATE DATABASE IF NOT EXISTS tinyorm_replica");
+			statement.execute("DROP TABLE IF EXISTS tinyorm_replica.member");
+			statement.execute("CREATE TABLE tinyorm_replica.member LIKE `" + primary + "`.member");
+			statement.execute("INSERT INTO tinyorm_replica.member SELECT * FROM `" + primary + "`.member");
+		}
+		// Each hedged query borrows its own connection.
+		final List<Connection> borrowed = Collections.synchronizedList(new ArrayList<>());
+		final Provider<Connection> primary = () -> {
+			final Connection conn = buildReadConnection();
+			borrowed.add(conn);
+			return conn;
+		};
+		final Provider<Connection> copy = () -> {
+			final Connection conn = buildConnection();
+			try (Statement statement = conn.createStatement()) {
+				statement.execute("USE tinyorm_replica");
+			} catch (SQLException e) {
+				throw new RuntimeException(e);
+			}
+			borrowed.add(conn);
+			return conn;
+		};
+		final ReadReplicas replicas = new ReadReplicas(Arrays.asList(primary, copy));
+		try (TinyORM db = new TinyORM(TestBase::buildConnection, replicas);
+				Connection locker = buildConnection()) {
+			db.enableHedgedReads(0.9);
+			for (int i = 0; i < 30; ++i) {
+				assertThat(db.count(Member.class).execute(), is(1L));
+			}
+
+			final Replica second = replicas.getReplicas().get(1);
+			final long queries = second.getQueryCount();
+			try (Statement statement = locker.createStatement()) {
+				statement.execute("LOCK TABLES member WRITE");
+				try {
+					for (int i = 0; i < 4; ++i) {
+						assertThat(db.search(Member.class).execute().size(), is(1));
+						assertThat(db.single(Member.class).execute().isPresent(), is(true));
+						assertThat(db.count(Member.class).execute(), is(1L));
+						assertThat(db.searchBySQL(Member.class, "SELECT * FROM member").size(), is(1));
+					}
+				} finally {
+					statement.execute("UNLOCK TABLES");
+				}
+			}
+			// the blocked replica can't answer, so the copy served every query
+			assertTrue(second.getQueryCount() - queries >= 16);
+
+			db.disableHedgedReads();
+			assertThat(db.count(Member.class).execute(), is(1L));
+		}
+		// The cancelled queries release their connections after they return.
+		while (true) {
+			synchronized (borrowed) {
+				if (borrowed.stream().allMatch(ReadReplicasTest::isClosed)) {
+					break;
+				}
+			}
+			Thread.sleep(10);
+		}
+	}
+
+	private static boolean isClosed(Connection connection) {
+		try {
+			return connection.isClosed();
+		} catch (SQLException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	@Table("member")
+	@Value
+	@EqualsAndHashCode(callSuper = false)
+	public static class Member extends Row<Member> {
+		@PrimaryKey
+		private long id;
+		@Column
+		private String name;
+	}
+}
@@ -0,0 +1,109 @@
+package me.geso.tinyorm;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import me.geso.tinyorm.annotations.Column;
+import me.geso.tinyorm.annotations.PrimaryKey;
+import me.geso.tinyorm.annotations.Table;
+
+public class ReadYourWritesTest extends TestBase {
+	private Connection replica;
+	private TinyORM db;
+
+	@Before
+	public void before() throws SQLException {
+		createTable("member",
+			"id INT UNSIGNED NOT NULL AUTO_INCREMENT PRIMARY KEY",
+			"name VARCHAR(255) NOT NULL");
+		createTable("blog",
+			"id INT UNSIGNED NOT NULL AUTO_INCREMENT PRIMARY KEY",
+			"title VARCHAR(255) NOT NULL");
+		orm.insert(Blog.class).value("title", "hello").execute();
+
+		// A replica that never catches up: the same tables in another database, with other rows.
+		replica = buildConnection();
+		final String primary = replica.getCatalog();
+		try (Statement statement = replica.createStatement()) {
+			statement.execute("CREATE DATABASE IF NOT EXISTS tinyorm_replica");
+			statement.execute("USE tinyorm_replica");
+			statement.execute("DROP TABLE IF EXISTS member");
+			statement.execute("CREATE TABLE member LIKE `" + primary + "`.member");
+			statement.execute("DROP TABLE IF EXISTS blog");
+			statement.execute("CREATE TABLE blog LIKE `" + primary + "`.blog");
+			statement.execute("INSERT INTO blog (title) VALUES ('stale'), ('stale')");
+		}
+		db = new TinyORM(buildConnection(), replica);
+	}
+
+	@After
+	public void after() {
+		db.close();
+	}
+
+	@Test
+	public void testDisabled() {
+		db.insert(Member.class).value("name", "John").execute();
+		assertThat(db.count(Member.class).execute(), is(0L));
+	}
+
+	@Test
+	public void testWrittenTables() {
+		db.enableReadYourWrites(Duration.ofMinutes(1));
+		final Member member = db.insert(Member.class).value("name", "John").executeSelect();
+		assertThat(db.count(Member.class).execute(), is(1L));
+		assertThat(db.search(Member.class).execute().size(), is(1));
+		assertThat(db.single(Member.class).where("id=?", member.getId()).execute().isPresent(), is(true));
+		assertThat(db.searchWithPager(Member.class, 10).execute().getRows().size(), is(1));
+		assertThat(member.refetch().isPresent(), is(true));
+		// Other tables are read from the replica.
+		assertThat(db.count(Blog.class).execute(), is(2L));
+	}
+
+	@Test
+	public void testWindow() throws InterruptedException {
+		db.enableReadYourWrites(Duration.ofMillis(1));
+		db.insert(Member.class).value("name", "John").execute();
+		Thread.sleep(10);
+		assertThat(db.count(Member.class).execute(), is(0L));
+	}
+
+	@Test
+	public void testDelete() {
+		final Blog blog = db.single(Blog.class).forceWriteConnection().execute().get();
+		db.enableReadYourWrites(Duration.ofMinutes(1));
+		blog.delete();
+		assertThat(db.count(Blog.class).execute(), is(0L));
+	}
+
+	@Table("member")
+	@Value
+	@EqualsAndHashCode(callSuper = false)
+	public static class Member extends Row<Member> {
+		@PrimaryKey
+		private long id;
+		@Column
+		private String name;
+	}
+
+	@Table("blog")
+	@Value
+	@EqualsAndHashCode(callSuper = false)
+	public static class Blog extends Row<Blog> {
+		@PrimaryKey
+		private long id;
+		@Column
+		private String title;
+	}
+}
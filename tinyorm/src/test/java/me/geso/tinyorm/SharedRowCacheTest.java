@@ -0,0 +1,195 @@
+package me.geso.tinyorm;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import me.geso.tinyorm.annotations.Cacheable;
+import me.geso.tinyorm.annotations.Column;
+import me.geso.tinyorm.annotations.PrimaryKey;
+import me.geso.tinyorm.annotations.Table;
+import me.geso.tinyorm.cache.InvalidationBus;
+import me.geso.tinyorm.cache.InvalidationListener;
+import net.moznion.db.transaction.manager.TransactionScope;
+
+public class SharedRowCacheTest extends TestBase {
+	@Before
+	public void before() {
+		createTable("cached_member",
+			"id INT UNSIGNED NOT NULL AUTO_INCREMENT PRIMARY KEY",
+			"name VARCHAR(255) NOT NULL",
+			"UNIQUE (name)");
+		orm.insert(Member.class).value("name", "John").execute();
+		SharedRowCache.invalidateAll();
+	}
+
+	@After
+	public void after() {
+		SharedRowCache.setInvalidationBus(null);
+	}
+
+	@Test
+	public void testPrimaryKeyLookup() {
+		Member member = orm.single(Member.class).where("id=?", 1).execute().get();
+		long hits = SharedRowCache.getHitCount();
+		Member cached = orm.single(Member.class).where("id=?", 1L).execute().get();
+		assertThat(SharedRowCache.getHitCount(), is(hits + 1));
+		assertThat(cached, is(member));
+		assertThat(cached, not(sameInstance(member)));
+
+		// Other instances share the cache.
+		try (TinyORM other = new TinyORM(buildConnection())) {
+			Member otherMember = other.single(Member.class).where("id=?", 1).execute().get();
+			assertThat(SharedRowCache.getHitCount(), is(hits + 2));
+			otherMember.update().set("name", "Nick").execute();
+		}
+		assertThat(orm.single(Member.class).where("id=?", 1).execute().get().getName(), is("Nick"));
+
+		// Not a primary key lookup.
+		orm.single(Member.class).where("name=?", "Nick").execute();
+		assertThat(SharedRowCache.getHitCount(), is(hits + 2));
+	}
+
+	@Test
+	public void testDelete() {
+		Member member = orm.single(Member.class).where("id=?", 1).execute().get();
+		member.delete();
+		assertThat(orm.single(Member.class).where("id=?", 1).execute().isPresent(), is(false));
+	}
+
+	@Test
+	public void testUpdateBatch() {
+		Member member = orm.single(Member.class).where("id=?", 1).execute().get();
+		try (UpdateBatch batch = orm.updateBatch()) {
+			batch.add(member.update().set("name", "Nick"));
+		}
+		assertThat(orm.single(Member.class).where("id=?", 1).execute().get().getName(), is("Nick"));
+	}
+
+	@Test
+	public void testOnDuplicateKeyUpdate() {
+		orm.single(Member.class).where("id=?", 1).execute();
+		orm.insert(Member.class)
+			.value("name", "John")
+			.onDuplicateKeyUpdate("name=?", "Nick")
+			.execute();
+		assertThat(orm.single(Member.class).where("id=?", 1).execute().get().getName(), is("Nick"));
+	}
+
+	@Test
+	public void testTransaction() throws SQLException {
+		Member member = orm.single(Member.class).where("id=?", 1).execute().get();
+		long hits = SharedRowCache.getHitCount();
+		try (TransactionScope txn = orm.createTransactionScope()) {
+			member.update().set("name", "Nick").execute();
+			assertThat(orm.single(Member.class).where("id=?", 1).execute().get().getName(), is("Nick"));
+			txn.rollback();
+		}
+		assertThat(SharedRowCache.getHitCount(), is(hits));
+		assertThat(orm.single(Member.class).where("id=?", 1).execute().get().getName(), is("John"));
+
+		try (TransactionScope txn = orm.createTransactionScope()) {
+			member.update().set("name", "Nick").execute();
+			txn.commit();
+		}
+		assertThat(orm.single(Member.class).where("id=?", 1).execute().get().getName(), is("Nick"));
+	}
+
+	@Test
+	public void testInvalidationBus() {
+		final RecordingBus bus = new RecordingBus();
+		SharedRowCache.setInvalidationBus(bus);
+
+		Member member = orm.single(Member.class).where("id=?", 1).execute().get();
+		member.update().set("name", "Nick").execute();
+		assertThat(bus.published, is(Collections.singletonList(
+			Arrays.asList("cached_member", Collections.singletonList(1L)))));
+
+		// Changed by another process.
+		orm.single(Member.class).where("id=?", 1).execute();
+		orm.updateBySQL("UPDATE cached_member SET name='Taro' WHERE id=1");
+		assertThat(orm.single(Member.class).where("id=?", 1).execute().get().getName(), is("Nick"));
+		bus.listener.invalidate("cached_member", Collections.singletonList(1));
+		assertThat(orm.single(Member.class).where("id=?", 1).execute().get().getName(), is("Taro"));
+	}
+
+	@Test
+	public void testReplaceInvalidationBus() {
+		final RecordingBus previous = new RecordingBus();
+		SharedRowCache.setInvalidationBus(previous);
+		final InvalidationListener previousListener = previous.listener;
+		final RecordingBus bus = new RecordingBus();
+		SharedRowCache.setInvalidationBus(bus);
+		assertThat(previous.listener, is(nullValue()));
+
+		orm.single(Member.class).where("id=?", 1).execute();
+		orm.updateBySQL("UPDATE cached_member SET name='Taro' WHERE id=1");
+		previousListener.invalidate("cached_member", Collections.singletonList(1));
+		assertThat(orm.single(Member.class).where("id=?", 1).execute().get().getName(), is("John"));
+		bus.listener.invalidate("cached_member", Collections.singletonList(1));
+		assertThat(orm.single(Member.class).where("id=?", 1).execute().get().getName(), is("Taro"));
+	}
+
+	@Test
+	public void testInvalidationsAfterRollback() throws SQLException {
+		final RecordingBus bus = new RecordingBus();
+		SharedRowCache.setInvalidationBus(bus);
+
+		Member member = orm.single(Member.class).where("id=?", 1).execute().get();
+		try (TransactionScope txn = orm.createTransactionScope()) {
+			member.update().set("name", "Nick").execute();
+		}
+		assertThat(bus.published.size(), is(1));
+		try (TransactionScope txn = orm.createTransactionScope()) {
+			txn.commit();
+		}
+		assertThat(bus.published.size(), is(1));
+	}
+
+	private static class RecordingBus implements InvalidationBus {
+		private final List<List<Object>> published = new ArrayList<>();
+		private InvalidationListener listener;
+
+		@Override
+		public void publish(String tableName, List<Object> primaryKeys) {
+			published.add(Arrays.asList(tableName, primaryKeys));
+		}
+
+		@Override
+		public void subscribe(InvalidationListener listener) {
+			this.listener = listener;
+		}
+
+		@Override
+		public void unsubscribe(InvalidationListener listener) {
+			if (this.listener == listener) {
+				this.listener = null;
+			}
+		}
+	}
+
+	@Table("cached_member")
+	@Cacheable(maxSize = 100)
+	@Value
+	@EqualsAndHashCode(callSuper = false)
+	public static class Member extends Row<Member> {
+		@PrimaryKey
+		private long id;
+		@Column
+		private String name;
+	}
+}
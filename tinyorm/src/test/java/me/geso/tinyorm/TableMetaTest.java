@@ -6,19 +6,26 @@ import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.*;
 
+import java.beans.ConstructorProperties;
 import java.beans.PropertyDescriptor;
 import java.lang.reflect.Field;
 import java.sql.PreparedStatement;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Assert;
 import org.junit.Test;
 
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.Value;
 import me.geso.tinyorm.annotations.Column;
 import me.geso.tinyorm.annotations.CreatedTimestampColumn;
+import me.geso.tinyorm.annotations.Inflate;
 import me.geso.tinyorm.annotations.PrimaryKey;
 import me.geso.tinyorm.annotations.Table;
 import me.geso.tinyorm.annotations.UpdatedTimestampColumn;
@@ -110,6 +117,202 @@ public class TableMetaTest extends TestBase {
 		assertTrue(thrown);
 	}
 
+	@Test
+	public void testRowMapperIsCachedPerColumnLayout() throws Exception {
+		createTable("member",
+				"id INT UNSIGNED NOT NULL AUTO_INCREMENT PRIMARY KEY",
+				"name VARCHAR(255) NOT NULL",
+				"createdOn BIGINT",
+				"updatedOn BIGINT");
+		orm.updateBySQL("INSERT INTO `member` (id,name,createdOn,updatedOn) VALUES (1,'hoge',3,4)");
+
+		final TableMeta<Member> tableMeta = orm.getTableMeta(Member.class);
+		assertThat(tableMeta.getRowMapper(Member.class, Arrays.asList("id", "name")),
+			sameInstance(tableMeta.getRowMapper(Member.class, Arrays.asList("id", "name"))));
+		assertThat(tableMeta.getRowMapper(Member.class, Arrays.asList("id", "name")),
+			not(sameInstance(tableMeta.getRowMapper(Member.class, Arrays.asList("name", "id")))));
+
+		final Member member = orm.singleBySQL(Member.class,
+			"SELECT id, name, createdOn, updatedOn, 'x' AS extra FROM `member` WHERE id=?",
+			Collections.singletonList(1)).get();
+		assertThat(member.getName(), is("hoge"));
+		assertThat(member.getUpdatedOn(), is(4L));
+		assertThat(member.getExtraColumn("extra"), is("x"));
+	}
+
+	@Test
+	public void testUserCodeExceptionIsNotRetried() throws Exception {
+		createTable("checked",
+				"id INT UNSIGNED NOT NULL AUTO_INCREMENT PRIMARY KEY",
+				"name VARCHAR(255) NOT NULL");
+		orm.updateBySQL("INSERT INTO `checked` (id,name) VALUES (1,'bad')");
+
+		ConstructorChecked.calls.set(0);
+		try {
+			orm.single(ConstructorChecked.class).where("id=?", 1).execute();
+			fail();
+		} catch (NullPointerException e) {
+			assertThat(e.getMessage(), is("bad name"));
+		}
+		assertThat(ConstructorChecked.calls.get(), is(1));
+
+		SetterChecked.calls.set(0);
+		try {
+			orm.single(SetterChecked.class).where("id=?", 1).execute();
+			fail();
+		} catch (NullPointerException e) {
+			assertThat(e.getMessage(), is("bad name"));
+		}
+		assertThat(SetterChecked.calls.get(), is(1));
+	}
+
+	@Table("checked")
+	@Getter
+	@EqualsAndHashCode(callSuper = false)
+	public static class ConstructorChecked extends Row<ConstructorChecked> {
+		static final AtomicInteger calls = new AtomicInteger();
+
+		@PrimaryKey
+		private final long id;
+		@Column
+		private final String name;
+
+		@ConstructorProperties({"id", "name"})
+		public ConstructorChecked(long id, String name) {
+			calls.incrementAndGet();
+			if ("bad".equals(name)) {
+				throw new NullPointerException("bad name");
+			}
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	@Table("checked")
+	@Getter
+	@EqualsAndHashCode(callSuper = false)
+	public static class SetterChecked extends Row<SetterChecked> {
+		static final AtomicInteger calls = new AtomicInteger();
+
+		@PrimaryKey
+		private long id;
+		@Column
+		private String name;
+
+		public void setId(long id) {
+			this.id = id;
+		}
+
+		public void setName(String name) {
+			calls.incrementAndGet();
+			if ("bad".equals(name)) {
+				throw new NullPointerException("bad name");
+			}
+			this.name = name;
+		}
+	}
+
+	@Test
+	public void testNumbersAreConverted() throws Exception {
+		createTable("converted",
+				"id INT UNSIGNED NOT NULL AUTO_INCREMENT PRIMARY KEY",
+				"n INT NOT NULL",
+				"m INT",
+				"name VARCHAR(255) NOT NULL");
+		orm.updateBySQL("INSERT INTO `converted` (id,n,m,name) VALUES (1,2,3,'x'),(2,-5,NULL,'y')");
+
+		ConstructorConverted.inflations.set(0);
+		final List<ConstructorConverted> byConstructor = orm.search(ConstructorConverted.class).orderBy("id").execute();
+		assertThat(byConstructor.get(0).getId(), is(1));
+		assertThat(byConstructor.get(0).getN(), is(2L));
+		assertThat(byConstructor.get(0).getM(), is(3L));
+		assertThat(byConstructor.get(0).getName(), is("X"));
+		assertThat(byConstructor.get(1).getN(), is(-5L));
+		assertThat(byConstructor.get(1).getM(), nullValue());
+		assertThat(ConstructorConverted.inflations.get(), is(2));
+
+		SetterConverted.inflations.set(0);
+		final List<SetterConverted> bySetters = orm.search(SetterConverted.class).orderBy("id").execute();
+		assertThat(bySetters.get(0).getId(), is(1));
+		assertThat(bySetters.get(0).getN(), is(2L));
+		assertThat(bySetters.get(0).getM(), is(3L));
+		assertThat(bySetters.get(1).getN(), is(-5L));
+		assertThat(SetterConverted.inflations.get(), is(2));
+
+		// 3000000000 doesn't fit in int
+		orm.updateBySQL("INSERT INTO `converted` (id,n,m,name) VALUES (3000000000,0,0,'z')");
+		try {
+			orm.single(ConstructorConverted.class).where("id=?", 3000000000L).execute();
+			fail();
+		} catch (ConstructorIllegalArgumentException e) {
+			assertThat(e.getMessage(), containsString("ConstructorConverted#id(int) is not assignable from"));
+			assertThat(e.getMessage(), not(containsString("#n(long)")));
+		}
+	}
+
+	@Test
+	public void testRowBuilderMapsValues() throws Exception {
+		final List<String> columnLabels = Arrays.asList("id", "n", "m", "name");
+		final ConstructorConverted byConstructor = RowMapper.forRowBuilder(ConstructorConverted.class,
+			orm.getTableMeta(ConstructorConverted.class), columnLabels)
+			.mapValues(new Object[] {1, 2L, 3L, "x"}, orm);
+		assertThat(byConstructor.getId(), is(1));
+		assertThat(byConstructor.getM(), is(3L));
+		assertThat(byConstructor.getName(), is("X"));
+
+		final SetterConverted bySetters = RowMapper.forRowBuilder(SetterConverted.class,
+			orm.getTableMeta(SetterConverted.class), columnLabels)
+			.mapInflatedValues(new Object[] {1, 2L, null, "x"}, orm);
+		assertThat(bySetters.getN(), is(2L));
+		assertThat(bySetters.getM(), nullValue());
+		assertThat(bySetters.getName(), is("x"));
+	}
+
+	@Table("converted")
+	@Value
+	@EqualsAndHashCode(callSuper = false)
+	public static class ConstructorConverted extends Row<ConstructorConverted> {
+		static final AtomicInteger inflations = new AtomicInteger();
+
+		@PrimaryKey
+		private int id;
+		@Column
+		private long n;
+		@Column
+		private Long m;
+		@Column
+		private String name;
+
+		@Inflate("name")
+		public static Object inflateName(String value) {
+			inflations.incrementAndGet();
+			return value.toUpperCase();
+		}
+	}
+
+	@Table("converted")
+	@Getter
+	@Setter
+	@EqualsAndHashCode(callSuper = false)
+	public static class SetterConverted extends Row<SetterConverted> {
+		static final AtomicInteger inflations = new AtomicInteger();
+
+		@PrimaryKey
+		private int id;
+		@Column
+		private long n;
+		@Column
+		private Long m;
+		@Column
+		private String name;
+
+		@Inflate("name")
+		public static Object inflateName(String value) {
+			inflations.incrementAndGet();
+			return value.toUpperCase();
+		}
+	}
+
 	/**
 	 * This is a class for testing "member class" detection.
 	 */
@@ -12,11 +12,13 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -241,6 +243,94 @@ public class TinyORMTest extends TestBase {
 		}
 	}
 
+	@Test
+	public void searchWithPagerKeyset() {
+		for (int i = 1; i <= 10; ++i) {
+			this.orm.insert(Member.class).value("name", "m" + (i % 3))
+				.execute();
+		}
+
+		// "id DESC" is appended as a tie breaker
+		final List<Long> expected = this.orm.search(Member.class)
+			.orderBy("name DESC, id DESC")
+			.execute().stream().map(Member::getId).collect(Collectors.toList());
+		final List<Long> got = new ArrayList<>();
+		Paginated<Member> paginated = this.orm.searchWithPager(Member.class, 4)
+			.orderBy("name DESC")
+			.keyset()
+			.execute();
+		got.addAll(paginated.getRows().stream().map(Member::getId).collect(Collectors.toList()));
+		while (paginated.getHasNextPage()) {
+			assertNotNull(paginated.getNextPageToken());
+			paginated = this.orm.searchWithPager(Member.class, 4)
+				.orderBy("name DESC")
+				.keyset(paginated.getNextPageToken())
+				.execute();
+			got.addAll(paginated.getRows().stream().map(Member::getId).collect(Collectors.toList()));
+		}
+		assertEquals(expected, got);
+		assertEquals(null, paginated.getNextPageToken());
+
+		// by primary key, without ORDER BY
+		final Paginated<Member> first = this.orm.searchWithPager(Member.class, 3).keyset().execute();
+		final Paginated<Member> second = this.orm.searchWithPager(Member.class, 3)
+			.keyset(first.getNextPageToken())
+			.execute();
+		assertEquals(Arrays.asList(4L, 5L, 6L),
+			second.getRows().stream().map(Member::getId).collect(Collectors.toList()));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void searchWithPagerKeysetOtherOrder() {
+		for (int i = 1; i <= 3; ++i) {
+			this.orm.insert(Member.class).value("name", "m" + i)
+				.execute();
+		}
+		final String token = this.orm.searchWithPager(Member.class, 1).keyset().execute().getNextPageToken();
+		this.orm.searchWithPager(Member.class, 1).orderBy("name").keyset(token).execute();
+	}
+
+	@Test
+	public void searchWithPagerWithTotal() {
+		for (int i = 1; i <= 10; ++i) {
+			this.orm.insert(Member.class).value("name", "m" + i)
+				.execute();
+		}
+
+		{
+			PaginatedWithTotal<Member> paginated = this.orm.searchWithPager(Member.class, 4)
+				.where("id>?", 2)
+				.orderBy("id")
+				.offset(4)
+				.executeWithTotal();
+			assertEquals(Arrays.asList(7L, 8L, 9L, 10L),
+				paginated.getRows().stream().map(Member::getId).collect(Collectors.toList()));
+			assertEquals(8, paginated.getTotalEntries());
+			assertEquals(false, paginated.getHasNextPage());
+			assertEquals(Collections.emptyMap(), paginated.getRows().get(0).getExtraColumns());
+		}
+		{
+			// empty page
+			PaginatedWithTotal<Member> paginated = this.orm.searchWithPager(Member.class, 4)
+				.offset(12)
+				.executeWithTotal();
+			assertEquals(0, paginated.getRows().size());
+			assertEquals(10, paginated.getTotalEntries());
+		}
+
+		// The count runs on another connection for the keyset page.
+		try (TinyORM providerOrm = new TinyORM(TestBase::buildConnection)) {
+			final Paginated<Member> first = providerOrm.searchWithPager(Member.class, 4).keyset().execute();
+			final PaginatedWithTotal<Member> second = providerOrm.searchWithPager(Member.class, 4)
+				.keyset(first.getNextPageToken())
+				.executeWithTotal();
+			assertEquals(Arrays.asList(5L, 6L, 7L, 8L),
+				second.getRows().stream().map(Member::getId).collect(Collectors.toList()));
+			assertEquals(10, second.getTotalEntries());
+			assertEquals(true, second.getHasNextPage());
+		}
+	}
+
 	@Test
 	public void testSearchBySQL() throws RichSQLException {
 		for (int i = 1; i <= 10; ++i) {
@@ -395,7 +485,7 @@ public class TinyORMTest extends TestBase {
 		try (PreparedStatement ps = this.orm.getConnection().prepareStatement(
 			"SELECT * FROM `member`")) {
 			try (ResultSet rs = ps.executeQuery()) {
-				this.orm.mapRowListFromResultSet(Member.class, rs);
+				this.orm.mapRowListFromResultSet(Member.class, rs, true);
 			}
 		}
 	}
@@ -713,6 +803,36 @@ public class TinyORMTest extends TestBase {
 		}
 	}
 
+	@Test
+	public void testDialectIsCapturedOnce() throws SQLException {
+		final AtomicInteger borrowed = new AtomicInteger();
+		final Provider<Connection> connectionProvider = () -> {
+			borrowed.incrementAndGet();
+			return buildConnection();
+		};
+		final Provider<Connection> readConnectionProvider = TestBase::buildConnection;
+		orm = new TinyORM(connectionProvider, readConnectionProvider);
+
+		// Building a read query doesn't borrow the write connection.
+		assertEquals("SELECT * FROM `member`", orm.search(Member.class).buildQuery().getSQL());
+		assertEquals(0, borrowed.get());
+
+		final DatabaseDialect dialect = orm.getDialect();
+		orm.close();
+		assertSame(dialect, orm.getDialect());
+
+		// Another instance on the same provider reuses the snapshot without borrowing.
+		final AtomicInteger readBorrowed = new AtomicInteger();
+		try (final TinyORM another = new TinyORM(connectionProvider, () -> {
+			readBorrowed.incrementAndGet();
+			return buildConnection();
+		})) {
+			assertSame(dialect, another.getDialect());
+		}
+		assertEquals(0, borrowed.get());
+		assertEquals(0, readBorrowed.get());
+	}
+
 	@Test
 	public void testGetTableName() {
 		assertEquals("member", this.orm.getTableName(Member.class));
@@ -0,0 +1,117 @@
+package me.geso.tinyorm;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import me.geso.jdbcutils.UncheckedRichSQLException;
+import me.geso.tinyorm.annotations.BeforeUpdate;
+import me.geso.tinyorm.annotations.Column;
+import me.geso.tinyorm.annotations.PrimaryKey;
+import me.geso.tinyorm.annotations.Table;
+
+public class UpdateBatchTest extends TestBase {
+	@Before
+	public void before() {
+		createTable("member",
+			"id INT UNSIGNED NOT NULL AUTO_INCREMENT PRIMARY KEY",
+			"name VARCHAR(255) NOT NULL",
+			"point INT NOT NULL DEFAULT 0",
+			"updated INT NOT NULL DEFAULT 0");
+		for (String name : new String[] {"a", "b", "c", "d"}) {
+			orm.insert(Member.class).value("name", name).execute();
+		}
+	}
+
+	@Test
+	public void testFlush() {
+		List<Member> members = orm.search(Member.class).orderBy("id").execute();
+		UpdateBatch batch = orm.updateBatch().batchSize(2);
+		batch.add(members.get(0).update().set("point", 1));
+		batch.add(members.get(1).update().set("name", "B"));
+		batch.add(members.get(2).update().set("point", 3));
+		batch.add(members.get(3).update()); // no modification
+		assertThat(toString(batch.flush()), is("1,1,1,0"));
+		assertThat(batch.flush().length, is(0));
+
+		List<Member> updated = orm.search(Member.class).orderBy("id").execute();
+		assertThat(updated.stream().map(it -> it.getName() + ":" + it.getPoint() + ":" + it.getUpdated())
+			.collect(Collectors.joining(",")), is("a:1:1,B:0:1,c:3:1,d:0:0"));
+	}
+
+	@Test
+	public void testClose() {
+		Member member = orm.single(Member.class).where("name=?", "a").execute().get();
+		try (UpdateBatch batch = orm.updateBatch()) {
+			batch.add(member.update().set("point", 5));
+			assertThat(member.refetch().get().getPoint(), is(0));
+		}
+		assertThat(member.refetch().get().getPoint(), is(5));
+	}
+
+	@Test
+	public void testOrderOfShapes() {
+		Member member = orm.single(Member.class).where("name=?", "a").execute().get();
+		try (UpdateBatch batch = orm.updateBatch()) {
+			batch.add(member.update().set("point", 1));
+			batch.add(member.update().set("name", "A").set("point", 2));
+			batch.add(member.update().set("point", 3));
+			assertThat(toString(batch.flush()), is("1,1,1"));
+		}
+		Member updated = member.refetch().get();
+		assertThat(updated.getName() + ":" + updated.getPoint(), is("A:3"));
+	}
+
+	@Test
+	public void testFailure() {
+		orm.updateBySQL("ALTER TABLE member ADD UNIQUE (name)");
+		List<Member> members = orm.search(Member.class).orderBy("id").execute();
+		UpdateBatch batch = orm.updateBatch();
+		batch.add(members.get(0).update().set("point", 1));
+		batch.add(members.get(1).update().set("name", "a")); // duplicated
+		try {
+			batch.flush();
+			fail();
+		} catch (UncheckedRichSQLException e) {
+			// expected
+		}
+		assertThat(members.get(0).refetch().get().getPoint(), is(1));
+
+		// The statements sent before the failure are not sent again.
+		orm.updateBySQL("UPDATE member SET point=0");
+		batch.close();
+		assertThat(members.get(0).refetch().get().getPoint(), is(0));
+	}
+
+	private static String toString(int[] counts) {
+		return Arrays.stream(counts).mapToObj(String::valueOf).collect(Collectors.joining(","));
+	}
+
+	@EqualsAndHashCode(callSuper = false)
+	@Value
+	@Table("member")
+	public static class Member extends Row<Member> {
+		@PrimaryKey
+		private long id;
+		@Column
+		private String name;
+		@Column
+		private int point;
+		@Column
+		private int updated;
+
+		@BeforeUpdate
+		public static void beforeUpdate(UpdateRowStatement<Member> stmt) {
+			stmt.set("updated", 1);
+		}
+	}
+}
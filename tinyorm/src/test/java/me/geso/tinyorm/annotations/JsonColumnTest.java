@@ -4,17 +4,28 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.junit.After;
 import org.junit.Test;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
 import lombok.Getter;
 import lombok.Setter;
 import me.geso.jdbcutils.RichSQLException;
+import me.geso.tinyorm.JsonColumnConfig;
 import me.geso.tinyorm.Row;
 import me.geso.tinyorm.TestBase;
 
@@ -43,6 +54,73 @@ public class JsonColumnTest extends TestBase {
 		assertFalse(rs.next());
 	}
 
+	@After
+	public void resetConfig() {
+		JsonColumnConfig.setObjectMapper(new ObjectMapper());
+		JsonColumnConfig.setStreamingRead(false);
+	}
+
+	@Test
+	public void testSharedMapper() throws SQLException, IOException {
+		createTable("x",
+			"id INT UNSIGNED NOT NULL PRIMARY KEY AUTO_INCREMENT",
+			"propertiesDump LONGBLOB NOT NULL");
+
+		Map<String, String> map = new HashMap<>();
+		map.put("hoge", "fuga");
+		X created = orm.insert(X.class)
+			.value("propertiesDump", map)
+			.executeSelect();
+		assertEquals("fuga", created.getPropertiesDump().get("hoge"));
+
+		// The mapper replaced after the first select is used by the reader and the writer.
+		final ObjectMapper mapper = new ObjectMapper()
+			.enable(SerializationFeature.INDENT_OUTPUT)
+			.enable(JsonParser.Feature.ALLOW_COMMENTS);
+		JsonColumnConfig.setObjectMapper(mapper);
+		orm.getConnection()
+			.prepareStatement("UPDATE x SET propertiesDump='{/* comment */ \"hoge\":\"piyo\"}'")
+			.executeUpdate();
+		assertEquals("piyo", created.refetch().get().getPropertiesDump().get("hoge"));
+
+		created.update().set("propertiesDump", map).execute();
+		ResultSet rs = orm.getConnection()
+			.prepareStatement(
+				"SELECT propertiesDump FROM x")
+			.executeQuery();
+		assertTrue(rs.next());
+		assertEquals(mapper.writeValueAsString(map).trim(),
+			new String(rs.getBytes(1), Charset.forName("UTF-8")).trim());
+		assertTrue(new String(rs.getBytes(1), Charset.forName("UTF-8")).contains("\n"));
+	}
+
+	@Test
+	public void testStreamingRead() {
+		createTable("y",
+			"id INT UNSIGNED NOT NULL PRIMARY KEY AUTO_INCREMENT",
+			"payload LONGBLOB NOT NULL");
+		JsonColumnConfig.setObjectMapper(new ObjectMapper()
+			.registerModule(new SimpleModule().addDeserializer(Payload.class, new PayloadDeserializer())));
+
+		Y created = orm.insert(Y.class)
+			.value("payload", "hello")
+			.executeSelect();
+		assertEquals("hello", created.getPayload().getText());
+		assertFalse(created.getPayload().isStreamed());
+
+		// The setting applies to the row class that is selected already.
+		JsonColumnConfig.setStreamingRead(true);
+		Y refetched = created.refetch().get();
+		assertEquals("hello", refetched.getPayload().getText());
+		assertTrue(refetched.getPayload().isStreamed());
+		Y selected = orm.search(Y.class).execute().get(0);
+		assertEquals("hello", selected.getPayload().getText());
+		assertTrue(selected.getPayload().isStreamed());
+
+		JsonColumnConfig.setStreamingRead(false);
+		assertFalse(created.refetch().get().getPayload().isStreamed());
+	}
+
 	@Getter
 	@Setter
 	@Table("x")
@@ -54,4 +132,34 @@ public class JsonColumnTest extends TestBase {
 		private Map<String, String> propertiesDump;
 	}
 
+	@Getter
+	@Setter
+	@Table("y")
+	public static class Y extends Row<Y> {
+		@PrimaryKey
+		private long id;
+
+		@JsonColumn
+		private Payload payload;
+	}
+
+	@Getter
+	public static class Payload {
+		private final String text;
+		// true if it's parsed from ResultSet#getBinaryStream
+		private final boolean streamed;
+
+		Payload(String text, boolean streamed) {
+			this.text = text;
+			this.streamed = streamed;
+		}
+	}
+
+	static class PayloadDeserializer extends JsonDeserializer<Payload> {
+		@Override
+		public Payload deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+			return new Payload(p.getText(), p.getInputSource() instanceof InputStream);
+		}
+	}
+
 }
@@ -0,0 +1,66 @@
+package me.geso.tinyorm.cache;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+public class TinyLfuRowCacheTest {
+	@Test
+	public void testMaxSize() {
+		TinyLfuRowCache cache = new TinyLfuRowCache(10, 0);
+		for (int i = 0; i < 100; ++i) {
+			cache.put(i, "v" + i);
+		}
+		assertThat(cache.size(), is(10));
+		// The newest entry is in the window.
+		assertThat(cache.get(99), is("v99"));
+	}
+
+	@Test
+	public void testFrequentEntriesSurviveScan() {
+		TinyLfuRowCache cache = new TinyLfuRowCache(100, 0);
+		for (int i = 0; i < 99; ++i) {
+			cache.put(i, "hot");
+		}
+		for (int n = 0; n < 5; ++n) {
+			for (int i = 0; i < 99; ++i) {
+				cache.get(i);
+			}
+		}
+		for (int i = 1000; i < 1300; ++i) {
+			cache.get(i);
+			cache.put(i, "cold");
+		}
+		for (int i = 0; i < 99; ++i) {
+			assertThat(cache.get(i), is("hot"));
+		}
+	}
+
+	@Test
+	public void testExpireAfterWrite() {
+		AtomicLong now = new AtomicLong();
+		TinyLfuRowCache cache = new TinyLfuRowCache(10, 100, now::get);
+		cache.put("a", "b");
+		now.set(99);
+		assertThat(cache.get("a"), is("b"));
+		now.set(100);
+		assertThat(cache.get("a"), is(nullValue()));
+		assertThat(cache.size(), is(0));
+	}
+
+	@Test
+	public void testInvalidate() {
+		TinyLfuRowCache cache = new TinyLfuRowCache(10, 0);
+		cache.put("a", "b");
+		cache.put("c", "d");
+		cache.invalidate("a");
+		assertThat(cache.get("a"), is(nullValue()));
+		assertThat(cache.get("c"), is("d"));
+		cache.invalidateAll();
+		assertThat(cache.size(), is(0));
+	}
+}